@@ -0,0 +1,83 @@
+package xmltransformer.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xmltransformer.BatchResult;
+import xmltransformer.DateTransformation;
+import xmltransformer.LongBatchResult;
+import xmltransformer.ParallelDateBatch;
+
+/**
+ * The batch overloads, reported per element so they compare directly with the single-value methods.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({"yyyy-MM-dd", "d MMM yyyy"})
+    public String pattern;
+
+    @Param({"0", "5"})
+    public int invalidPercent;
+
+    private String[] dates;
+    private String[] otherDates;
+    private String[] dateTimes;
+    private ParallelDateBatch parallel;
+
+    @Setup
+    public void setUp() {
+        parallel = new ParallelDateBatch(ForkJoinPool.commonPool(), 128);
+        dates = BenchmarkInputs.formatted(pattern, invalidPercent, 11);
+        otherDates = BenchmarkInputs.formatted(pattern, invalidPercent, 12);
+        dateTimes = BenchmarkInputs.formatted("yyyy-MM-dd HH:mm:ss", invalidPercent, 13);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.SIZE)
+    public BatchResult transformDate() {
+        return DateTransformation.transformDate(dates, pattern, "dd/MM/yyyy");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.SIZE)
+    public BatchResult transformDateParallel() {
+        return parallel.transformDate(dates, pattern, "dd/MM/yyyy");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.SIZE)
+    public BatchResult addDays() {
+        return DateTransformation.addDays(dates, pattern, 30, "dd/MM/yyyy");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.SIZE)
+    public BatchResult convertTimeZone() {
+        return DateTransformation.convertTimeZone(dateTimes, "UTC", "America/New_York", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.SIZE)
+    public LongBatchResult getDaysBetween() {
+        return DateTransformation.getDaysBetween(dates, otherDates, pattern);
+    }
+}
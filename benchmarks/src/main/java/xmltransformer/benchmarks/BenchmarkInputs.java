@@ -0,0 +1,67 @@
+package xmltransformer.benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic input data for the benchmarks.
+ *
+ * Values are spread over 1950-2049 so caches and branch predictors see realistic variety,
+ * and a given percentage of them is corrupted the way malformed feed values usually are.
+ */
+final class BenchmarkInputs {
+
+    /** The number of values per array; a power of two so the cursor can wrap with a mask. */
+    static final int SIZE = 1024;
+
+    private static final String[] CORRUPTIONS = {"", "N/A", "2024-13-45", "31/02/20x4", "00:61"};
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * Generate formatted date-times.
+     *
+     * @param pattern        The pattern to format with.
+     * @param invalidPercent The percentage of values to corrupt.
+     * @param seed           The random seed.
+     * @return SIZE formatted values.
+     */
+    static String[] formatted(String pattern, int invalidPercent, long seed) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] values = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            if (random.nextInt(100) < invalidPercent) {
+                values[i] = CORRUPTIONS[random.nextInt(CORRUPTIONS.length)];
+            } else {
+                values[i] = randomDateTime(random).format(formatter);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Generate Unix timestamps.
+     *
+     * @param invalidPercent The percentage of negative (invalid) timestamps.
+     * @param seed           The random seed.
+     * @return SIZE timestamps.
+     */
+    static long[] epochSeconds(int invalidPercent, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] values = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            long epochSecond = randomDateTime(random).toEpochSecond(ZoneOffset.UTC);
+            values[i] = random.nextInt(100) < invalidPercent ? -1 - random.nextInt(1000) : Math.abs(epochSecond);
+        }
+        return values;
+    }
+
+    private static LocalDateTime randomDateTime(SplittableRandom random) {
+        return LocalDateTime.of(1950 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                random.nextInt(24), random.nextInt(60), random.nextInt(60));
+    }
+}
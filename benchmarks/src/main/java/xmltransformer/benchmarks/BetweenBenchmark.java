@@ -0,0 +1,80 @@
+package xmltransformer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xmltransformer.DateTransformation;
+
+/**
+ * Two-date comparisons: the *Between family, calculateDaysDifference and isSameDate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BetweenBenchmark {
+
+    @Param({"yyyy-MM-dd", "dd/MM/yyyy", "d MMM yyyy"})
+    public String pattern;
+
+    @Param({"0", "5"})
+    public int invalidPercent;
+
+    private String[] starts;
+    private String[] ends;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        starts = BenchmarkInputs.formatted(pattern, invalidPercent, 1);
+        ends = BenchmarkInputs.formatted(pattern, invalidPercent, 2);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (BenchmarkInputs.SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public long getDaysBetween() {
+        int i = next();
+        return DateTransformation.getDaysBetween(starts[i], ends[i], pattern);
+    }
+
+    @Benchmark
+    public long getMonthsBetween() {
+        int i = next();
+        return DateTransformation.getMonthsBetween(starts[i], ends[i], pattern);
+    }
+
+    @Benchmark
+    public long getYearsBetween() {
+        int i = next();
+        return DateTransformation.getYearsBetween(starts[i], ends[i], pattern);
+    }
+
+    @Benchmark
+    public long calculateDaysDifference() {
+        int i = next();
+        return DateTransformation.calculateDaysDifference(starts[i], ends[i], pattern);
+    }
+
+    @Benchmark
+    public boolean isSameDate() {
+        int i = next();
+        return DateTransformation.isSameDate(starts[i], pattern, ends[i], pattern);
+    }
+}
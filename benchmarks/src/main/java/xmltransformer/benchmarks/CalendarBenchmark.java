@@ -0,0 +1,100 @@
+package xmltransformer.benchmarks;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xmltransformer.DateTransformation;
+
+/**
+ * Single-date calendar queries: week, quarter, day of week, month length, week bounds and age.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarBenchmark {
+
+    @Param({"yyyy-MM-dd", "dd/MM/yyyy", "d MMM yyyy"})
+    public String pattern;
+
+    @Param({"0", "5"})
+    public int invalidPercent;
+
+    private String[] dates;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        dates = BenchmarkInputs.formatted(pattern, invalidPercent, 3);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (BenchmarkInputs.SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public int getWeekNumber() {
+        return DateTransformation.getWeekNumber(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public int getQuarterOfYear() {
+        return DateTransformation.getQuarterOfYear(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public String getDayOfWeek() {
+        return DateTransformation.getDayOfWeek(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public int getDaysRemainingInMonth() {
+        return DateTransformation.getDaysRemainingInMonth(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public LocalDate getStartOfWeek() {
+        return DateTransformation.getStartOfWeek(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public LocalDate getEndOfWeek() {
+        return DateTransformation.getEndOfWeek(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public int getAge() {
+        return DateTransformation.getAge(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public long getDaysUntilFutureDate() {
+        return DateTransformation.getDaysUntilFutureDate(dates[next()], pattern);
+    }
+
+    @Benchmark
+    public boolean isLeapYear() {
+        return DateTransformation.isLeapYear(1950 + next() % 100);
+    }
+
+    @Benchmark
+    public int getDaysInMonth() {
+        int i = next();
+        return DateTransformation.getDaysInMonth(1950 + i % 100, 1 + i % 12);
+    }
+}
@@ -0,0 +1,42 @@
+package xmltransformer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xmltransformer.DateTransformation;
+
+/**
+ * The current-time methods: getCurrentDate, getCurrentTime and getCurrentDateTime.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrentTimeBenchmark {
+
+    @Benchmark
+    public String getCurrentDate() {
+        return DateTransformation.getCurrentDate("yyyy-MM-dd");
+    }
+
+    @Benchmark
+    public String getCurrentTime() {
+        return DateTransformation.getCurrentTime("HH:mm:ss");
+    }
+
+    @Benchmark
+    public String getCurrentDateTime() {
+        return DateTransformation.getCurrentDateTime("yyyy-MM-dd'T'HH:mm:ss");
+    }
+}
@@ -0,0 +1,68 @@
+package xmltransformer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xmltransformer.DateTransformation;
+
+/**
+ * Time-of-day arithmetic: addHours, addMinutes, addSeconds and addTimeOffset.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeArithmeticBenchmark {
+
+    @Param({"HH:mm", "HH:mm:ss", "yyyy-MM-dd HH:mm", "h:mm a"})
+    public String inputPattern;
+
+    @Param({"0", "5"})
+    public int invalidPercent;
+
+    private String[] times;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        times = BenchmarkInputs.formatted(inputPattern, invalidPercent, 7);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (BenchmarkInputs.SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public String addHours() {
+        return DateTransformation.addHours(times[next()], inputPattern, 5, "HH:mm");
+    }
+
+    @Benchmark
+    public String addMinutes() {
+        return DateTransformation.addMinutes(times[next()], inputPattern, 45, "HH:mm");
+    }
+
+    @Benchmark
+    public String addSeconds() {
+        return DateTransformation.addSeconds(times[next()], inputPattern, 90, "HH:mm:ss");
+    }
+
+    @Benchmark
+    public String addTimeOffset() {
+        return DateTransformation.addTimeOffset(times[next()], inputPattern, 3600, "HH:mm:ss");
+    }
+}
@@ -0,0 +1,78 @@
+package xmltransformer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xmltransformer.DateTransformation;
+
+/**
+ * Date-to-date transformations: transformDate, transformUnix and the date add* methods.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    @Param({"yyyy-MM-dd", "dd/MM/yyyy", "yyyyMMdd", "d MMM yyyy"})
+    public String inputPattern;
+
+    @Param({"dd/MM/yyyy", "EEEE, MMMM d, yyyy"})
+    public String outputPattern;
+
+    @Param({"0", "5"})
+    public int invalidPercent;
+
+    private String[] dates;
+    private long[] timestamps;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        dates = BenchmarkInputs.formatted(inputPattern, invalidPercent, 42);
+        timestamps = BenchmarkInputs.epochSeconds(invalidPercent, 42);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (BenchmarkInputs.SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public String transformDate() {
+        return DateTransformation.transformDate(dates[next()], inputPattern, outputPattern);
+    }
+
+    @Benchmark
+    public String transformUnix() {
+        return DateTransformation.transformUnix(timestamps[next()], outputPattern);
+    }
+
+    @Benchmark
+    public String addDays() {
+        return DateTransformation.addDays(dates[next()], inputPattern, 30, outputPattern);
+    }
+
+    @Benchmark
+    public String addMonths() {
+        return DateTransformation.addMonths(dates[next()], inputPattern, 1, outputPattern);
+    }
+
+    @Benchmark
+    public String addYears() {
+        return DateTransformation.addYears(dates[next()], inputPattern, 1, outputPattern);
+    }
+}
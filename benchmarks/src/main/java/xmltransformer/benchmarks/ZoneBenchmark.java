@@ -0,0 +1,57 @@
+package xmltransformer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import xmltransformer.DateTransformation;
+
+/**
+ * convertTimeZone across fixed-offset and DST zones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneBenchmark {
+
+    @Param({"UTC", "America/New_York"})
+    public String fromZone;
+
+    @Param({"Asia/Kolkata", "Europe/London"})
+    public String toZone;
+
+    @Param({"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm:ss z"})
+    public String outputPattern;
+
+    @Param({"0", "5"})
+    public int invalidPercent;
+
+    private static final String INPUT_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private String[] dateTimes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        dateTimes = BenchmarkInputs.formatted(INPUT_PATTERN, invalidPercent, 5);
+    }
+
+    @Benchmark
+    public String convertTimeZone() {
+        cursor = (cursor + 1) & (BenchmarkInputs.SIZE - 1);
+        return DateTransformation.convertTimeZone(dateTimes[cursor], fromZone, toZone, INPUT_PATTERN, outputPattern);
+    }
+}
@@ -0,0 +1,70 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AsyncDateServiceTest {
+
+    @Test
+    void transformDateMatchesTheSynchronousMethod() throws Exception {
+        AsyncDateService service = new AsyncDateService();
+        assertEquals("15/01/2024", service.transformDate("2024-01-15", "yyyy-MM-dd", "dd/MM/yyyy").get(10, TimeUnit.SECONDS));
+        assertEquals("Invalid date format", service.transformDate("2024-01-32", "yyyy-MM-dd", "dd/MM/yyyy").get(10, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> service.transformDate("2024-01-15", "yyyy-MM-dd'", "dd/MM/yyyy").get(10, TimeUnit.SECONDS));
+        assertEquals(IllegalArgumentException.class, failure.getCause().getClass());
+    }
+
+    /**
+     * The publisher shares the common pool with the drains and the queue is far smaller than the
+     * window, so a blocking onNext would stall. Every request must reach a callback, including
+     * after callbacks throw, and the completion must follow.
+     */
+    @Test
+    void subscriberNeverBlocksAndCompletesAfterEveryRequest() throws Exception {
+        AsyncDateService service = new AsyncDateService(ForkJoinPool.commonPool(), 2, 16);
+        AtomicInteger results = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AsyncDateService.DateSubscriber subscriber = service.subscriber(64, (request, result) -> {
+            if (results.incrementAndGet() % 10 == 0) {
+                throw new IllegalStateException("callback failure");
+            }
+        }, (request, error) -> {
+            assertSame(RejectedExecutionException.class, error.getClass());
+            rejected.incrementAndGet();
+        });
+        int count = 20_000;
+        try (SubmissionPublisher<DateRequest> publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), 256)) {
+            publisher.subscribe(subscriber);
+            for (int i = 0; i < count; i++) {
+                publisher.submit(new DateRequest("2024-01-" + (10 + i % 20), "yyyy-MM-dd", "dd/MM/yyyy"));
+            }
+        }
+        subscriber.completion().get(30, TimeUnit.SECONDS);
+        assertEquals(count, results.get() + rejected.get());
+    }
+
+    @Test
+    void completionFailsWithThePublisherError() throws Exception {
+        AsyncDateService service = new AsyncDateService();
+        AtomicInteger results = new AtomicInteger();
+        AsyncDateService.DateSubscriber subscriber = service.subscriber(4, (request, result) -> results.incrementAndGet(),
+                (request, error) -> { });
+        SubmissionPublisher<DateRequest> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(subscriber);
+        publisher.submit(new DateRequest("2024-01-15", "yyyy-MM-dd", "yyyy"));
+        IllegalStateException upstream = new IllegalStateException("upstream");
+        publisher.closeExceptionally(upstream);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> subscriber.completion().get(10, TimeUnit.SECONDS));
+        assertSame(upstream, failure.getCause());
+    }
+}
@@ -0,0 +1,74 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CachedClockTest {
+
+    @AfterEach
+    void restoreDefaults() {
+        DateTransformation.resetClock();
+    }
+
+    @Test
+    void defaultClockFollowsTheDefaultTimeZone() throws InterruptedException {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            DateTransformation.resetClock();
+            Thread.sleep(5);
+            assertEquals(ZoneId.of("Pacific/Kiritimati"), DateTransformation.getClock().getZone());
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Pago_Pago"));
+            Thread.sleep(5);
+            assertEquals(ZoneId.of("Pacific/Pago_Pago"), DateTransformation.getClock().getZone());
+            assertEquals(LocalDate.now(ZoneId.of("Pacific/Pago_Pago")).toString(), DateTransformation.getCurrentDate("yyyy-MM-dd"));
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    @Test
+    void setClockStopsTheReplacedRefreshThread() throws InterruptedException {
+        CachedClock started = new CachedClock(Clock.systemUTC(), Duration.ofMillis(1)).start();
+        DateTransformation.setClock(started);
+        Thread ticker = ticker();
+        assertTrue(ticker.isAlive());
+        DateTransformation.setClock(Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneOffset.UTC));
+        ticker.join(5000);
+        assertFalse(ticker.isAlive());
+        assertEquals("2024-01-15", DateTransformation.getCurrentDate("yyyy-MM-dd"));
+    }
+
+    @Test
+    void formatsAreCachedPerSnapshotAndKind() {
+        CachedClock clock = new CachedClock(Clock.fixed(Instant.parse("2024-01-15T10:20:30Z"), ZoneOffset.UTC), Duration.ofHours(1));
+        String date = clock.formatDate("yyyy-MM-dd");
+        assertEquals("2024-01-15", date);
+        assertSame(date, clock.formatDate("yyyy-MM-dd"));
+        assertEquals("10:20", clock.formatTime("HH:mm"));
+        assertEquals("2024-01-15 10:20", clock.formatDateTime("yyyy-MM-dd HH:mm"));
+        clock.refresh();
+        assertEquals("2024-01-15", clock.formatDate("yyyy-MM-dd"));
+    }
+
+    private static Thread ticker() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("xmltransformer-clock")) {
+                return thread;
+            }
+        }
+        throw new AssertionError("No refresh thread");
+    }
+}
@@ -0,0 +1,26 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import org.junit.jupiter.api.Test;
+
+class CalendarTableTest {
+
+    @Test
+    void matchesJavaTimeInsideAndAroundTheTable() {
+        // The default table covers 1900 to 2200; the days beyond it use the arithmetic fallback
+        long first = LocalDate.of(1890, 1, 1).toEpochDay();
+        long last = LocalDate.of(2210, 12, 31).toEpochDay();
+        for (long epochDay = first; epochDay <= last; epochDay++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            assertEquals(date.get(IsoFields.WEEK_BASED_YEAR), CalendarTable.isoWeekYearOf(epochDay), date::toString);
+            assertEquals(date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), CalendarTable.isoWeekOf(epochDay), date::toString);
+            assertEquals(date.getDayOfWeek().getValue(), CalendarTable.dayOfWeekOf(epochDay), date::toString);
+            assertEquals(date.get(IsoFields.QUARTER_OF_YEAR), CalendarTable.quarterOf(epochDay), date::toString);
+            assertEquals(date.lengthOfMonth(), CalendarTable.lengthOfMonthOf(epochDay), date::toString);
+            assertEquals(date.lengthOfMonth() - date.getDayOfMonth(), CalendarTable.daysRemainingInMonth(epochDay), date::toString);
+        }
+    }
+}
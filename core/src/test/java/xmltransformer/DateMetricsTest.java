@@ -0,0 +1,177 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs in the surefire execution that sets {@code -Dxmltransformer.metrics=true}.
+ */
+class DateMetricsTest {
+
+    private static final String ISO = "yyyy-MM-dd";
+    private static final String UK = "dd/MM/yyyy";
+
+    @BeforeAll
+    static void registerPatterns() {
+        assumeTrue(DateMetrics.ENABLED, "needs -Dxmltransformer.metrics=true");
+        // Register the patterns used below before the cap test can fill the registry
+        DateTransformation.transformDate("2024-01-15", ISO, UK);
+        DateTransformation.transformDate("15/01/2024", UK, ISO);
+    }
+
+    @BeforeEach
+    void reset() {
+        DateMetrics.reset();
+    }
+
+    @Test
+    void countsCallsAndFailuresPerMethodAndPattern() {
+        DateTransformation.transformDate("2024-01-15", ISO, UK);
+        DateTransformation.transformDate("2024-02-29", ISO, UK);
+        DateTransformation.transformDate("2024-13-01", ISO, UK);
+        DateTransformation.transformDate("x", ISO, UK);
+        DateTransformation.addDays("15/01/2024", UK, 1, ISO);
+        DateTransformation.addDays("32/01/2024", UK, 1, ISO);
+        DateTransformation.getWeekNumber("x", ISO);
+
+        MetricsSnapshot snapshot = DateMetrics.snapshot();
+        assertCounts(snapshot.methods().get("transformDate"), 4, 2);
+        assertCounts(snapshot.methods().get("addDays"), 2, 1);
+        assertCounts(snapshot.methods().get("getWeekNumber"), 1, 1);
+        assertNull(snapshot.methods().get("getDayOfWeek"));
+        assertEquals(3, snapshot.methods().size());
+
+        assertCounts(snapshot.patterns().get(ISO), 5, 3);
+        assertCounts(snapshot.patterns().get(UK), 2, 1);
+        assertEquals(2, snapshot.patterns().size());
+        assertTrue(snapshot.methods().get("transformDate").totalNanos() > 0);
+    }
+
+    @Test
+    void countsABatchCallPerElement() {
+        BatchResult result = DateTransformation.transformDate(new String[]{"2024-01-15", "x", "2024-01-16", "", "2024-01-17"}, ISO, UK);
+        assertEquals(2, result.errorCount());
+        DateTransformation.transformDate(new String[0], ISO, UK);
+        DateTransformation.getDaysBetween(new String[]{"2024-01-15", "2024-01-15"}, new String[]{"2024-02-15", "y"}, ISO);
+
+        MetricsSnapshot snapshot = DateMetrics.snapshot();
+        assertCounts(snapshot.methods().get("transformDate"), 5, 2);
+        assertCounts(snapshot.methods().get("getDaysBetween"), 2, 1);
+        assertCounts(snapshot.patterns().get(ISO), 7, 3);
+        long[] buckets = snapshot.methods().get("transformDate").buckets();
+        long bucketed = 0;
+        for (long count : buckets) {
+            bucketed += count;
+        }
+        assertEquals(5, bucketed);
+    }
+
+    @Test
+    void patternsPastTheCapAreCountedAsOther() {
+        int patterns = 300;
+        for (int i = 0; i < patterns; i++) {
+            DateTransformation.transformDate("x", "yyyy-MM-dd'T" + i + "'", ISO);
+        }
+        MetricsSnapshot snapshot = DateMetrics.snapshot();
+        assertTrue(snapshot.patterns().size() <= 257, "tracked " + snapshot.patterns().size());
+        long calls = 0;
+        long failures = 0;
+        for (LatencySnapshot pattern : snapshot.patterns().values()) {
+            calls += pattern.calls();
+            failures += pattern.failures();
+        }
+        assertEquals(patterns, calls);
+        assertEquals(patterns, failures);
+        assertTrue(snapshot.patterns().get("(other)").calls() >= patterns - 256);
+
+        // The registered patterns keep their own counters
+        DateTransformation.transformDate("2024-01-15", ISO, UK);
+        assertCounts(DateMetrics.snapshot().patterns().get(ISO), 1, 0);
+    }
+
+    @Test
+    void resetZeroesEveryCounter() {
+        DateTransformation.transformDate("2024-01-15", ISO, UK);
+        DateTransformation.transformDate("x", UK, ISO);
+        assertFalse(DateMetrics.snapshot().methods().isEmpty());
+
+        DateMetrics.reset();
+        MetricsSnapshot snapshot = DateMetrics.snapshot();
+        assertTrue(snapshot.methods().isEmpty());
+        assertTrue(snapshot.patterns().isEmpty());
+
+        DateTransformation.transformDate("x", UK, ISO);
+        assertCounts(DateMetrics.snapshot().methods().get("transformDate"), 1, 1);
+        assertCounts(DateMetrics.snapshot().patterns().get(UK), 1, 1);
+    }
+
+    @Test
+    void warmupLeavesNoCounts() {
+        DateTransformation.transformDate("2024-01-15", ISO, UK);
+        DateWarmup.warmup(Collections.singletonList(ISO), Collections.singletonList("UTC"), 5);
+        assertTrue(DateMetrics.snapshot().methods().isEmpty());
+        assertTrue(DateMetrics.snapshot().patterns().isEmpty());
+    }
+
+    @Test
+    void percentilesAreBucketUpperBounds() {
+        long[] buckets = new long[48];
+        buckets[3] = 90;
+        buckets[10] = 10;
+        LatencySnapshot snapshot = new LatencySnapshot("p", 100, 5, 1000, buckets);
+        assertEquals(15, snapshot.percentileNanos(0));
+        assertEquals(15, snapshot.percentileNanos(50));
+        assertEquals(15, snapshot.percentileNanos(90));
+        assertEquals(2047, snapshot.percentileNanos(90.5));
+        assertEquals(2047, snapshot.percentileNanos(99));
+        assertEquals(2047, snapshot.percentileNanos(100));
+        assertEquals(2047, snapshot.percentileNanos(150));
+        assertEquals(15, snapshot.percentileNanos(-1));
+        assertEquals(10.0, snapshot.meanNanos());
+        assertEquals(0.05, snapshot.failureRate());
+
+        LatencySnapshot empty = new LatencySnapshot("e", 0, 0, 0, new long[48]);
+        assertEquals(0, empty.percentileNanos(99));
+        assertEquals(0.0, empty.meanNanos());
+        assertEquals(0.0, empty.failureRate());
+    }
+
+    @Test
+    void registersTheMXBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("xmltransformer:type=DateMetrics");
+        assertTrue(server.isRegistered(name));
+        DateMetricsMXBean bean = JMX.newMXBeanProxy(server, name, DateMetricsMXBean.class);
+
+        DateTransformation.transformDate("2024-01-15", ISO, UK);
+        DateTransformation.transformDate("x", ISO, UK);
+        assertEquals(Map.of("transformDate", 2L), bean.getCallsByMethod());
+        assertEquals(Map.of("transformDate", 1L), bean.getFailuresByMethod());
+        assertEquals(Map.of(ISO, 2L), bean.getCallsByPattern());
+        assertEquals(Map.of(ISO, 1L), bean.getFailuresByPattern());
+        assertTrue(bean.getP99NanosByMethod().get("transformDate") > 0);
+        assertTrue(bean.getFormatterCacheSize() > 0);
+
+        bean.reset();
+        assertTrue(bean.getCallsByMethod().isEmpty());
+        assertTrue(DateMetrics.snapshot().methods().isEmpty());
+    }
+
+    private static void assertCounts(LatencySnapshot snapshot, long calls, long failures) {
+        assertEquals(calls, snapshot.calls(), snapshot.name());
+        assertEquals(failures, snapshot.failures(), snapshot.name());
+    }
+}
@@ -0,0 +1,99 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class DateRangeTest {
+
+    @Test
+    void monthStepsClampFromTheStartLikeAddMonths() {
+        DateRange range = DateRange.of("2024-01-31", "2024-06-30", "yyyy-MM-dd", 1, ChronoUnit.MONTHS);
+        assertEquals(List.of("2024-01-31", "2024-02-29", "2024-03-31", "2024-04-30", "2024-05-31", "2024-06-30"),
+                range.format("yyyy-MM-dd").collect(Collectors.toList()));
+        for (int i = 0; i < range.size(); i++) {
+            assertEquals(DateTransformation.addMonths("2024-01-31", "yyyy-MM-dd", i, "yyyy-MM-dd"),
+                    LocalDate.ofEpochDay(range.epochDayAt(i)).toString());
+        }
+    }
+
+    @Test
+    void lastStepIsDroppedWhenClampingStillOvershootsTheEnd() {
+        // Jan 31 + 1 month is Feb 29, after the end of Feb 28
+        assertEquals(1, DateRange.of("2024-01-31", "2024-02-28", "yyyy-MM-dd", 1, ChronoUnit.MONTHS).size());
+        assertEquals(2, DateRange.of("2024-01-31", "2024-02-29", "yyyy-MM-dd", 1, ChronoUnit.MONTHS).size());
+        // Feb 29 yearly clamps to Feb 28 in common years
+        assertEquals(List.of("2024-02-29", "2025-02-28", "2026-02-28", "2027-02-28", "2028-02-29"),
+                DateRange.of("2024-02-29", "2028-02-29", "yyyy-MM-dd", 1, ChronoUnit.YEARS)
+                        .format("yyyy-MM-dd").collect(Collectors.toList()));
+    }
+
+    @Test
+    void matchesLocalDatePlusForEveryUnit() {
+        Random random = new Random(42);
+        ChronoUnit[] units = {ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS};
+        for (int run = 0; run < 2000; run++) {
+            long start = random.nextInt(200_000) - 100_000;
+            long end = start + random.nextInt(4000) - 50;
+            int step = 1 + random.nextInt(5);
+            ChronoUnit unit = units[random.nextInt(units.length)];
+            DateRange range = DateRange.ofEpochDays(start, end, step, unit);
+
+            LocalDate first = LocalDate.ofEpochDay(start);
+            long[] expected = java.util.stream.LongStream.iterate(0, i -> i + 1)
+                    .mapToObj(i -> first.plus(i * step, unit))
+                    .takeWhile(date -> !date.isAfter(LocalDate.ofEpochDay(end)))
+                    .mapToLong(LocalDate::toEpochDay)
+                    .toArray();
+            assertArrayEquals(expected, range.toEpochDays(), range.toString());
+            assertArrayEquals(expected, range.epochDays().parallel().toArray(), range.toString());
+        }
+    }
+
+    @Test
+    void fillStopsAtTheEndOfTheRange() {
+        DateRange range = DateRange.ofEpochDays(0, 9, 1, ChronoUnit.DAYS);
+        long[] chunk = new long[4];
+        assertEquals(4, range.fill(8, chunk, 0, 4) + 2);
+        assertArrayEquals(new long[]{8, 9, 0, 0}, chunk);
+        assertEquals(0, range.fill(10, chunk, 0, 4));
+    }
+
+    @Test
+    void weekBucketsFollowStartAndEndOfWeek() {
+        DateRange days = DateRange.of("2024-01-03", "2024-01-31", "yyyy-MM-dd", 1, ChronoUnit.DAYS);
+        DateRange weeks = days.weeks();
+        assertEquals(List.of("2024-01-01", "2024-01-08", "2024-01-15", "2024-01-22", "2024-01-29"),
+                weeks.format("yyyy-MM-dd").collect(Collectors.toList()));
+
+        long[] epochDays = days.toEpochDays();
+        long[] counts = new long[(int) weeks.size()];
+        assertEquals(0, DateRange.countByWeek(epochDays, 0, epochDays.length, weeks.epochDayAt(0), counts));
+        assertArrayEquals(new long[]{5, 7, 7, 7, 3}, counts);
+
+        long[] starts = new long[epochDays.length];
+        long[] ends = new long[epochDays.length];
+        DateRange.startOfWeek(epochDays, 0, epochDays.length, starts);
+        DateRange.endOfWeek(epochDays, 0, epochDays.length, ends);
+        for (int i = 0; i < epochDays.length; i++) {
+            LocalDate date = LocalDate.ofEpochDay(epochDays[i]);
+            assertEquals(date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay(), starts[i]);
+            assertEquals(date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)).toEpochDay(), ends[i]);
+        }
+    }
+
+    @Test
+    void invalidInputGivesNullAndEmptyRangesAreEmpty() {
+        assertNull(DateRange.of("2024-02-30x", "2024-03-01", "yyyy-MM-dd", 1, ChronoUnit.DAYS));
+        assertEquals(0, DateRange.of("2024-03-01", "2024-02-01", "yyyy-MM-dd", 1, ChronoUnit.DAYS).size());
+    }
+}
@@ -0,0 +1,99 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DateResultOverloadTest {
+
+    private static final String[] DATES = {"2024-01-15", "2024-02-29", "2023-02-29", "2000-12-31", "1969-07-20", "2030-06-01", "x", "2024-13-01"};
+
+    private final DateResult result = new DateResult();
+
+    @BeforeEach
+    void fixClock() {
+        DateTransformation.setClock(Clock.fixed(Instant.parse("2024-03-10T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void resetClock() {
+        DateTransformation.resetClock();
+    }
+
+    @Test
+    void singleDateMethodsMatchTheStringForms() {
+        for (String date : DATES) {
+            boolean valid = DateTransformation.getDaysRemainingInMonth(date, "yyyy-MM-dd") >= 0;
+            assertEquals(valid, DateTransformation.getDaysRemainingInMonth(date, "yyyy-MM-dd", result), date);
+            if (!valid) {
+                assertEquals(DateError.BAD_VALUE, result.error());
+                continue;
+            }
+            assertEquals(DateTransformation.getDaysRemainingInMonth(date, "yyyy-MM-dd"), result.value());
+            assertTrue(DateTransformation.getAge(date, "yyyy-MM-dd", result));
+            assertEquals(DateTransformation.getAge(date, "yyyy-MM-dd"), result.value(), date);
+            assertTrue(DateTransformation.getDaysUntilFutureDate(date, "yyyy-MM-dd", result));
+            assertEquals(DateTransformation.getDaysUntilFutureDate(date, "yyyy-MM-dd"), result.value(), date);
+            assertTrue(DateTransformation.getStartOfWeek(date, "yyyy-MM-dd", result));
+            assertEquals(DateTransformation.getStartOfWeek(date, "yyyy-MM-dd"), LocalDate.ofEpochDay(result.value()));
+            assertTrue(DateTransformation.getEndOfWeek(date, "yyyy-MM-dd", result));
+            assertEquals(DateTransformation.getEndOfWeek(date, "yyyy-MM-dd"), LocalDate.ofEpochDay(result.value()));
+        }
+        // A future birth date gives a negative age, which the String form would show as -1 at exactly one year
+        assertTrue(DateTransformation.getAge("2025-03-10", "yyyy-MM-dd", result));
+        assertEquals(-1, result.value());
+        assertFalse(result.isError());
+    }
+
+    @Test
+    void pairMethodsMatchTheStringForms() {
+        for (String first : DATES) {
+            for (String second : DATES) {
+                boolean valid = DateTransformation.getDaysBetween(first, second, "yyyy-MM-dd", result);
+                assertEquals(valid, DateTransformation.calculateDaysDifference(first, second, "yyyy-MM-dd", result));
+                if (valid) {
+                    assertEquals(DateTransformation.getDaysBetween(first, second, "yyyy-MM-dd"), result.value());
+                } else {
+                    assertEquals(-1, DateTransformation.calculateDaysDifference(first, second, "yyyy-MM-dd"));
+                }
+
+                assertEquals(valid, DateTransformation.isSameDate(first, "yyyy-MM-dd", second, "yyyy-MM-dd", result));
+                if (valid) {
+                    assertEquals(DateTransformation.isSameDate(first, "yyyy-MM-dd", second, "yyyy-MM-dd") ? 1 : 0, result.value());
+                }
+            }
+        }
+        assertTrue(DateTransformation.isSameDate("2024-01-15", "yyyy-MM-dd", "15/01/2024", "dd/MM/yyyy", result));
+        assertEquals(1, result.value());
+    }
+
+    @Test
+    void addTimeOffsetMatchesTheStringForm() {
+        for (long offset : new long[]{-86_401, -1, 0, 59, 3600, 90_000}) {
+            assertTrue(DateTransformation.addTimeOffset("23:59:30", "HH:mm:ss", offset, "HH:mm:ss", result));
+            assertEquals(DateTransformation.addTimeOffset("23:59:30", "HH:mm:ss", offset, "HH:mm:ss"), result.text());
+        }
+        assertFalse(DateTransformation.addTimeOffset("25:00:00", "HH:mm:ss", 1, "HH:mm:ss", result));
+        assertEquals(DateError.BAD_VALUE, result.error());
+        assertFalse(DateTransformation.addTimeOffset("10:00:00", "HH:mm:ss", 1, "yyyy-MM-dd", result));
+        assertEquals(DateError.BAD_PATTERN, result.error());
+    }
+
+    @Test
+    void invalidPatternsFailWithoutThrowing() {
+        assertFalse(DateTransformation.getAge("2024-01-15", "yyyy-MM-dd'", result));
+        assertEquals(DateError.BAD_PATTERN, result.error());
+        assertFalse(DateTransformation.isSameDate("2024-01-15", "yyyy-MM-dd", "2024-01-15", null, result));
+        assertEquals(DateError.BAD_PATTERN, result.error());
+        assertFalse(DateTransformation.getStartOfWeek(null, "yyyy-MM-dd", result));
+        assertEquals(DateError.BAD_VALUE, result.error());
+    }
+}
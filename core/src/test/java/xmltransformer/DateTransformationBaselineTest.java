@@ -0,0 +1,310 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks every rewritten public method of DateTransformation against the original implementation
+ * on the same inputs: valid dates in many patterns, SMART resolver clamping, 24:00, day-of-week
+ * cross-checks, out-of-range fields and malformed text. Results and exception types must match.
+ */
+class DateTransformationBaselineTest {
+
+    static final String[] DATE_PATTERNS = {
+        "yyyy-MM-dd", "uuuu-MM-dd", "dd/MM/yyyy", "yyyyMMdd", "MM/dd/yy", "d MMM uuuu",
+        "EEE, dd MMM yyyy", "yyyy-DDD", "dd.MM.yyyy", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm",
+        "dd/MM/yyyy hh:mm a",
+    };
+
+    static final String[] DATE_TIME_PATTERNS = {
+        "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm", "dd/MM/yyyy hh:mm a",
+    };
+
+    static final String[] OUTPUT_PATTERNS = {
+        "yyyy-MM-dd", "dd MMM yyyy", "EEEE", "uuuu/MM/dd", "yyyy-MM-dd HH:mm",
+    };
+
+    static final String[] ZONES = {
+        "UTC", "Europe/Berlin", "America/New_York", "Australia/Lord_Howe", "+05:30", "Mars/Olympus",
+    };
+
+    /** Inputs tried with every pattern, whatever it expects. */
+    static final String[] EDGE_INPUTS = {
+        // SMART clamps day 29-31 to the end of the month, but rejects anything else out of range
+        "2024-02-30", "2023-02-29", "2024-04-31", "2024-13-01", "2024-00-10", "2024-01-32",
+        "30/02/2024", "31/04/2024", "29/02/2023", "20240230", "20230229", "31 Feb 2024", "30.02.2024",
+        // 24:00 is the start of the next day; other hours past 23 are invalid
+        "2024-01-15 24:00:00", "2024-12-31 24:00:00", "2024-01-15 24:00:01", "2024-01-15T24:00",
+        "2024-01-15 23:59:60", "2024-01-15 25:00:00",
+        // The day of week must agree with the date
+        "Mon, 15 Jan 2024", "Tue, 15 Jan 2024", "Thu, 29 Feb 2024", "Fri, 30 Feb 2024",
+        // Day of year, two-digit years and wide years
+        "2024-366", "2023-366", "2024-000", "12/31/99", "02/29/00", "02/29/01",
+        "+10000-01-01", "0000-01-01", "-0001-01-01", "9999-12-31", "0001-01-01",
+        // 12-hour clock
+        "15/01/2024 12:00 PM", "15/01/2024 12:30 AM", "15/01/2024 13:00 PM", "15/01/2024 00:30 AM",
+        // Malformed
+        "", "abc", "2024-1-5", " 2024-01-15", "2024-01-15 ", "2024-01-15x", "2024/01/15", "15 jan 2024",
+    };
+
+    private static final long[] DAY_OFFSETS = {0, 1, -1, 29, 365, -36500, 1_000_000_000L, Long.MAX_VALUE};
+
+    @Test
+    void dateMethodsMatchBaseline() {
+        List<String> mismatches = new ArrayList<>();
+        for (String pattern : DATE_PATTERNS) {
+            List<String> inputs = inputsFor(pattern);
+            for (String input : inputs) {
+                for (String output : OUTPUT_PATTERNS) {
+                    check(mismatches, "transformDate", input, pattern, output,
+                            () -> BaselineDateTransformation.transformDate(input, pattern, output),
+                            () -> DateTransformation.transformDate(input, pattern, output));
+                }
+                for (long days : DAY_OFFSETS) {
+                    check(mismatches, "addDays", input, pattern, days,
+                            () -> BaselineDateTransformation.addDays(input, pattern, days, "yyyy-MM-dd"),
+                            () -> DateTransformation.addDays(input, pattern, days, "yyyy-MM-dd"));
+                    check(mismatches, "addMonths", input, pattern, days,
+                            () -> BaselineDateTransformation.addMonths(input, pattern, days, "yyyy-MM-dd"),
+                            () -> DateTransformation.addMonths(input, pattern, days, "yyyy-MM-dd"));
+                    check(mismatches, "addYears", input, pattern, days,
+                            () -> BaselineDateTransformation.addYears(input, pattern, days, "yyyy-MM-dd"),
+                            () -> DateTransformation.addYears(input, pattern, days, "yyyy-MM-dd"));
+                }
+                check(mismatches, "getWeekNumber", input, pattern, null,
+                        () -> BaselineDateTransformation.getWeekNumber(input, pattern),
+                        () -> DateTransformation.getWeekNumber(input, pattern));
+                check(mismatches, "getDaysRemainingInMonth", input, pattern, null,
+                        () -> BaselineDateTransformation.getDaysRemainingInMonth(input, pattern),
+                        () -> DateTransformation.getDaysRemainingInMonth(input, pattern));
+                check(mismatches, "getQuarterOfYear", input, pattern, null,
+                        () -> BaselineDateTransformation.getQuarterOfYear(input, pattern),
+                        () -> DateTransformation.getQuarterOfYear(input, pattern));
+                check(mismatches, "getDayOfWeek", input, pattern, null,
+                        () -> BaselineDateTransformation.getDayOfWeek(input, pattern),
+                        () -> DateTransformation.getDayOfWeek(input, pattern));
+                check(mismatches, "getStartOfWeek", input, pattern, null,
+                        () -> BaselineDateTransformation.getStartOfWeek(input, pattern),
+                        () -> DateTransformation.getStartOfWeek(input, pattern));
+                check(mismatches, "getEndOfWeek", input, pattern, null,
+                        () -> BaselineDateTransformation.getEndOfWeek(input, pattern),
+                        () -> DateTransformation.getEndOfWeek(input, pattern));
+                check(mismatches, "getAge", input, pattern, null,
+                        () -> BaselineDateTransformation.getAge(input, pattern),
+                        () -> DateTransformation.getAge(input, pattern));
+                check(mismatches, "getDaysUntilFutureDate", input, pattern, null,
+                        () -> BaselineDateTransformation.getDaysUntilFutureDate(input, pattern),
+                        () -> DateTransformation.getDaysUntilFutureDate(input, pattern));
+            }
+
+            // Pairwise methods over a sample, so the corpus stays quadratic in something small
+            for (int i = 0; i < inputs.size(); i += 3) {
+                for (int j = 1; j < inputs.size(); j += 5) {
+                    String start = inputs.get(i);
+                    String end = inputs.get(j);
+                    check(mismatches, "getDaysBetween", start, pattern, end,
+                            () -> BaselineDateTransformation.getDaysBetween(start, end, pattern),
+                            () -> DateTransformation.getDaysBetween(start, end, pattern));
+                    check(mismatches, "getMonthsBetween", start, pattern, end,
+                            () -> BaselineDateTransformation.getMonthsBetween(start, end, pattern),
+                            () -> DateTransformation.getMonthsBetween(start, end, pattern));
+                    check(mismatches, "getYearsBetween", start, pattern, end,
+                            () -> BaselineDateTransformation.getYearsBetween(start, end, pattern),
+                            () -> DateTransformation.getYearsBetween(start, end, pattern));
+                    check(mismatches, "calculateDaysDifference", start, pattern, end,
+                            () -> BaselineDateTransformation.calculateDaysDifference(start, end, pattern),
+                            () -> DateTransformation.calculateDaysDifference(start, end, pattern));
+                    check(mismatches, "isSameDate", start, pattern, end,
+                            () -> BaselineDateTransformation.isSameDate(start, pattern, end, "yyyy-MM-dd"),
+                            () -> DateTransformation.isSameDate(start, pattern, end, "yyyy-MM-dd"));
+                }
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void timeMethodsMatchBaselineForDateTimePatterns() {
+        List<String> mismatches = new ArrayList<>();
+        long[] amounts = {0, 1, -1, 25, 1441, -100_000, Long.MAX_VALUE};
+        for (String pattern : DATE_TIME_PATTERNS) {
+            for (String input : inputsFor(pattern)) {
+                for (long amount : amounts) {
+                    check(mismatches, "addHours", input, pattern, amount,
+                            () -> BaselineDateTransformation.addHours(input, pattern, amount, "HH:mm:ss"),
+                            () -> DateTransformation.addHours(input, pattern, amount, "HH:mm:ss"));
+                    check(mismatches, "addMinutes", input, pattern, amount,
+                            () -> BaselineDateTransformation.addMinutes(input, pattern, amount, "hh:mm a"),
+                            () -> DateTransformation.addMinutes(input, pattern, amount, "hh:mm a"));
+                    check(mismatches, "addSeconds", input, pattern, amount,
+                            () -> BaselineDateTransformation.addSeconds(input, pattern, amount, "HH:mm:ss"),
+                            () -> DateTransformation.addSeconds(input, pattern, amount, "HH:mm:ss"));
+                    check(mismatches, "addTimeOffset", input, pattern, amount,
+                            () -> BaselineDateTransformation.addTimeOffset(input, pattern, amount, "HH:mm"),
+                            () -> DateTransformation.addTimeOffset(input, pattern, amount, "HH:mm"));
+                }
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void convertTimeZoneMatchesBaseline() {
+        List<String> mismatches = new ArrayList<>();
+        String[] outputs = {"yyyy-MM-dd HH:mm:ss", "dd/MM/yyyy hh:mm a", "yyyy-MM-dd'T'HH:mmXXX", "yyyy-MM-dd HH:mm VV"};
+        for (String pattern : DATE_TIME_PATTERNS) {
+            List<String> inputs = inputsFor(pattern);
+            // Spring-forward gaps and fall-back overlaps in the zones above
+            inputs.add(LocalDateTime.of(2024, 3, 31, 2, 30).format(DateTimeFormatter.ofPattern(pattern)));
+            inputs.add(LocalDateTime.of(2024, 10, 27, 2, 30).format(DateTimeFormatter.ofPattern(pattern)));
+            inputs.add(LocalDateTime.of(2024, 4, 7, 1, 45).format(DateTimeFormatter.ofPattern(pattern)));
+            inputs.add(LocalDateTime.of(1899, 12, 31, 23, 0).format(DateTimeFormatter.ofPattern(pattern)));
+            inputs.add(LocalDateTime.of(2100, 1, 1, 0, 30).format(DateTimeFormatter.ofPattern(pattern)));
+            for (String input : inputs) {
+                for (String from : ZONES) {
+                    for (String to : ZONES) {
+                        for (String output : outputs) {
+                            check(mismatches, "convertTimeZone", input, pattern, from + ">" + to + " " + output,
+                                    () -> BaselineDateTransformation.convertTimeZone(input, from, to, pattern, output),
+                                    () -> DateTransformation.convertTimeZone(input, from, to, pattern, output));
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void calendarAndUnixMethodsMatchBaseline() {
+        List<String> mismatches = new ArrayList<>();
+        for (int year : new int[]{-1_000_000_000, -1, 0, 1, 1600, 1899, 1900, 1999, 2000, 2023, 2024, 2100, 2200, 2201, 999_999_999}) {
+            check(mismatches, "isLeapYear", String.valueOf(year), "", null,
+                    () -> BaselineDateTransformation.isLeapYear(year),
+                    () -> DateTransformation.isLeapYear(year));
+            for (int month = -1; month <= 13; month++) {
+                int m = month;
+                check(mismatches, "getDaysInMonth", String.valueOf(year), "", m,
+                        () -> BaselineDateTransformation.getDaysInMonth(year, m),
+                        () -> DateTransformation.getDaysInMonth(year, m));
+            }
+        }
+        long[] timestamps = {-1, 0, 1, 59, 86_399, 86_400, 951_782_400L, 1_700_000_000L, 4_102_444_800L,
+                253_402_300_799L, 253_402_300_800L, 31_556_889_864_403_199L, Long.MAX_VALUE};
+        String[] outputs = {"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd", "HH:mm", "dd MMM yyyy hh:mm a", "yyyy-MM-dd VV"};
+        for (long timestamp : timestamps) {
+            for (String output : outputs) {
+                check(mismatches, "transformUnix", String.valueOf(timestamp), output, null,
+                        () -> BaselineDateTransformation.transformUnix(timestamp, output),
+                        () -> DateTransformation.transformUnix(timestamp, output));
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void invalidPatternsThrowAsBefore() {
+        List<String> mismatches = new ArrayList<>();
+        for (String pattern : new String[]{"yyyy-MM-dd'", "{", "bbb", "yyyy-MM-dd[", "#"}) {
+            check(mismatches, "transformDate", "2024-01-15", pattern, null,
+                    () -> BaselineDateTransformation.transformDate("2024-01-15", pattern, "yyyy"),
+                    () -> DateTransformation.transformDate("2024-01-15", pattern, "yyyy"));
+            check(mismatches, "getWeekNumber", "2024-01-15", pattern, null,
+                    () -> BaselineDateTransformation.getWeekNumber("2024-01-15", pattern),
+                    () -> DateTransformation.getWeekNumber("2024-01-15", pattern));
+            check(mismatches, "transformDate output", "2024-01-15", "yyyy-MM-dd", pattern,
+                    () -> BaselineDateTransformation.transformDate("2024-01-15", "yyyy-MM-dd", pattern),
+                    () -> DateTransformation.transformDate("2024-01-15", "yyyy-MM-dd", pattern));
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    /**
+     * The baseline validated every input as a date, so it rejected time-only patterns outright.
+     * They are now parsed as times, which is compared here with LocalTime itself.
+     */
+    @Test
+    void timeMethodsAcceptTimeOnlyPatterns() {
+        List<String> mismatches = new ArrayList<>();
+        String[] patterns = {"HH:mm", "HH:mm:ss", "hh:mm a", "HHmmss"};
+        String[] inputs = {"00:00", "23:59", "24:00", "12:30 PM", "12:30 AM", "13:30 PM", "07:05:09", "235960", "x", ""};
+        for (String pattern : patterns) {
+            for (String input : inputs) {
+                for (long hours : new long[]{0, 1, 23, -25}) {
+                    check(mismatches, "addHours", input, pattern, hours,
+                            () -> referencePlusSeconds(input, pattern, hours * 3600, "HH:mm:ss"),
+                            () -> DateTransformation.addHours(input, pattern, hours, "HH:mm:ss"));
+                    check(mismatches, "addTimeOffset", input, pattern, hours,
+                            () -> referencePlusSeconds(input, pattern, hours, "HH:mm:ss"),
+                            () -> DateTransformation.addTimeOffset(input, pattern, hours, "HH:mm:ss"));
+                }
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void timeMethodsRejectOutputPatternsNeedingADate() {
+        assertEquals("Invalid time format", DateTransformation.addHours("10:15", "HH:mm", 2, "yyyy-MM-dd"));
+        assertEquals("Invalid time format", DateTransformation.addMinutes("10:15", "HH:mm", 2, "dd MMM"));
+        assertEquals("Invalid time format", DateTransformation.addSeconds("10:15", "HH:mm", 2, "HH:mm VV"));
+        assertEquals("Invalid time format", DateTransformation.addTimeOffset("10:15", "HH:mm", 2, "yyyy"));
+        assertEquals("12:15", DateTransformation.addHours("10:15", "HH:mm", 2, "HH:mm"));
+    }
+
+    private static String referencePlusSeconds(String input, String pattern, long seconds, String output) {
+        LocalTime time;
+        try {
+            time = LocalTime.parse(input, DateTimeFormatter.ofPattern(pattern));
+        } catch (DateTimeParseException e) {
+            return "Invalid time format";
+        }
+        return time.plusSeconds(seconds).format(DateTimeFormatter.ofPattern(output));
+    }
+
+    /**
+     * Valid dates across several centuries in the pattern, followed by the edge inputs.
+     */
+    static List<String> inputsFor(String pattern) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        List<String> inputs = new ArrayList<>();
+        for (long epochDay = -80_000; epochDay < 80_000; epochDay += 7_919) {
+            LocalDateTime value = LocalDate.ofEpochDay(epochDay).atTime((int) Math.floorMod(epochDay, 24), 45, 30);
+            inputs.add(value.format(formatter));
+        }
+        inputs.add(LocalDate.of(2024, 2, 29).atStartOfDay().format(formatter));
+        inputs.add(LocalDate.of(2024, 12, 30).atTime(12, 0).format(formatter));
+        inputs.add(LocalDate.of(2021, 1, 3).atTime(0, 30).format(formatter));
+        for (String edge : EDGE_INPUTS) {
+            inputs.add(edge);
+        }
+        return inputs;
+    }
+
+    private static void check(List<String> mismatches, String method, String input, String pattern, Object argument,
+                              Callable<?> baseline, Callable<?> rewritten) {
+        String expected = outcome(baseline);
+        String actual = outcome(rewritten);
+        if (!expected.equals(actual)) {
+            mismatches.add(method + "(\"" + input + "\", \"" + pattern + "\", " + argument + "): expected "
+                    + expected + " but was " + actual);
+        }
+    }
+
+    private static String outcome(Callable<?> call) {
+        try {
+            return "= " + call.call();
+        } catch (Exception e) {
+            return "! " + e.getClass().getName();
+        }
+    }
+}
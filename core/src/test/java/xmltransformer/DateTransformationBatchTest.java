@@ -0,0 +1,154 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks each String[] batch method against its single-value form on the inputs of
+ * DateTransformationBaselineTest: every valid element must hold the single-value result and
+ * every invalid one must be marked in the error bitmap.
+ */
+class DateTransformationBatchTest {
+
+    private static final long[] DAY_OFFSETS = {0, 1, -1, 29, 365, -36500};
+
+    @Test
+    void transformDateMatchesTheSingleValueMethod() {
+        for (String pattern : DateTransformationBaselineTest.DATE_PATTERNS) {
+            String[] inputs = inputsFor(pattern);
+            for (String output : DateTransformationBaselineTest.OUTPUT_PATTERNS) {
+                assertMatches(inputs, () -> DateTransformation.transformDate(inputs, pattern, output), "Invalid date format",
+                        input -> DateTransformation.transformDate(input, pattern, output), pattern + " -> " + output);
+                assertMatches(inputs, () -> DateTransformation.transformDate(Arrays.asList(inputs), pattern, output), "Invalid date format",
+                        input -> DateTransformation.transformDate(input, pattern, output), pattern + " -> " + output + " as a list");
+            }
+        }
+    }
+
+    @Test
+    void addDaysMatchesTheSingleValueMethod() {
+        for (String pattern : DateTransformationBaselineTest.DATE_PATTERNS) {
+            String[] inputs = inputsFor(pattern);
+            for (long days : DAY_OFFSETS) {
+                assertMatches(inputs, () -> DateTransformation.addDays(inputs, pattern, days, "yyyy-MM-dd"), "Invalid date format",
+                        input -> DateTransformation.addDays(input, pattern, days, "yyyy-MM-dd"), pattern + " + " + days);
+            }
+        }
+    }
+
+    @Test
+    void convertTimeZoneMatchesTheSingleValueMethod() {
+        String[] zones = {"UTC", "Europe/Berlin", "America/New_York", "Australia/Lord_Howe", "+05:30"};
+        for (String pattern : DateTransformationBaselineTest.DATE_TIME_PATTERNS) {
+            String[] inputs = inputsFor(pattern);
+            for (String from : zones) {
+                for (String to : zones) {
+                    for (String output : new String[]{"yyyy-MM-dd HH:mm", "yyyy-MM-dd'T'HH:mm:ssXXX"}) {
+                        assertMatches(inputs, () -> DateTransformation.convertTimeZone(inputs, from, to, pattern, output),
+                                "Invalid date format or timezone",
+                                input -> DateTransformation.convertTimeZone(input, from, to, pattern, output),
+                                pattern + " " + from + " -> " + to + " as " + output);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void anInvalidZoneMarksEveryElement() {
+        String[] inputs = inputsFor("yyyy-MM-dd HH:mm:ss");
+        for (String[] zones : new String[][]{{"Mars/Olympus", "UTC"}, {"UTC", "Mars/Olympus"}, {"Mars/Olympus", "Mars/Olympus"}}) {
+            BatchResult batch = DateTransformation.convertTimeZone(inputs, zones[0], zones[1], "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm");
+            assertEquals(inputs.length, batch.size());
+            assertEquals(inputs.length, batch.errorCount());
+            assertEquals(inputs.length, batch.errors().cardinality());
+            for (int i = 0; i < inputs.length; i++) {
+                assertTrue(batch.isError(i), inputs[i]);
+                assertNull(batch.get(i), inputs[i]);
+            }
+        }
+    }
+
+    @Test
+    void getDaysBetweenMatchesTheSingleValueMethod() {
+        DateResult single = new DateResult();
+        for (String pattern : DateTransformationBaselineTest.DATE_PATTERNS) {
+            String[] starts = inputsFor(pattern);
+            // Pair each input with every other, shifted by a growing stride
+            for (int stride = 0; stride < 5; stride++) {
+                String[] ends = new String[starts.length];
+                for (int i = 0; i < starts.length; i++) {
+                    ends[i] = starts[(i + stride * 7) % starts.length];
+                }
+                LongBatchResult batch = DateTransformation.getDaysBetween(starts, ends, pattern);
+                int errors = 0;
+                for (int i = 0; i < starts.length; i++) {
+                    String message = pattern + ": " + starts[i] + " .. " + ends[i];
+                    boolean valid = DateTransformation.getDaysBetween(starts[i], ends[i], pattern, single);
+                    assertEquals(!valid, batch.isError(i), message);
+                    assertEquals(!valid, batch.errors().isSet(i), message);
+                    if (valid) {
+                        assertEquals(DateTransformation.getDaysBetween(starts[i], ends[i], pattern), batch.get(i), message);
+                    } else {
+                        errors++;
+                    }
+                }
+                assertEquals(errors, batch.errorCount(), pattern);
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> DateTransformation.getDaysBetween(new String[2], new String[3], "yyyy-MM-dd"));
+    }
+
+    @Test
+    void emptyBatchesAreEmpty() {
+        assertEquals(0, DateTransformation.transformDate(new String[0], "yyyy-MM-dd", "dd/MM/yyyy").size());
+        assertEquals(0, DateTransformation.addDays(new String[0], "yyyy-MM-dd", 1, "dd/MM/yyyy").errorCount());
+        assertEquals(0, DateTransformation.convertTimeZone(new String[0], "UTC", "Mars/Olympus", "yyyy-MM-dd HH:mm", "HH:mm").size());
+        assertEquals(0, DateTransformation.getDaysBetween(new String[0], new String[0], "yyyy-MM-dd").size());
+    }
+
+    private static String[] inputsFor(String pattern) {
+        List<String> inputs = DateTransformationBaselineTest.inputsFor(pattern);
+        return inputs.toArray(new String[0]);
+    }
+
+    private static void assertMatches(String[] inputs, Supplier<BatchResult> call, String invalid, Function<String, String> single,
+                                      String message) {
+        String[] expectations = new String[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            try {
+                expectations[i] = single.apply(inputs[i]);
+            } catch (RuntimeException e) {
+                // An exception for one element, e.g. a date formatted with time fields, fails the whole batch
+                assertThrows(e.getClass(), call::get, message + ": " + inputs[i]);
+                return;
+            }
+        }
+        BatchResult batch = call.get();
+        assertEquals(inputs.length, batch.size(), message);
+        int errors = 0;
+        for (int i = 0; i < inputs.length; i++) {
+            String expected = expectations[i];
+            if (expected.equals(invalid)) {
+                assertTrue(batch.isError(i), message + ": " + inputs[i]);
+                assertTrue(batch.errors().isSet(i), message + ": " + inputs[i]);
+                assertNull(batch.get(i), message + ": " + inputs[i]);
+                errors++;
+            } else {
+                assertFalse(batch.isError(i), message + ": " + inputs[i]);
+                assertEquals(expected, batch.get(i), message + ": " + inputs[i]);
+            }
+        }
+        assertEquals(errors, batch.errorCount(), message);
+    }
+}
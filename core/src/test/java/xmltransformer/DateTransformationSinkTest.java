@@ -0,0 +1,69 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import org.junit.jupiter.api.Test;
+
+class DateTransformationSinkTest {
+
+    @Test
+    void addDaysMatchesTheStringOverloadInEverySink() throws Exception {
+        for (long days : new long[]{-800_000, -1, 0, 1, 59, 3_000_000}) {
+            String expected = DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "dd/MM/yyyy");
+            StringBuilder builder = new StringBuilder("x");
+            assertTrue(DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "dd/MM/yyyy", builder));
+            assertEquals("x" + expected, builder.toString());
+
+            StringWriter writer = new StringWriter();
+            assertTrue(DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "dd/MM/yyyy", writer));
+            assertEquals(expected, writer.toString());
+
+            char[] chars = new char[40];
+            int length = DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "dd/MM/yyyy", chars, 3);
+            assertEquals(expected, new String(chars, 3, length));
+
+            ByteBuffer bytes = ByteBuffer.allocate(40);
+            assertTrue(DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "dd/MM/yyyy", bytes));
+            assertEquals(expected, new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void addDaysOutsideTheLocalDateRangeThrowsInEverySink() {
+        // Far enough that the product with 86400 would wrap around to 2010-07-24
+        long[] amounts = {21_350_398_233_474_944L - 19_737, Long.MAX_VALUE, Long.MIN_VALUE, 366_000_000_000L};
+        for (long days : amounts) {
+            StringBuilder builder = new StringBuilder();
+            if (days != Long.MAX_VALUE && days != Long.MIN_VALUE) {
+                // At the extremes the String overload overflows in LocalDate.plusDays, as the original did
+                assertThrows(DateTimeException.class,
+                        () -> DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "yyyy-MM-dd"));
+            }
+            assertThrows(DateTimeException.class,
+                    () -> DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "yyyy-MM-dd", builder));
+            assertEquals("", builder.toString());
+            assertThrows(DateTimeException.class,
+                    () -> DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "yyyy-MM-dd", new StringWriter()));
+            assertThrows(DateTimeException.class,
+                    () -> DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "yyyy-MM-dd", new char[40], 0));
+            assertThrows(DateTimeException.class,
+                    () -> DateTransformation.addDays("2024-01-15", "yyyy-MM-dd", days, "yyyy-MM-dd", ByteBuffer.allocate(40)));
+        }
+    }
+
+    @Test
+    void invalidInputLeavesTheSinkUntouched() {
+        StringBuilder builder = new StringBuilder("keep");
+        assertFalse(DateTransformation.transformDate("2024-02-30x", "yyyy-MM-dd", "dd/MM/yyyy", builder));
+        assertFalse(DateTransformation.addDays("nope", "yyyy-MM-dd", 1, "dd/MM/yyyy", builder));
+        assertEquals("keep", builder.toString());
+        assertEquals(-1, DateTransformation.transformDate("2024-13-01", "yyyy-MM-dd", "yyyy", new char[8], 0));
+    }
+}
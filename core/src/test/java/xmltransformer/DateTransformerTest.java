@@ -0,0 +1,196 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+
+class DateTransformerTest {
+
+    private static final String DATE_TIME = "dd/MM/yyyy HH:mm:ss";
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern(DATE_TIME);
+
+    private static final String[] DATE_TIMES = {
+            "01/01/2024 00:00:00", "31/12/2023 23:59:59", "29/02/2024 12:30:15", "31/01/2023 08:00:00",
+            "01/01/1970 00:00:00", "31/12/1969 23:59:59", "15/06/0001 06:06:06", "31/12/9999 23:59:59",
+            "31/03/2024 02:30:00", "27/10/2024 02:30:00", "10/03/2024 02:30:00", "03/11/2024 01:30:00"};
+
+    private static final String[] DATES = {
+            "31/01/2024", "29/02/2024", "28/02/2023", "31/03/2024", "30/11/2023", "31/12/2023", "01/01/0001",
+            "31/12/9999", "32/01/2024", "29/02/2023", "not a date", ""};
+
+    /** Zone pairs around the 2024 transitions: the gap and overlap of each zone are in DATE_TIMES. */
+    private static final String[][] ZONES = {
+            {"UTC", "Asia/Tokyo"}, {"Europe/Berlin", "UTC"}, {"America/New_York", "Europe/Berlin"},
+            {"Asia/Kolkata", "America/New_York"}, {"Europe/Berlin", "Europe/Berlin"}};
+
+    @Test
+    void addSecondsMatchesLocalDateTime() {
+        long[] amounts = {0, 1, -1, 59, 3600, -3600 * 25, 86399, 86400 * 400L, -86400 * 400L, 86400L * 366 * 3000};
+        for (long amount : amounts) {
+            DateTransformer transformer = DateTransformer.builder().parse(DATE_TIME).addSeconds(amount).format(DATE_TIME).build();
+            for (String text : DATE_TIMES) {
+                LocalDateTime expected = LocalDateTime.parse(text, DATE_TIME_FORMAT).plusSeconds(amount);
+                assertEquals(expected.format(DATE_TIME_FORMAT), transformer.apply(text), text + " + " + amount + "s");
+            }
+        }
+    }
+
+    @Test
+    void addDaysMatchesDateTransformation() {
+        for (long days : new long[]{0, 1, -1, 31, -366, 36525}) {
+            DateTransformer transformer = DateTransformer.builder().parse("dd/MM/yyyy").addDays(days).format("yyyy-MM-dd").build();
+            for (String text : DATES) {
+                String expected = DateTransformation.addDays(text, "dd/MM/yyyy", days, "yyyy-MM-dd");
+                assertEquals(expected, transformer.apply(text), text + " + " + days + "d");
+            }
+        }
+    }
+
+    @Test
+    void addMonthsAndYearsMatchDateTransformation() {
+        for (long months : new long[]{0, 1, -1, 11, 12, 13, -13, 24, 1200}) {
+            DateTransformer transformer = DateTransformer.builder().parse("dd/MM/yyyy").addMonths(months).format("yyyy-MM-dd").build();
+            for (String text : DATES) {
+                String expected = DateTransformation.addMonths(text, "dd/MM/yyyy", months, "yyyy-MM-dd");
+                assertEquals(expected, transformer.apply(text), text + " + " + months + "m");
+            }
+        }
+        for (long years : new long[]{1, -1, 4, 100}) {
+            DateTransformer transformer = DateTransformer.builder().parse("dd/MM/yyyy").addYears(years).format("yyyy-MM-dd").build();
+            for (String text : DATES) {
+                String expected = DateTransformation.addYears(text, "dd/MM/yyyy", years, "yyyy-MM-dd");
+                assertEquals(expected, transformer.apply(text), text + " + " + years + "y");
+            }
+        }
+    }
+
+    @Test
+    void addMonthsKeepsTheTimeOfDay() {
+        DateTransformer transformer = DateTransformer.builder().parse(DATE_TIME).addMonths(1).format(DATE_TIME).build();
+        for (String text : DATE_TIMES) {
+            LocalDateTime expected = LocalDateTime.parse(text, DATE_TIME_FORMAT).plusMonths(1);
+            assertEquals(expected.format(DATE_TIME_FORMAT), transformer.apply(text), text);
+        }
+    }
+
+    @Test
+    void convertZoneMatchesDateTransformationIncludingGapsAndOverlaps() {
+        String[] outputs = {"yyyy-MM-dd HH:mm:ss", "d MMM yyyy HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ssXXX'['VV']'"};
+        for (String[] zones : ZONES) {
+            for (String output : outputs) {
+                DateTransformer transformer = DateTransformer.builder().parse(DATE_TIME).convertZone(zones[0], zones[1]).format(output).build();
+                for (String text : DATE_TIMES) {
+                    String expected = DateTransformation.convertTimeZone(text, zones[0], zones[1], DATE_TIME, output);
+                    assertEquals(expected, transformer.apply(text), text + " " + zones[0] + " -> " + zones[1] + " as " + output);
+                }
+            }
+        }
+    }
+
+    @Test
+    void chainedConversionsKeepTheInstant() {
+        // Through a zone with an overlap, the second step must reuse the offset the first one chose
+        for (String[] zones : ZONES) {
+            DateTransformer chained = DateTransformer.builder().parse(DATE_TIME).zone(zones[0])
+                    .convertZone("Europe/Berlin").convertZone("America/New_York").convertZone(zones[1])
+                    .format("yyyy-MM-dd'T'HH:mm:ssXXX").build();
+            for (String text : DATE_TIMES) {
+                String expected = DateTransformation.convertTimeZone(text, zones[0], zones[1], DATE_TIME, "yyyy-MM-dd'T'HH:mm:ssXXX");
+                assertEquals(expected, chained.apply(text), text + " " + zones[0] + " -> " + zones[1]);
+            }
+        }
+    }
+
+    @Test
+    void outputZoneFieldsUseTheLastZone() {
+        DateTransformer transformer = DateTransformer.builder().parse(DATE_TIME).zone("Europe/Berlin").addHours(1)
+                .format("yyyy-MM-dd HH:mm:ss VV").build();
+        assertEquals("2024-06-01 13:00:00 Europe/Berlin", transformer.apply("01/06/2024 12:00:00"));
+        // Overlap: the earlier offset, as ZonedDateTime.of resolves it
+        assertEquals("2024-10-27T02:30:00+02:00",
+                DateTransformer.builder().parse(DATE_TIME).zone("Europe/Berlin").format("yyyy-MM-dd'T'HH:mm:ssXXX").build()
+                        .apply("27/10/2024 02:30:00"));
+    }
+
+    @Test
+    void resultsOutsideTheSupportedRangeFail() {
+        String last = "31/12/+999999999 23:59:59";
+        String first = "01/01/-999999999 00:00:00";
+        String pattern = "dd/MM/uuuu HH:mm:ss";
+        assertEquals("+999999999-12-31 23:59:59", DateTransformer.builder().parse(pattern).format("uuuu-MM-dd HH:mm:ss").build().apply(last));
+
+        DateTransformer[] overflowing = {
+                DateTransformer.builder().parse(pattern).addSeconds(1).format(pattern).build(),
+                DateTransformer.builder().parse(pattern).addDays(1).format(pattern).build(),
+                DateTransformer.builder().parse(pattern).addMonths(1).format(pattern).build(),
+                DateTransformer.builder().parse(pattern).addYears(1).format(pattern).build(),
+                DateTransformer.builder().parse(pattern).convertZone("UTC", "Asia/Tokyo").format(pattern).build()};
+        for (DateTransformer transformer : overflowing) {
+            StringBuilder out = new StringBuilder("kept");
+            assertFalse(transformer.applyTo(last, out));
+            assertEquals("kept", out.toString());
+            assertEquals("Invalid date format", transformer.apply(last));
+        }
+        DateTransformer[] underflowing = {
+                DateTransformer.builder().parse(pattern).addSeconds(-1).format(pattern).build(),
+                DateTransformer.builder().parse(pattern).addMonths(-1).format(pattern).build(),
+                DateTransformer.builder().parse(pattern).convertZone("UTC", "America/New_York").format(pattern).build()};
+        for (DateTransformer transformer : underflowing) {
+            assertEquals("Invalid date format", transformer.apply(first));
+        }
+        // Out of range part way through, back in range at the end, still fails
+        assertEquals("Invalid date format",
+                DateTransformer.builder().parse(pattern).addDays(1).addDays(-1).format(pattern).build().apply(last));
+    }
+
+    @Test
+    void fixedWidthAndFormatterOutputsAgree() {
+        assertNotNull(FormatterCache.pattern("yyyy-MM-dd'T'HH:mm:ss").fixedWidth());
+        assertNull(FormatterCache.pattern("d MMM yyyy, HH:mm:ss").fixedWidth());
+        for (String output : new String[]{"yyyy-MM-dd'T'HH:mm:ss", "d MMM yyyy, HH:mm:ss", "ddMMyyyy", "HH:mm"}) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(output);
+            for (long days : new long[]{0, 1}) {
+                DateTransformer transformer = DateTransformer.builder().parse(DATE_TIME).addDays(days).format(output).build();
+                for (String text : DATE_TIMES) {
+                    // 9999-12-31 plus one day is past what the fixed-width path prints and goes to the formatter
+                    String expected = LocalDateTime.parse(text, DATE_TIME_FORMAT).plusDays(days).format(formatter);
+                    assertEquals(expected, transformer.apply(text), text + " + " + days + "d as " + output);
+                }
+            }
+        }
+    }
+
+    @Test
+    void invalidInputFails() {
+        DateTransformer transformer = DateTransformer.builder().parse(DATE_TIME).addDays(1).format(DATE_TIME).build();
+        for (String text : new String[]{"", "x", "32/01/2024 00:00:00", "01/01/2024 24:00:01", "01/01/2024", "01/01/2024 00:00:00 "}) {
+            assertEquals("Invalid date format", transformer.apply(text), text);
+        }
+    }
+
+    @Test
+    void builderChecksItsState() {
+        assertThrows(IllegalStateException.class, () -> DateTransformer.builder().parse(DATE_TIME).convertZone("UTC"));
+        assertThrows(IllegalStateException.class, () -> DateTransformer.builder().format(DATE_TIME).build());
+        assertThrows(IllegalStateException.class, () -> DateTransformer.builder().parse(DATE_TIME).build());
+        assertThrows(IllegalStateException.class, () -> DateTransformer.builder().parse(DATE_TIME).format("yyyy-MM-dd HH:mm VV").build());
+        assertThrows(IllegalStateException.class, () -> DateTransformer.builder().parse(DATE_TIME).format("yyyy-MM-dd HH:mmXXX").build());
+        // A zone from either zone(...) or a conversion allows zone fields
+        DateTransformer.builder().parse(DATE_TIME).zone("UTC").format("yyyy-MM-dd HH:mm VV").build();
+        DateTransformer.builder().parse(DATE_TIME).convertZone("UTC", "Asia/Tokyo").format("yyyy-MM-dd HH:mm VV").build();
+        assertEquals("2024-01-01 09:00", DateTransformer.builder().parse(DATE_TIME).zone("UTC").convertZone("Asia/Tokyo")
+                .format("yyyy-MM-dd HH:mm").build().apply("01/01/2024 00:00:00"));
+
+        assertThrows(IllegalArgumentException.class, () -> DateTransformer.builder().parse("HH:mm"));
+        assertThrows(IllegalArgumentException.class, () -> DateTransformer.builder().addMonths(Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> DateTransformer.builder().addYears(Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> DateTransformer.builder().addDays(Long.MAX_VALUE / 86400));
+        assertThrows(IllegalArgumentException.class, () -> DateTransformer.builder().addSeconds(Long.MIN_VALUE));
+    }
+}
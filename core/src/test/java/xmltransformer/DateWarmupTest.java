@@ -0,0 +1,67 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DateWarmupTest {
+
+    private static final List<String> PATTERNS = Arrays.asList("yyyy-MM-dd", "HH:mm", "yyyy-MM-dd HH:mm:ss", "'literal'");
+    private static final List<String> ZONES = Arrays.asList("UTC", "Europe/Berlin", "+05:30");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void preinitializeCountsPatternsAndZones() {
+        assertEquals(7, DateWarmup.preinitialize(PATTERNS, ZONES));
+        assertEquals(0, DateWarmup.preinitialize(Collections.emptyList(), Collections.emptyList()));
+    }
+
+    @Test
+    void warmupCountsItsCalls() {
+        // Per round: a date pattern makes 5 calls, a time pattern 2, a date-time pattern 3 plus a
+        // zone conversion when zones are given, and a pattern without fields none
+        assertEquals(11L * 50, DateWarmup.warmup(PATTERNS, ZONES, 50));
+        assertEquals(10L * 50, DateWarmup.warmup(PATTERNS, Collections.emptyList(), 50));
+        assertEquals(0, DateWarmup.warmup(PATTERNS, ZONES, 0));
+        assertEquals(0, DateWarmup.warmup(Collections.emptyList(), ZONES, 50));
+    }
+
+    @Test
+    void aBadPatternOrZoneFailsAtStartup() {
+        List<String> badPattern = Arrays.asList("yyyy-MM-dd", "yyyy-MM-dd{");
+        List<String> badZones = Arrays.asList("UTC", "Mars/Olympus");
+        assertThrows(IllegalArgumentException.class, () -> DateWarmup.preinitialize(badPattern, ZONES));
+        assertThrows(IllegalArgumentException.class, () -> DateWarmup.warmup(badPattern, ZONES, 1));
+        assertThrows(DateTimeException.class, () -> DateWarmup.preinitialize(PATTERNS, badZones));
+        assertThrows(DateTimeException.class, () -> DateWarmup.warmup(PATTERNS, badZones, 1));
+        assertThrows(DateTimeException.class, () -> DateWarmup.preinitialize(PATTERNS, Collections.singletonList("not a zone")));
+    }
+
+    @Test
+    void loadClassListSkipsCommentsAttributesAndUnknownClasses() throws IOException {
+        Path classList = directory.resolve("classes.lst");
+        Files.write(classList, Arrays.asList(
+                "# A class list",
+                "@version 17",
+                "",
+                "java/lang/String",
+                "xmltransformer/DateTransformation id: 42",
+                "  xmltransformer/EpochCalendar  ",
+                "xmltransformer/NoSuchClass",
+                "@lambda-proxy xmltransformer/DateTransformation run",
+                "no.such.Package"), StandardCharsets.UTF_8);
+        assertEquals(3, DateWarmup.loadClassList(classList));
+    }
+}
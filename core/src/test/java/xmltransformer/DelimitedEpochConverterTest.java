@@ -0,0 +1,68 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DelimitedEpochConverterTest {
+
+    private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+
+    @TempDir
+    Path directory;
+
+    /** "0\n" becomes 20 bytes, far beyond the 1.5 times the input that a chunk buffer starts with. */
+    @Test
+    void shortTimestampsGrowTheChunkBuffers() throws IOException {
+        StringBuilder input = new StringBuilder("epoch\n");
+        List<String> expected = new ArrayList<>();
+        expected.add("epoch");
+        for (int i = 0; i < 5000; i++) {
+            String value = Integer.toString(i % 10);
+            input.append(value).append('\n');
+            expected.add(DateTransformation.transformUnix(i % 10, PATTERN));
+        }
+        // Many waves of small chunks, each reusing the buffers the previous wave grew
+        assertEquals(5000, convert(input.toString(), 0, ',', 256, expected));
+        assertEquals(5000, convert(input.toString(), 0, ',', 1024, expected));
+    }
+
+    @Test
+    void convertsOneColumnAndCopiesTheRest() throws IOException {
+        String input = "id;when;note\r\n1;1705326330;a\r\n2;-5;b\r\n3\r\n\r\n4;12x;c\r\n5;999999999999;d";
+        List<String> expected = List.of("id;when;note",
+                "1;" + DateTransformation.transformUnix(1705326330, PATTERN) + ";a",
+                "2;Invalid Unix timestamp;b", "3", "", "4;Invalid Unix timestamp;c",
+                "5;" + DateTransformation.transformUnix(999999999999L, PATTERN) + ";d");
+        assertEquals(2, convert(input, 1, ';', 8, expected));
+    }
+
+    private long convert(String input, int column, char delimiter, int chunkSize, List<String> expected) throws IOException {
+        Path in = directory.resolve("in.csv");
+        Path out = directory.resolve("out.csv");
+        Files.write(in, input.getBytes(StandardCharsets.US_ASCII));
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            long converted = new DelimitedEpochConverter(column, delimiter, true, PATTERN, ZoneId.systemDefault(), chunkSize, pool)
+                    .convert(in, out);
+            String[] lines = new String(Files.readAllBytes(out), StandardCharsets.US_ASCII).split("\r?\n", -1);
+            List<String> actual = new ArrayList<>(List.of(lines));
+            if (input.endsWith("\n")) {
+                assertEquals("", actual.remove(actual.size() - 1));
+            }
+            assertEquals(expected, actual);
+            return converted;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
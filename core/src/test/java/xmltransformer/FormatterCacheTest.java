@@ -0,0 +1,36 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class FormatterCacheTest {
+
+    @Test
+    void nonThrowingLookupCountsOneMissThenHits() {
+        String pattern = "yyyy-MM-dd'" + System.nanoTime() + "'";
+        CacheStats before = FormatterCache.stats();
+        assertNotNull(FormatterCache.tryPattern(pattern));
+        CacheStats afterMiss = FormatterCache.stats();
+        assertEquals(before.misses() + 1, afterMiss.misses());
+        assertEquals(before.hits(), afterMiss.hits());
+
+        assertNotNull(FormatterCache.tryPattern(pattern));
+        CacheStats afterHit = FormatterCache.stats();
+        assertEquals(afterMiss.misses(), afterHit.misses());
+        assertEquals(afterMiss.hits() + 1, afterHit.hits());
+    }
+
+    @Test
+    void invalidPatternsAreRememberedWithoutTouchingTheCache() {
+        assertNull(FormatterCache.tryPattern("yyyy-MM-dd'"));
+        CacheStats before = FormatterCache.stats();
+        assertNull(FormatterCache.tryPattern("yyyy-MM-dd'"));
+        assertNull(FormatterCache.tryPattern(null));
+        CacheStats after = FormatterCache.stats();
+        assertEquals(before.misses(), after.misses());
+        assertEquals(before.hits(), after.hits());
+    }
+}
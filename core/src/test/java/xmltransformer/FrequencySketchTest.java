@@ -0,0 +1,62 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsUpToFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1 << 16);
+        for (int count = 1; count <= 40; count++) {
+            sketch.increment(42);
+            assertEquals(Math.min(count, 15), sketch.frequency(42));
+        }
+        assertEquals(0, sketch.frequency(43));
+    }
+
+    @Test
+    void halvesEveryCounterAfterTheSample() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment(-1);
+        }
+        assertEquals(15, sketch.frequency(-1));
+        // 160 additions per 16 expected entries; the halving must come by then
+        for (int hash = 0; hash < 200 && sketch.frequency(-1) == 15; hash++) {
+            sketch.increment(hash);
+        }
+        assertEquals(7, sketch.frequency(-1));
+    }
+
+    @Test
+    void concurrentIncrementsNeverCarryIntoANeighbour() throws InterruptedException {
+        // Large enough that nothing is halved and unrelated hashes share no counters
+        FrequencySketch sketch = new FrequencySketch(1 << 20);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    sketch.increment(i & 3);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int hash = 0; hash < 4; hash++) {
+            assertEquals(15, sketch.frequency(hash));
+        }
+        int nonZero = 0;
+        for (int hash = 4; hash < 100_000; hash++) {
+            nonZero += sketch.frequency(hash) > 0 ? 1 : 0;
+        }
+        assertTrue(nonZero == 0, nonZero + " counters were carried into");
+    }
+}
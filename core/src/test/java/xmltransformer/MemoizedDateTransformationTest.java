@@ -0,0 +1,114 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MemoizedDateTransformationTest {
+
+    private static final String[] DATES = {
+            "2024-01-15", "2024-02-29", "2023-02-29", "2024-12-30", "2021-01-03", "1969-12-31", "x", "", "2024-13-01"};
+
+    @Test
+    void matchesTheUnmemoizedMethods() {
+        MemoizedDateTransformation memoized = new MemoizedDateTransformation(4);
+        for (int round = 0; round < 3; round++) {
+            for (String date : DATES) {
+                assertEquals(DateTransformation.transformDate(date, "yyyy-MM-dd", "dd/MM/yyyy"),
+                        memoized.transformDate(date, "yyyy-MM-dd", "dd/MM/yyyy"), date);
+                assertEquals(DateTransformation.getDayOfWeek(date, "yyyy-MM-dd"), memoized.getDayOfWeek(date, "yyyy-MM-dd"), date);
+                assertEquals(DateTransformation.getQuarterOfYear(date, "yyyy-MM-dd"), memoized.getQuarterOfYear(date, "yyyy-MM-dd"), date);
+                assertEquals(DateTransformation.getWeekNumber(date, "yyyy-MM-dd"), memoized.getWeekNumber(date, "yyyy-MM-dd"), date);
+                String dateTime = date + " 02:30";
+                assertEquals(DateTransformation.convertTimeZone(dateTime, "Europe/Berlin", "UTC", "yyyy-MM-dd HH:mm", "yyyy-MM-dd'T'HH:mm"),
+                        memoized.convertTimeZone(dateTime, "Europe/Berlin", "UTC", "yyyy-MM-dd HH:mm", "yyyy-MM-dd'T'HH:mm"), dateTime);
+            }
+        }
+        // The patterns and zones are part of the key
+        assertEquals("15/01/2024", memoized.transformDate("2024-01-15", "yyyy-MM-dd", "dd/MM/yyyy"));
+        assertEquals("2024/01/15", memoized.transformDate("2024-01-15", "yyyy-MM-dd", "yyyy/MM/dd"));
+        assertEquals(DateTransformation.convertTimeZone("2024-01-15 12:00", "UTC", "Asia/Tokyo", "yyyy-MM-dd HH:mm", "HH:mm"),
+                memoized.convertTimeZone("2024-01-15 12:00", "UTC", "Asia/Tokyo", "yyyy-MM-dd HH:mm", "HH:mm"));
+        assertEquals("Invalid date format or timezone",
+                memoized.convertTimeZone("2024-01-15 12:00", "UTC", "Nowhere/Else", "yyyy-MM-dd HH:mm", "HH:mm"));
+    }
+
+    @Test
+    void oneOffValuesDoNotEvictHotOnes() {
+        MemoizedDateTransformation memoized = new MemoizedDateTransformation(16);
+        String[] hot = new String[16];
+        for (int i = 0; i < hot.length; i++) {
+            hot[i] = String.format("2024-01-%02d", i + 1);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (String date : hot) {
+                memoized.transformDate(date, "yyyy-MM-dd", "dd/MM/yyyy");
+            }
+        }
+        // As many one-off values as hot calls, each seen once. Without admission every one-off
+        // would replace a hot entry; with it only a one-off whose sketch counters all collide with
+        // hot keys gets in
+        int day = 0;
+        long hotHits = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < hot.length; i++) {
+                memoized.transformDate(LocalDate.ofEpochDay(20_000 + day++).toString(), "yyyy-MM-dd", "dd/MM/yyyy");
+            }
+            long before = memoized.stats().get("transformDate").hits();
+            for (String date : hot) {
+                memoized.transformDate(date, "yyyy-MM-dd", "dd/MM/yyyy");
+            }
+            hotHits += memoized.stats().get("transformDate").hits() - before;
+        }
+        assertTrue(hotHits >= 0.95 * 100 * hot.length, "hot hits " + hotHits);
+        assertEquals(16, memoized.stats().get("transformDate").size());
+    }
+
+    @Test
+    void keepsStatsPerFunction() {
+        MemoizedDateTransformation memoized = new MemoizedDateTransformation(8);
+        Map<String, CacheStats> stats = memoized.stats();
+        assertEquals(Arrays.asList("transformDate", "getDayOfWeek", "getQuarterOfYear", "getWeekNumber", "convertTimeZone"),
+                Arrays.asList(stats.keySet().toArray()));
+        assertThrows(UnsupportedOperationException.class, () -> stats.clear());
+
+        memoized.getDayOfWeek("2024-01-15", "yyyy-MM-dd");
+        memoized.getDayOfWeek("2024-01-15", "yyyy-MM-dd");
+        memoized.getDayOfWeek("2024-01-16", "yyyy-MM-dd");
+        memoized.getWeekNumber("2024-01-15", "yyyy-MM-dd");
+
+        CacheStats dayOfWeek = memoized.stats().get("getDayOfWeek");
+        assertEquals(1, dayOfWeek.hits());
+        assertEquals(2, dayOfWeek.misses());
+        assertEquals(2, dayOfWeek.size());
+        assertEquals(8, dayOfWeek.capacity());
+        CacheStats weekNumber = memoized.stats().get("getWeekNumber");
+        assertEquals(0, weekNumber.hits());
+        assertEquals(1, weekNumber.misses());
+        for (String name : new String[]{"transformDate", "getQuarterOfYear", "convertTimeZone"}) {
+            assertEquals(0, memoized.stats().get(name).hits() + memoized.stats().get(name).misses(), name);
+        }
+    }
+
+    @Test
+    void clearDropsEntriesAndKeepsCounters() {
+        MemoizedDateTransformation memoized = new MemoizedDateTransformation(8);
+        memoized.transformDate("2024-01-15", "yyyy-MM-dd", "dd/MM/yyyy");
+        memoized.transformDate("2024-01-15", "yyyy-MM-dd", "dd/MM/yyyy");
+        memoized.getQuarterOfYear("2024-01-15", "yyyy-MM-dd");
+        memoized.clear();
+
+        for (CacheStats stats : memoized.stats().values()) {
+            assertEquals(0, stats.size());
+        }
+        assertEquals(1, memoized.stats().get("transformDate").hits());
+        assertEquals("15/01/2024", memoized.transformDate("2024-01-15", "yyyy-MM-dd", "dd/MM/yyyy"));
+        assertEquals(2, memoized.stats().get("transformDate").misses());
+        assertEquals(1, memoized.stats().get("transformDate").size());
+    }
+}
@@ -0,0 +1,56 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class MultiPatternParserTest {
+
+    @Test
+    void learnedOrderKeepsTheDeclaredPreferenceBetweenAmbiguousPatterns() {
+        MultiPatternParser parser = new MultiPatternParser("dd/MM/yyyy", "MM/dd/yyyy");
+        for (int i = 0; i < 64; i++) {
+            assertEquals(LocalDate.of(2024, 1, 15), parser.parseDate("01/15/2024", "feed"));
+        }
+        assertEquals(LocalDate.of(2024, 2, 1), parser.parseDate("01/02/2024", "feed"));
+        assertArrayEquals(new String[]{"dd/MM/yyyy", "MM/dd/yyyy"}, parser.order("feed"));
+    }
+
+    @Test
+    void disjointShapesFollowTheTraffic() {
+        MultiPatternParser parser = new MultiPatternParser("yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy", "yyyyMMdd");
+        for (int i = 0; i < 64; i++) {
+            assertEquals("20240115", parser.transformDate("20240115", "feed", "yyyyMMdd"));
+        }
+        // The slash class moves as a whole and keeps its declared order
+        for (int i = 0; i < 128; i++) {
+            parser.parseDate("01/15/2024", "other");
+        }
+        assertArrayEquals(new String[]{"yyyyMMdd", "yyyy-MM-dd", "dd/MM/yyyy", "MM/dd/yyyy"}, parser.order("feed"));
+        assertArrayEquals(new String[]{"dd/MM/yyyy", "MM/dd/yyyy", "yyyy-MM-dd", "yyyyMMdd"}, parser.order("other"));
+        assertEquals(LocalDate.of(2024, 2, 1), parser.parseDate("01/02/2024", "other"));
+        assertEquals("MM/dd/yyyy", parser.patternOf("01/15/2024", "other"));
+    }
+
+    @Test
+    void overlappingShapesStayInOneClass() {
+        // d/M/yyyy overlaps both others by separators, so all three keep their declared order
+        MultiPatternParser parser = new MultiPatternParser("d/M/yyyy", "MM/dd/yyyy", "dd/MM/yyyy");
+        for (int i = 0; i < 128; i++) {
+            parser.parseDate("01/15/2024", null);
+        }
+        assertArrayEquals(new String[]{"d/M/yyyy", "MM/dd/yyyy", "dd/MM/yyyy"}, parser.order(null));
+        assertEquals(LocalDate.of(2024, 2, 1), parser.parseDate("01/02/2024", null));
+    }
+
+    @Test
+    void unmatchedTextGivesNull() {
+        MultiPatternParser parser = new MultiPatternParser("yyyy-MM-dd", "dd/MM/yyyy");
+        assertNull(parser.parseDate("2024/01/15", "feed"));
+        assertNull(parser.parseDate(null, "feed"));
+        assertEquals("Invalid date format", parser.transformDate("32/01/2024", "feed", "yyyy-MM-dd"));
+    }
+}
@@ -0,0 +1,134 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that splitting a batch across a pool gives exactly the sequential result, for sizes
+ * well above the threshold and not multiples of 64, and that small batches stay on the caller.
+ */
+class ParallelDateBatchTest {
+
+    /** Sizes around and between the 64-element split points, up to many slices of the smallest threshold. */
+    private static final int[] SIZES = {65, 127, 129, 1000, 4097, 10_007, 50_001};
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ParallelDateBatch parallel = new ParallelDateBatch(pool, 64);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void transformDateMatchesTheSequentialBatch() {
+        for (int size : SIZES) {
+            String[] inputs = inputs("dd/MM/yyyy", size);
+            assertSame(DateTransformation.transformDate(inputs, "dd/MM/yyyy", "yyyy-MM-dd"),
+                    parallel.transformDate(inputs, "dd/MM/yyyy", "yyyy-MM-dd"), size);
+            assertSame(DateTransformation.transformDate(inputs, "dd/MM/yyyy", "EEEE d MMMM uuuu"),
+                    parallel.transformDate(inputs, "dd/MM/yyyy", "EEEE d MMMM uuuu"), size);
+        }
+    }
+
+    @Test
+    void addDaysMatchesTheSequentialBatch() {
+        for (int size : SIZES) {
+            String[] inputs = inputs("yyyy-MM-dd", size);
+            assertSame(DateTransformation.addDays(inputs, "yyyy-MM-dd", -400, "dd.MM.yyyy"),
+                    parallel.addDays(inputs, "yyyy-MM-dd", -400, "dd.MM.yyyy"), size);
+        }
+    }
+
+    @Test
+    void convertTimeZoneMatchesTheSequentialBatch() {
+        for (int size : SIZES) {
+            String[] inputs = inputs("yyyy-MM-dd HH:mm:ss", size);
+            assertSame(DateTransformation.convertTimeZone(inputs, "Europe/Berlin", "America/New_York", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm"),
+                    parallel.convertTimeZone(inputs, "Europe/Berlin", "America/New_York", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm"), size);
+            BatchResult failed = parallel.convertTimeZone(inputs, "Mars/Olympus", "UTC", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm");
+            assertSame(DateTransformation.convertTimeZone(inputs, "Mars/Olympus", "UTC", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm"), failed, size);
+            assertEquals(size, failed.errorCount());
+        }
+    }
+
+    @Test
+    void getDaysBetweenMatchesTheSequentialBatch() {
+        for (int size : SIZES) {
+            String[] starts = inputs("yyyyMMdd", size);
+            String[] ends = new String[size];
+            for (int i = 0; i < size; i++) {
+                ends[i] = starts[(i * 31 + 7) % size];
+            }
+            LongBatchResult expected = DateTransformation.getDaysBetween(starts, ends, "yyyyMMdd");
+            LongBatchResult actual = parallel.getDaysBetween(starts, ends, "yyyyMMdd");
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected.errorCount(), actual.errorCount());
+            assertArrayEquals(expected.errors().toLongArray(), actual.errors().toLongArray(), "errors of " + size);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.isError(i), actual.isError(i), "element " + i + " of " + size);
+                if (!expected.isError(i)) {
+                    assertEquals(expected.get(i), actual.get(i), "element " + i + " of " + size);
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> parallel.getDaysBetween(new String[100], new String[99], "yyyyMMdd"));
+    }
+
+    @Test
+    void theCommonRunnerMatchesTheSequentialBatch() {
+        int size = ParallelDateBatch.DEFAULT_THRESHOLD * 3 + 37;
+        String[] inputs = inputs("dd/MM/yyyy", size);
+        assertSame(DateTransformation.transformDate(inputs, "dd/MM/yyyy", "yyyy-MM-dd"),
+                ParallelDateBatch.common().transformDate(inputs, "dd/MM/yyyy", "yyyy-MM-dd"), size);
+    }
+
+    @Test
+    void batchesUpToTheThresholdRunOnTheCaller() {
+        // A pool that rejects every task shows that no work was submitted
+        ForkJoinPool closed = new ForkJoinPool(1);
+        closed.shutdown();
+        ParallelDateBatch runner = new ParallelDateBatch(closed, 256);
+        for (int size : new int[]{0, 1, 63, 64, 65, 255, 256}) {
+            String[] inputs = inputs("dd/MM/yyyy", size);
+            assertSame(DateTransformation.transformDate(inputs, "dd/MM/yyyy", "yyyy-MM-dd"),
+                    runner.transformDate(inputs, "dd/MM/yyyy", "yyyy-MM-dd"), size);
+        }
+        String[] larger = inputs("dd/MM/yyyy", 257);
+        assertThrows(RejectedExecutionException.class, () -> runner.transformDate(larger, "dd/MM/yyyy", "yyyy-MM-dd"));
+    }
+
+    @Test
+    void rejectsABadPoolOrThreshold() {
+        assertThrows(NullPointerException.class, () -> new ParallelDateBatch(null, 64));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelDateBatch(pool, 63));
+    }
+
+    /**
+     * The baseline inputs for a pattern, valid and invalid, repeated to the size.
+     */
+    private static String[] inputs(String pattern, int size) {
+        List<String> source = DateTransformationBaselineTest.inputsFor(pattern);
+        String[] inputs = new String[size];
+        for (int i = 0; i < size; i++) {
+            inputs[i] = source.get((i * 7) % source.size());
+        }
+        return inputs;
+    }
+
+    private static void assertSame(BatchResult expected, BatchResult actual, int size) {
+        assertEquals(expected.size(), actual.size());
+        assertTrue(size < 64 || expected.errorCount() > 0, "inputs of " + size + " include invalid values");
+        assertEquals(expected.errorCount(), actual.errorCount(), "error count of " + size);
+        assertArrayEquals(expected.errors().toLongArray(), actual.errors().toLongArray(), "errors of " + size);
+        assertArrayEquals(expected.toArray(), actual.toArray(), "values of " + size);
+    }
+}
@@ -0,0 +1,114 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import org.junit.jupiter.api.Test;
+
+class XmlDateRewriterTest {
+
+    private static final DateTransformer UK_TO_ISO = DateTransformer.builder().parse("dd/MM/yyyy").format("yyyy-MM-dd").build();
+
+    private long rewritten;
+
+    @Test
+    void rewritesElementTextAndAttributesOnTheirPathsOnly() throws XMLStreamException {
+        String output = rewrite(rules("/trades/trade/date", "/trades/trade/@settles"),
+                "<trades><trade settles=\"02/04/2024\" other=\"03/04/2024\"><date>01/04/2024</date>"
+                        + "<note>05/04/2024</note></trade><date>06/04/2024</date></trades>");
+        assertEquals("<trades><trade settles=\"2024-04-02\" other=\"03/04/2024\"><date>2024-04-01</date>"
+                + "<note>05/04/2024</note></trade><date>06/04/2024</date></trades>", output);
+        assertEquals(2, rewritten);
+    }
+
+    @Test
+    void matchesNamespacedElementsByLocalName() throws XMLStreamException {
+        String output = rewrite(rules("/doc/d", "/doc/e/@at"),
+                "<doc xmlns=\"urn:default\" xmlns:p=\"urn:p\"><d>01/04/2024</d><p:d>02/04/2024</p:d>"
+                        + "<p:e p:at=\"03/04/2024\"/></doc>");
+        assertEquals("<doc xmlns=\"urn:default\" xmlns:p=\"urn:p\"><d>2024-04-01</d><p:d>2024-04-02</p:d>"
+                + "<p:e p:at=\"2024-04-03\"></p:e></doc>", output);
+        assertEquals(3, rewritten);
+    }
+
+    @Test
+    void rewritesCDataInAMatchedElementAndCopiesItElsewhere() throws XMLStreamException {
+        String output = rewrite(rules("/doc/d"), "<doc><d><![CDATA[01/04/2024]]></d><x><![CDATA[a<b]]></x></doc>");
+        // Readers may report CDATA as plain text, which is then written escaped
+        assertTrue(output.equals("<doc><d>2024-04-01</d><x><![CDATA[a<b]]></x></doc>")
+                || output.equals("<doc><d>2024-04-01</d><x>a&lt;b</x></doc>"), output);
+        assertEquals(1, rewritten);
+    }
+
+    @Test
+    void copiesCommentsAndProcessingInstructions() throws XMLStreamException {
+        String output = rewrite(rules("/doc/d"), "<?xml version=\"1.0\" encoding=\"UTF-8\"?><!-- head --><doc><?app keep?>"
+                + "<d>01/04/2024</d><!-- tail --></doc>");
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?><!-- head --><doc><?app keep?><d>2024-04-01</d><!-- tail --></doc>", output);
+        assertEquals(1, rewritten);
+    }
+
+    @Test
+    void copiesMixedContentInAMatchedElement() throws XMLStreamException {
+        String output = rewrite(rules("/doc/d"), "<doc><d>01/04/2024<b>x</b>tail</d><d>02/<!--c-->04/2024</d><d>03/04/2024</d></doc>");
+        assertEquals("<doc><d>01/04/2024<b>x</b>tail</d><d>02/<!--c-->04/2024</d><d>2024-04-03</d></doc>", output);
+        assertEquals(1, rewritten);
+    }
+
+    @Test
+    void leavesUnparseableValuesUnchanged() throws XMLStreamException {
+        String output = rewrite(rules("/doc/d", "/doc/@at"), "<doc at=\"32/01/2024\"><d> not a date </d><d></d><d>01/04/2024</d></doc>");
+        assertEquals("<doc at=\"32/01/2024\"><d> not a date </d><d></d><d>2024-04-01</d></doc>", output);
+        assertEquals(1, rewritten);
+    }
+
+    @Test
+    void keepsTheWhitespaceAroundARewrittenValue() throws XMLStreamException {
+        String output = rewrite(rules("/doc/d", "/doc/@at"), "<doc at=\" 02/04/2024\"><d>\n  01/04/2024\n</d></doc>");
+        assertEquals("<doc at=\" 2024-04-02\"><d>\n  2024-04-01\n</d></doc>", output);
+        assertEquals(2, rewritten);
+    }
+
+    @Test
+    void declaresTheEncodingItWrites() throws XMLStreamException {
+        // A UTF-16 document with a byte order mark and no declaration
+        byte[] input = "﻿<doc><d>01/04/2024</d></doc>".getBytes(StandardCharsets.UTF_16BE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1, new XmlDateRewriter(rules("/doc/d")).rewrite(new ByteArrayInputStream(input), out));
+        String head = new String(out.toByteArray(), 0, 10, StandardCharsets.ISO_8859_1);
+        Charset written = head.charAt(0) == '<' ? StandardCharsets.UTF_8 : head.charAt(0) == 0 ? StandardCharsets.UTF_16BE : StandardCharsets.UTF_16LE;
+        String output = new String(out.toByteArray(), written);
+        assertTrue(written != StandardCharsets.UTF_8, output);
+        assertTrue(output.startsWith("<?xml version=\"1.0\" encoding=\"UTF-16"), output);
+        assertTrue(output.endsWith("<doc><d>2024-04-01</d></doc>"), output);
+    }
+
+    @Test
+    void rejectsMalformedPaths() {
+        for (String path : new String[]{"doc/d", "/", "/doc//d", "/@at", "/doc/@at/d"}) {
+            assertThrows(IllegalArgumentException.class, () -> new XmlDateRewriter(rules(path)), path);
+        }
+    }
+
+    private static Map<String, DateTransformer> rules(String... paths) {
+        Map<String, DateTransformer> rules = new HashMap<>();
+        for (String path : paths) {
+            rules.put(path, UK_TO_ISO);
+        }
+        return rules;
+    }
+
+    private String rewrite(Map<String, DateTransformer> rules, String xml) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rewritten = new XmlDateRewriter(rules).rewrite(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,63 @@
+package xmltransformer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Test;
+
+class ZoneTransitionIndexTest {
+
+    private static final String[] ZONES = {
+        "Europe/London", "Europe/Berlin", "America/New_York", "America/Sao_Paulo", "Australia/Lord_Howe",
+        "Asia/Kolkata", "Pacific/Apia", "Africa/Casablanca", "UTC", "+05:30",
+    };
+
+    /** The default window is 1900 to 2100; every second-hour around both edges is compared. */
+    @Test
+    void matchesZoneRulesAroundTheWindowEdges() {
+        for (String zoneId : ZONES) {
+            ZoneId zone = ZoneId.of(zoneId);
+            ZoneTransitionIndex index = ZoneTransitionIndex.of(zoneId);
+            for (int edgeYear : new int[]{1900, 2100}) {
+                long edge = LocalDateTime.of(edgeYear, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+                for (long second = edge - 3 * 86_400; second <= edge + 3 * 86_400; second += 1_800) {
+                    assertEquals(zone.getRules().getOffset(Instant.ofEpochSecond(second)).getTotalSeconds(),
+                            index.offsetAt(second), zoneId + " offset at " + second);
+                    LocalDateTime local = LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+                    assertEquals(ZonedDateTime.of(local, zone).toEpochSecond(), index.toEpochSecond(second),
+                            zoneId + " local " + local);
+                }
+            }
+        }
+    }
+
+    @Test
+    void resolvesGapsForwardAndOverlapsToTheEarlierOffset() {
+        ZoneTransitionIndex berlin = ZoneTransitionIndex.of("Europe/Berlin");
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        LocalDateTime[] locals = {
+            LocalDateTime.of(2024, 3, 31, 2, 0), LocalDateTime.of(2024, 3, 31, 2, 30), LocalDateTime.of(2024, 3, 31, 3, 0),
+            LocalDateTime.of(2024, 10, 27, 1, 59), LocalDateTime.of(2024, 10, 27, 2, 0), LocalDateTime.of(2024, 10, 27, 2, 30),
+            LocalDateTime.of(2024, 10, 27, 3, 0),
+        };
+        for (LocalDateTime local : locals) {
+            assertEquals(ZonedDateTime.of(local, zone).toEpochSecond(), berlin.toEpochSecond(local.toEpochSecond(ZoneOffset.UTC)),
+                    local.toString());
+        }
+    }
+
+    @Test
+    void convertsEveryHourOfAYearLikeWithZoneSameInstant() {
+        ZoneTransitionIndex from = ZoneTransitionIndex.of("America/New_York");
+        ZoneTransitionIndex to = ZoneTransitionIndex.of("Australia/Lord_Howe");
+        LocalDateTime local = LocalDateTime.of(2024, 1, 1, 0, 15);
+        for (int hour = 0; hour < 366 * 24; hour++, local = local.plusHours(1)) {
+            LocalDateTime expected = ZonedDateTime.of(local, from.zone()).withZoneSameInstant(to.zone()).toLocalDateTime();
+            assertEquals(expected.toEpochSecond(ZoneOffset.UTC), from.convert(local.toEpochSecond(ZoneOffset.UTC), to), local.toString());
+        }
+    }
+}
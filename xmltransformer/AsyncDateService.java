@@ -0,0 +1,345 @@
+package xmltransformer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * An asynchronous front end to DateTransformation.transformDate for many small requests.
+ *
+ * Requests wait in a bounded queue and are drained by at most {@code concurrency} tasks on the
+ * given executor. Each drain takes up to 256 requests, groups them by pattern pair and resolves
+ * each pair once for the whole group through the batch kernel. A full queue is the backpressure
+ * signal: submit fails fast with RejectedExecutionException, and a subscriber only requests as
+ * many items as its window allows.
+ *
+ * Any Executor works, so on a JDK with virtual threads a virtual-thread-per-task executor can be
+ * passed in; the concurrency limit still bounds how many drains run at once.
+ */
+public final class AsyncDateService {
+
+    /** The most requests one drain processes before looking at the queue again. */
+    private static final int MAX_BATCH = 256;
+
+    private static final String INVALID = "Invalid date format";
+
+    private final Executor executor;
+    private final int concurrency;
+    private final BlockingQueue<Pending> queue;
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * Create a service on the common ForkJoinPool, with one drain per processor and room for 4096 queued requests.
+     */
+    public AsyncDateService() {
+        this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors(), 4096);
+    }
+
+    /**
+     * Create a service.
+     *
+     * @param executor      The executor to run drains on.
+     * @param concurrency   The most drains running at once.
+     * @param queueCapacity The most requests waiting at once.
+     */
+    public AsyncDateService(Executor executor, int concurrency, int queueCapacity) {
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Transform date from one format to another, asynchronously.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format for the transformed date.
+     * @return A future of the transformed date string, or "Invalid date format" if the input format is invalid.
+     *         It fails with IllegalArgumentException for an invalid pattern, and with RejectedExecutionException
+     *         if the queue is full.
+     */
+    public CompletableFuture<String> transformDate(String originalDateString, String originalFormatStr, String desiredFormatStr) {
+        return submit(new DateRequest(originalDateString, originalFormatStr, desiredFormatStr));
+    }
+
+    /**
+     * Submit a request.
+     *
+     * @param request The request.
+     * @return A future of the result, as for {@link #transformDate(String, String, String)}.
+     */
+    public CompletableFuture<String> submit(DateRequest request) {
+        Pending pending = new Pending(request);
+        if (!queue.offer(pending)) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Queue full"));
+            return pending.future;
+        }
+        schedule();
+        return pending.future;
+    }
+
+    /**
+     * Create a subscriber that transforms the requests of a publisher, keeping at most
+     * {@code window} of them outstanding.
+     *
+     * onNext never blocks the publisher: if other callers keep the queue full, the request is
+     * passed to onFailure with a RejectedExecutionException, and another request is asked for.
+     * A window well below the queue capacity keeps rejections to bursts from other callers. An
+     * exception thrown by a callback does not stop the demand.
+     *
+     * @param window    The most requests in flight, at least 1.
+     * @param onResult  Receives each request with its transformed date string or "Invalid date format".
+     * @param onFailure Receives each request that failed, e.g. for an invalid pattern or a full queue.
+     * @return A subscriber for a single publisher.
+     */
+    public DateSubscriber subscriber(int window, BiConsumer<? super DateRequest, ? super String> onResult,
+                                     BiConsumer<? super DateRequest, ? super Throwable> onFailure) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        return new DateSubscriber(window, onResult, onFailure);
+    }
+
+    /**
+     * A subscriber created by {@link #subscriber(int, BiConsumer, BiConsumer)}, with a future that
+     * tells when the stream has ended and every accepted request has been passed to a callback.
+     */
+    public final class DateSubscriber implements Flow.Subscriber<DateRequest> {
+
+        private final int window;
+        private final BiConsumer<? super DateRequest, ? super String> onResult;
+        private final BiConsumer<? super DateRequest, ? super Throwable> onFailure;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        private DateSubscriber(int window, BiConsumer<? super DateRequest, ? super String> onResult,
+                               BiConsumer<? super DateRequest, ? super Throwable> onFailure) {
+            this.window = window;
+            this.onResult = onResult;
+            this.onFailure = onFailure;
+        }
+
+        /**
+         * Get the completion of the stream. It completes once the publisher has called onComplete
+         * and every accepted request has been passed to a callback, or exceptionally with the
+         * error of onError once those requests are done.
+         *
+         * @return The completion future.
+         */
+        public CompletableFuture<Void> completion() {
+            return completion;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription newSubscription) {
+            if (subscription != null) {
+                newSubscription.cancel();
+                return;
+            }
+            subscription = newSubscription;
+            newSubscription.request(window);
+        }
+
+        @Override
+        public void onNext(DateRequest request) {
+            inFlight.incrementAndGet();
+            Pending pending = new Pending(request);
+            if (!queue.offer(pending)) {
+                try {
+                    onFailure.accept(request, new RejectedExecutionException("Queue full"));
+                } finally {
+                    settle();
+                }
+                return;
+            }
+            pending.future.whenComplete((result, failure) -> {
+                try {
+                    if (failure == null) {
+                        onResult.accept(request, result);
+                    } else {
+                        onFailure.accept(request, failure);
+                    }
+                } finally {
+                    settle();
+                }
+            });
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // Requests already accepted still complete through the callbacks
+            error = throwable;
+            finish();
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+        }
+
+        /**
+         * Account for a request passed to a callback, and ask for the next one.
+         */
+        private void settle() {
+            if (!done) {
+                subscription.request(1);
+            }
+            if (inFlight.decrementAndGet() == 0 && done) {
+                complete();
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (inFlight.get() == 0) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            Throwable failure = error;
+            if (failure == null) {
+                completion.complete(null);
+            } else {
+                completion.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * @return The number of requests waiting to be drained.
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    private void schedule() {
+        if (!tryActivate()) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            active.decrementAndGet();
+            List<Pending> orphaned = new ArrayList<>();
+            queue.drainTo(orphaned);
+            for (Pending pending : orphaned) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private boolean tryActivate() {
+        int current;
+        do {
+            current = active.get();
+            if (current >= concurrency) {
+                return false;
+            }
+        } while (!active.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void drain() {
+        List<Pending> drained = new ArrayList<>(MAX_BATCH);
+        for (;;) {
+            queue.drainTo(drained, MAX_BATCH);
+            if (drained.isEmpty()) {
+                active.decrementAndGet();
+                // A submit may have found every drain busy just before this one stopped
+                if (queue.isEmpty() || !tryActivate()) {
+                    return;
+                }
+                continue;
+            }
+            process(drained);
+            drained.clear();
+        }
+    }
+
+    private static void process(List<Pending> drained) {
+        Map<PatternPair, List<Pending>> groups = new LinkedHashMap<>();
+        for (Pending pending : drained) {
+            groups.computeIfAbsent(new PatternPair(pending.request), key -> new ArrayList<>()).add(pending);
+        }
+
+        for (Map.Entry<PatternPair, List<Pending>> group : groups.entrySet()) {
+            List<Pending> members = group.getValue();
+            String[] inputs = new String[members.size()];
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i] = members.get(i).request.value();
+            }
+
+            BatchResult result = new BatchResult(inputs.length);
+            try {
+                DatePattern originalFormat = FormatterCache.pattern(group.getKey().originalFormat);
+                DatePattern desiredFormat = FormatterCache.pattern(group.getKey().desiredFormat);
+                DateBatch.transformDate(inputs, originalFormat, desiredFormat, result, 0, inputs.length);
+            } catch (RuntimeException e) {
+                for (Pending pending : members) {
+                    pending.future.completeExceptionally(e);
+                }
+                continue;
+            }
+            for (int i = 0; i < inputs.length; i++) {
+                members.get(i).future.complete(result.isError(i) ? INVALID : result.get(i));
+            }
+        }
+    }
+
+    private static final class Pending {
+        final DateRequest request;
+        final CompletableFuture<String> future = new CompletableFuture<>();
+
+        Pending(DateRequest request) {
+            this.request = request;
+        }
+    }
+
+    private static final class PatternPair {
+        final String originalFormat;
+        final String desiredFormat;
+
+        PatternPair(DateRequest request) {
+            this.originalFormat = request.originalFormat();
+            this.desiredFormat = request.desiredFormat();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof PatternPair)) {
+                return false;
+            }
+            PatternPair pair = (PatternPair) other;
+            return originalFormat.equals(pair.originalFormat) && desiredFormat.equals(pair.desiredFormat);
+        }
+
+        @Override
+        public int hashCode() {
+            return originalFormat.hashCode() * 31 + desiredFormat.hashCode();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package xmltransformer;
+
+/**
+ * The formatted results of a batch call, with failed elements marked in an error bitmap.
+ */
+public final class BatchResult {
+
+    private final String[] values;
+    private final ErrorBitmap errors;
+
+    BatchResult(int size) {
+        this.values = new String[size];
+        this.errors = new ErrorBitmap(size);
+    }
+
+    /**
+     * Get one result.
+     *
+     * @param index The element index.
+     * @return The formatted value, or null if the element failed.
+     */
+    public String get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Check whether an element failed.
+     *
+     * @param index The element index.
+     * @return True if the element could not be transformed.
+     */
+    public boolean isError(int index) {
+        return errors.isSet(index);
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return The number of failed elements.
+     */
+    public int errorCount() {
+        return errors.cardinality();
+    }
+
+    /**
+     * @return The bitmap of failed elements.
+     */
+    public ErrorBitmap errors() {
+        return errors;
+    }
+
+    /**
+     * @return A copy of the results, with null for failed elements.
+     */
+    public String[] toArray() {
+        return values.clone();
+    }
+
+    void set(int index, String value) {
+        values[index] = value;
+    }
+
+    void fail(int index) {
+        errors.set(index);
+    }
+}
@@ -0,0 +1,219 @@
+package xmltransformer;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A thread-safe, size-bounded cache with CLOCK (second-chance) eviction.
+ *
+ * Lookups are lock-free reads of a ConcurrentHashMap; only inserts take a lock.
+ * An entry that was read since the clock hand last passed it gets a second chance,
+ * which approximates LRU without reordering anything on the read path.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+final class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final ArrayDeque<Node<K, V>> clock;
+    private final int capacity;
+    private final Object lock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache holding at most the given number of entries.
+     *
+     * @param capacity The maximum number of entries, at least 1.
+     */
+    BoundedCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+        this.clock = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Get the value for a key, computing and caching it on a miss.
+     * Exceptions thrown by the loader propagate and nothing is cached.
+     *
+     * @param key    The key.
+     * @param loader The function computing the value on a miss.
+     * @return The cached or newly computed value.
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            hits.increment();
+            return node.value;
+        }
+
+        misses.increment();
+        V value = loader.apply(key);
+        synchronized (lock) {
+            Node<K, V> existing = map.get(key);
+            if (existing != null) {
+                return existing.value;
+            }
+            while (map.size() >= capacity) {
+                evictOne();
+            }
+            Node<K, V> created = new Node<>(key, value);
+            map.put(key, created);
+            clock.addLast(created);
+        }
+        return value;
+    }
+
+    /**
+     * Get the value for a key without loading it.
+     *
+     * @param key The key.
+     * @return The cached value, or null if absent.
+     */
+    V getIfPresent(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hits.increment();
+        return node.value;
+    }
+
+    /**
+     * Insert or replace a value.
+     *
+     * @param key   The key.
+     * @param value The value.
+     */
+    void put(K key, V value) {
+        synchronized (lock) {
+            Node<K, V> existing = map.get(key);
+            if (existing != null) {
+                clock.remove(existing);
+            } else {
+                while (map.size() >= capacity) {
+                    evictOne();
+                }
+            }
+            Node<K, V> created = new Node<>(key, value);
+            map.put(key, created);
+            clock.addLast(created);
+        }
+    }
+
+    /**
+     * Insert a value unless the cache is full and the admission filter prefers to keep the entry
+     * the clock would evict next. A rejected entry leaves the cache unchanged.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @param admit Tests the new key against the key of the eviction victim; true replaces the victim.
+     * @return True if the value was inserted.
+     */
+    boolean putIfAdmitted(K key, V value, BiPredicate<? super K, ? super K> admit) {
+        synchronized (lock) {
+            if (map.containsKey(key)) {
+                return false;
+            }
+            if (map.size() >= capacity) {
+                Node<K, V> victim = nextVictim();
+                if (victim != null && !admit.test(key, victim.key)) {
+                    return false;
+                }
+                while (map.size() >= capacity) {
+                    evictOne();
+                }
+            }
+            Node<K, V> created = new Node<>(key, value);
+            map.put(key, created);
+            clock.addLast(created);
+            return true;
+        }
+    }
+
+    /**
+     * Remove every entry. Counters are kept.
+     */
+    void clear() {
+        synchronized (lock) {
+            map.clear();
+            clock.clear();
+        }
+    }
+
+    /**
+     * Get the number of cached entries.
+     *
+     * @return The current size.
+     */
+    int size() {
+        return map.size();
+    }
+
+    /**
+     * Take a snapshot of the cache counters.
+     *
+     * @return The current statistics.
+     */
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), map.size(), capacity);
+    }
+
+    /**
+     * Advance the clock hand to the entry it would evict, leaving that entry at the head.
+     */
+    private Node<K, V> nextVictim() {
+        for (;;) {
+            Node<K, V> candidate = clock.peekFirst();
+            if (candidate == null || !candidate.referenced) {
+                return candidate;
+            }
+            candidate.referenced = false;
+            clock.addLast(clock.pollFirst());
+        }
+    }
+
+    private void evictOne() {
+        for (;;) {
+            Node<K, V> candidate = clock.pollFirst();
+            if (candidate == null) {
+                return;
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.addLast(candidate);
+            } else {
+                map.remove(candidate.key, candidate);
+                evictions.increment();
+                return;
+            }
+        }
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        volatile boolean referenced;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package xmltransformer;
+
+/**
+ * An immutable snapshot of the counters of one of the package's internal caches.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int capacity;
+
+    CacheStats(long hits, long misses, long evictions, int size, int capacity) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return The number of lookups answered from the cache.
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of lookups that had to compute a value.
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of entries dropped to stay within capacity.
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of entries currently cached.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The maximum number of entries.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The fraction of lookups that were hits, or 0 if there were none.
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", size=" + size + ", capacity=" + capacity + "}";
+    }
+}
@@ -0,0 +1,293 @@
+package xmltransformer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A coarse-grained clock that caches the current instant, local date and time, epoch day and
+ * formatted strings, refreshing them at a fixed resolution.
+ *
+ * By default a snapshot is refreshed lazily: each read compares the millis of the source clock with
+ * the expiry of the current snapshot. After {@link #start()} a daemon thread refreshes the snapshot
+ * instead, and each read is a single volatile read. Either way the values may lag the source clock
+ * by up to one resolution.
+ *
+ * The source clock is injectable, so a fixed or hand-driven clock keeps tests deterministic.
+ * A clock from {@link #systemDefaultZone(Duration)} instead looks up the default time zone at
+ * every refresh, so a later TimeZone.setDefault takes effect within one resolution.
+ */
+public final class CachedClock extends Clock implements AutoCloseable {
+
+    /** The most formatted strings kept per snapshot and kind, bounding unusual pattern churn. */
+    private static final int MAX_FORMATS = 64;
+
+    private final Clock source;
+    private final long resolutionMillis;
+    private final boolean followDefaultZone;
+    private volatile Snapshot snapshot;
+    private volatile Thread ticker;
+
+    /**
+     * Create a cached clock.
+     *
+     * @param source     The clock to read the current instant and zone from.
+     * @param resolution How long a snapshot is served, at least one millisecond.
+     */
+    public CachedClock(Clock source, Duration resolution) {
+        this(source, resolution, false);
+    }
+
+    private CachedClock(Clock source, Duration resolution, boolean followDefaultZone) {
+        if (resolution.toMillis() < 1) {
+            throw new IllegalArgumentException("Resolution must be at least one millisecond: " + resolution);
+        }
+        this.source = source;
+        this.resolutionMillis = resolution.toMillis();
+        this.followDefaultZone = followDefaultZone;
+        this.snapshot = capture(null);
+    }
+
+    /**
+     * Create a cached clock over the system clock in the default time zone, looked up again at every refresh.
+     *
+     * @param resolution How long a snapshot is served, at least one millisecond.
+     * @return The clock.
+     */
+    public static CachedClock systemDefaultZone(Duration resolution) {
+        return new CachedClock(Clock.systemUTC(), resolution, true);
+    }
+
+    /**
+     * Refresh the snapshot from a daemon thread every resolution, so reads no longer consult the source clock.
+     *
+     * @return This clock.
+     */
+    public synchronized CachedClock start() {
+        if (ticker == null) {
+            Thread thread = new Thread(this::tick, "xmltransformer-clock");
+            thread.setDaemon(true);
+            ticker = thread;
+            thread.start();
+        }
+        return this;
+    }
+
+    /**
+     * Stop the refresh thread, if started. Reads then refresh lazily again.
+     */
+    @Override
+    public synchronized void close() {
+        Thread thread = ticker;
+        if (thread != null) {
+            ticker = null;
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Replace the snapshot with the current values of the source clock.
+     */
+    public void refresh() {
+        snapshot = capture(snapshot);
+    }
+
+    /**
+     * @return The resolution of this clock.
+     */
+    public Duration resolution() {
+        return Duration.ofMillis(resolutionMillis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return current().zone.zone();
+    }
+
+    /**
+     * Get a cached clock over the same source in another zone, with the same resolution.
+     * The new clock refreshes lazily and keeps that zone.
+     */
+    @Override
+    public Clock withZone(ZoneId zoneId) {
+        if (!followDefaultZone && zoneId.equals(getZone())) {
+            return this;
+        }
+        return new CachedClock(source.withZone(zoneId), Duration.ofMillis(resolutionMillis));
+    }
+
+    @Override
+    public Instant instant() {
+        return current().instant;
+    }
+
+    @Override
+    public long millis() {
+        return current().millis;
+    }
+
+    /**
+     * @return The current local date in the zone of this clock.
+     */
+    public LocalDate date() {
+        return current().dateTime.toLocalDate();
+    }
+
+    /**
+     * @return The current local date and time in the zone of this clock.
+     */
+    public LocalDateTime dateTime() {
+        return current().dateTime;
+    }
+
+    /**
+     * @return The current local date in the zone of this clock, as a count of days since 1970-01-01.
+     */
+    public long epochDay() {
+        return current().epochDay;
+    }
+
+    /**
+     * Format the current date, reusing the string formatted for the same pattern in this snapshot.
+     *
+     * @param formatStr The desired output format.
+     * @return The current date string in the specified format.
+     */
+    public String formatDate(String formatStr) {
+        Snapshot current = current();
+        String formatted = current.formatted(TemporalKind.DATE, formatStr);
+        if (formatted == null) {
+            formatted = FormatterCache.get(formatStr).format(current.dateTime.toLocalDate());
+            current.store(TemporalKind.DATE, formatStr, formatted);
+        }
+        return formatted;
+    }
+
+    /**
+     * Format the current time, reusing the string formatted for the same pattern in this snapshot.
+     *
+     * @param formatStr The desired output format.
+     * @return The current time string in the specified format.
+     */
+    public String formatTime(String formatStr) {
+        Snapshot current = current();
+        String formatted = current.formatted(TemporalKind.TIME, formatStr);
+        if (formatted == null) {
+            formatted = FormatterCache.get(formatStr).format(current.dateTime.toLocalTime());
+            current.store(TemporalKind.TIME, formatStr, formatted);
+        }
+        return formatted;
+    }
+
+    /**
+     * Format the current date and time, reusing the string formatted for the same pattern in this snapshot.
+     *
+     * @param formatStr The desired output format.
+     * @return The current date and time string in the specified format.
+     */
+    public String formatDateTime(String formatStr) {
+        Snapshot current = current();
+        String formatted = current.formatted(TemporalKind.DATE_TIME, formatStr);
+        if (formatted == null) {
+            formatted = FormatterCache.get(formatStr).format(current.dateTime);
+            current.store(TemporalKind.DATE_TIME, formatStr, formatted);
+        }
+        return formatted;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedClock[" + source + ", " + resolutionMillis + "ms]";
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (ticker == null) {
+            long millis = source.millis();
+            // A source clock moved backwards, as a test clock may be, also invalidates the snapshot
+            if (millis >= current.expiresAt || millis < current.millis) {
+                current = capture(current);
+                snapshot = current;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Take a snapshot, reusing the zone index of the previous one while the zone is unchanged.
+     */
+    private Snapshot capture(Snapshot previous) {
+        ZoneId zoneId = followDefaultZone ? ZoneId.systemDefault() : source.getZone();
+        ZoneTransitionIndex zone = previous != null && previous.zone.zone().equals(zoneId)
+                ? previous.zone
+                : ZoneTransitionIndex.of(zoneId);
+        Instant now = source.instant();
+        long localSecond = zone.toLocalEpochSecond(now.getEpochSecond());
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(localSecond, now.getNano(), ZoneOffset.UTC);
+        return new Snapshot(now, zone, dateTime, Math.floorDiv(localSecond, EpochCalendar.SECONDS_PER_DAY), resolutionMillis);
+    }
+
+    private void tick() {
+        long resolutionNanos = resolutionMillis * 1_000_000L;
+        while (ticker == Thread.currentThread()) {
+            refresh();
+            LockSupport.parkNanos(this, resolutionNanos);
+        }
+    }
+
+    private static final class Snapshot {
+        final Instant instant;
+        final long millis;
+        final long expiresAt;
+        final ZoneTransitionIndex zone;
+        final LocalDateTime dateTime;
+        final long epochDay;
+
+        // Created on the first format of their kind, as most snapshots are never formatted
+        private volatile ConcurrentHashMap<String, String> dates;
+        private volatile ConcurrentHashMap<String, String> times;
+        private volatile ConcurrentHashMap<String, String> dateTimes;
+
+        Snapshot(Instant instant, ZoneTransitionIndex zone, LocalDateTime dateTime, long epochDay, long resolutionMillis) {
+            this.instant = instant;
+            this.millis = instant.toEpochMilli();
+            this.expiresAt = millis + resolutionMillis;
+            this.zone = zone;
+            this.dateTime = dateTime;
+            this.epochDay = epochDay;
+        }
+
+        String formatted(TemporalKind kind, String pattern) {
+            ConcurrentHashMap<String, String> formats = formats(kind);
+            return formats == null ? null : formats.get(pattern);
+        }
+
+        void store(TemporalKind kind, String pattern, String formatted) {
+            ConcurrentHashMap<String, String> formats = formats(kind);
+            if (formats == null) {
+                // A racing first store may replace this map and lose its entry, which only costs a format
+                formats = new ConcurrentHashMap<>();
+                if (kind == TemporalKind.DATE) {
+                    dates = formats;
+                } else if (kind == TemporalKind.TIME) {
+                    times = formats;
+                } else {
+                    dateTimes = formats;
+                }
+            }
+            if (formats.size() < MAX_FORMATS) {
+                formats.putIfAbsent(pattern, formatted);
+            }
+        }
+
+        private ConcurrentHashMap<String, String> formats(TemporalKind kind) {
+            return kind == TemporalKind.DATE ? dates : kind == TemporalKind.TIME ? times : dateTimes;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package xmltransformer;
+
+import java.time.Year;
+import java.time.YearMonth;
+
+/**
+ * Calendar fields precomputed per epoch day, so week, quarter and month-length queries are a
+ * single array read.
+ *
+ * The table covers the years 1900 to 2200 by default, configurable with the system properties
+ * {@code xmltransformer.calendarTable.fromYear} and {@code xmltransformer.calendarTable.toYear}
+ * up to 510 years, and is built on first use. Each day is packed into one int: day of month
+ * (bits 0-4), month (bits 5-8), ISO day of week (bits 9-11), ISO week (bits 12-17), month length
+ * (bits 18-22) and week-based year minus the first year plus one (bits 23-31). About 110,000 days
+ * take 440 KB.
+ *
+ * Outside the table, epoch days fall back to EpochCalendar arithmetic, and years and months to
+ * Year and YearMonth, which also validate them.
+ */
+public final class CalendarTable {
+
+    private static final int FROM_YEAR = Integer.getInteger("xmltransformer.calendarTable.fromYear", 1900);
+    /** The week-based year field holds offsets up to 511, from the year before FROM_YEAR to the one after TO_YEAR. */
+    private static final int TO_YEAR = Math.min(FROM_YEAR + 509,
+            Math.max(FROM_YEAR, Integer.getInteger("xmltransformer.calendarTable.toYear", 2200)));
+
+    private static final long FIRST_DAY = EpochCalendar.epochDay(FROM_YEAR, 1, 1);
+    private static final long LAST_DAY = EpochCalendar.epochDay(TO_YEAR, 12, 31);
+
+    private CalendarTable() {
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The ISO day of the week, from 1 (Monday) to 7 (Sunday).
+     */
+    public static int dayOfWeekOf(long epochDay) {
+        if (epochDay < FIRST_DAY || epochDay > LAST_DAY) {
+            return EpochCalendar.dayOfWeekOf(epochDay);
+        }
+        return (Days.TABLE[(int) (epochDay - FIRST_DAY)] >>> 9) & 0x7;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The quarter of the year, from 1 to 4.
+     */
+    public static int quarterOf(long epochDay) {
+        if (epochDay < FIRST_DAY || epochDay > LAST_DAY) {
+            return EpochCalendar.quarterOf(epochDay);
+        }
+        return (((Days.TABLE[(int) (epochDay - FIRST_DAY)] >>> 5) & 0xF) - 1) / 3 + 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The ISO week of the week-based year, from 1 to 53.
+     */
+    public static int isoWeekOf(long epochDay) {
+        if (epochDay < FIRST_DAY || epochDay > LAST_DAY) {
+            return EpochCalendar.isoWeekOf(epochDay);
+        }
+        return (Days.TABLE[(int) (epochDay - FIRST_DAY)] >>> 12) & 0x3F;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The ISO week-based year.
+     */
+    public static int isoWeekYearOf(long epochDay) {
+        if (epochDay < FIRST_DAY || epochDay > LAST_DAY) {
+            return EpochCalendar.isoWeekYearOf(epochDay);
+        }
+        return (Days.TABLE[(int) (epochDay - FIRST_DAY)] >>> 23) + FROM_YEAR - 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The number of days in the month of the epoch day.
+     */
+    public static int lengthOfMonthOf(long epochDay) {
+        if (epochDay < FIRST_DAY || epochDay > LAST_DAY) {
+            long civil = EpochCalendar.civil(epochDay);
+            return EpochCalendar.lengthOfMonth(civil >> 9, (int) (civil >>> 5) & 0xF);
+        }
+        return (Days.TABLE[(int) (epochDay - FIRST_DAY)] >>> 18) & 0x1F;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The number of days after this one in its month.
+     */
+    public static int daysRemainingInMonth(long epochDay) {
+        if (epochDay < FIRST_DAY || epochDay > LAST_DAY) {
+            return EpochCalendar.daysRemainingInMonth(epochDay);
+        }
+        int packed = Days.TABLE[(int) (epochDay - FIRST_DAY)];
+        return ((packed >>> 18) & 0x1F) - (packed & 0x1F);
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The epoch day of the Monday starting the week.
+     */
+    public static long startOfWeek(long epochDay) {
+        return epochDay - dayOfWeekOf(epochDay) + 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The epoch day of the Sunday ending the week.
+     */
+    public static long endOfWeek(long epochDay) {
+        return epochDay + 7 - dayOfWeekOf(epochDay);
+    }
+
+    /**
+     * @param year The year.
+     * @return True if the year is a leap year.
+     * @throws java.time.DateTimeException if the year is outside the range of Year.
+     */
+    public static boolean isLeapYear(int year) {
+        if (year < FROM_YEAR || year > TO_YEAR) {
+            return Year.of(year).isLeap();
+        }
+        return Months.TABLE[(year - FROM_YEAR) * 12 + 1] == 29;
+    }
+
+    /**
+     * @param year  The year.
+     * @param month The month, from 1 to 12.
+     * @return The number of days in the month.
+     * @throws java.time.DateTimeException if the year or month is out of range.
+     */
+    public static int lengthOfMonth(int year, int month) {
+        if (year < FROM_YEAR || year > TO_YEAR || month < 1 || month > 12) {
+            return YearMonth.of(year, month).lengthOfMonth();
+        }
+        return Months.TABLE[(year - FROM_YEAR) * 12 + month - 1];
+    }
+
+    /**
+     * Holds the day table, so it is only built when first read.
+     */
+    private static final class Days {
+
+        static final int[] TABLE = build();
+
+        private static int[] build() {
+            int[] table = new int[(int) (LAST_DAY - FIRST_DAY + 1)];
+            for (int i = 0; i < table.length; i++) {
+                long epochDay = FIRST_DAY + i;
+                long civil = EpochCalendar.civil(epochDay);
+                int month = (int) (civil >>> 5) & 0xF;
+                table[i] = ((int) civil & 0x1F)
+                        | month << 5
+                        | EpochCalendar.dayOfWeekOf(epochDay) << 9
+                        | EpochCalendar.isoWeekOf(epochDay) << 12
+                        | EpochCalendar.lengthOfMonth(civil >> 9, month) << 18
+                        | (EpochCalendar.isoWeekYearOf(epochDay) - FROM_YEAR + 1) << 23;
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Holds the month-length table, so it is only built when first read.
+     */
+    private static final class Months {
+
+        static final byte[] TABLE = build();
+
+        private static byte[] build() {
+            byte[] table = new byte[(TO_YEAR - FROM_YEAR + 1) * 12];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (byte) EpochCalendar.lengthOfMonth(FROM_YEAR + i / 12, i % 12 + 1);
+            }
+            return table;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package xmltransformer;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Range kernels behind the batch methods of DateTransformation.
+ *
+ * Patterns and zones are resolved by the caller once per batch. Each kernel fills the
+ * elements [from, to) of its result and reuses one StringBuilder for formatting.
+ */
+final class DateBatch {
+
+    private DateBatch() {
+    }
+
+    static void transformDate(String[] inputs, DatePattern originalFormat, DatePattern desiredFormat,
+                              BatchResult result, int from, int to) {
+        FixedWidthPattern fixedInput = originalFormat.fixedWidth();
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        boolean fast = fixedInput != null && fixedOutput != null && fixedInput.hasDate() && !fixedOutput.hasTime();
+
+        StringBuilder buffer = new StringBuilder(32);
+        for (int i = from; i < to; i++) {
+            buffer.setLength(0);
+            if (fast) {
+                long value = fixedInput.parse(inputs[i]);
+                if (value == DateParser.INVALID) {
+                    result.fail(i);
+                    continue;
+                }
+                if (value != DateParser.UNRESOLVED && fixedOutput.formatTo(value, buffer)) {
+                    result.set(i, buffer.toString());
+                    continue;
+                }
+            }
+            LocalDate date = DateParser.parseDate(inputs[i], originalFormat);
+            if (date == null) {
+                result.fail(i);
+                continue;
+            }
+            desiredFormat.formatter().formatTo(date, buffer);
+            result.set(i, buffer.toString());
+        }
+    }
+
+    static void addDays(String[] inputs, DatePattern originalFormat, long daysToAdd, DateTimeFormatter desiredFormat,
+                        BatchResult result, int from, int to) {
+        StringBuilder buffer = new StringBuilder(32);
+        for (int i = from; i < to; i++) {
+            LocalDate date = DateParser.parseDate(inputs[i], originalFormat);
+            if (date == null) {
+                result.fail(i);
+                continue;
+            }
+            buffer.setLength(0);
+            desiredFormat.formatTo(date.plusDays(daysToAdd), buffer);
+            result.set(i, buffer.toString());
+        }
+    }
+
+    static void convertTimeZone(String[] inputs, ZoneTransitionIndex originalZone, ZoneTransitionIndex desiredZone,
+                                DatePattern originalFormat, DatePattern desiredFormat,
+                                BatchResult result, int from, int to) {
+        StringBuilder buffer = new StringBuilder(32);
+        for (int i = from; i < to; i++) {
+            buffer.setLength(0);
+            if (convertTimeZone(inputs[i], originalZone, desiredZone, originalFormat, desiredFormat, buffer)) {
+                result.set(i, buffer.toString());
+            } else {
+                result.fail(i);
+            }
+        }
+    }
+
+    /**
+     * Convert one date-time between zones and append it in the desired format.
+     *
+     * @param text           The original date-time string.
+     * @param originalZone   The zone of the original date-time.
+     * @param desiredZone    The zone to convert to.
+     * @param originalFormat The format of the original date-time.
+     * @param desiredFormat  The desired output format.
+     * @param out            The builder to append to.
+     * @return False if the text is not a valid date-time in the original format.
+     */
+    static boolean convertTimeZone(CharSequence text, ZoneTransitionIndex originalZone, ZoneTransitionIndex desiredZone,
+                                   DatePattern originalFormat, DatePattern desiredFormat, StringBuilder out) {
+        FixedWidthPattern fixedInput = originalFormat.fixedWidth();
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        if (fixedInput != null && fixedOutput != null && fixedInput.hasDate() && fixedInput.hasTime()) {
+            long local = fixedInput.parse(text);
+            if (local == DateParser.INVALID) {
+                return false;
+            }
+            if (local != DateParser.UNRESOLVED
+                    && fixedOutput.formatTo(originalZone.convert(local, desiredZone), out)) {
+                return true;
+            }
+        }
+
+        LocalDateTime dateTime = DateParser.parseDateTime(text, originalFormat);
+        if (dateTime == null) {
+            return false;
+        }
+        long local = dateTime.toLocalDate().toEpochDay() * EpochCalendar.SECONDS_PER_DAY + dateTime.toLocalTime().toSecondOfDay();
+        long epochSecond = originalZone.toEpochSecond(local);
+        int nano = dateTime.getNano();
+        if (desiredFormat.hasZone()) {
+            ZonedDateTime converted = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), desiredZone.zone());
+            desiredFormat.formatter().formatTo(converted, out);
+        } else {
+            LocalDateTime converted = LocalDateTime.ofEpochSecond(desiredZone.toLocalEpochSecond(epochSecond), nano, ZoneOffset.UTC);
+            desiredFormat.formatter().formatTo(converted, out);
+        }
+        return true;
+    }
+
+    static void getDaysBetween(String[] startDates, String[] endDates, DatePattern format,
+                               LongBatchResult result, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long startEpochDay = DateParser.parseEpochDay(startDates[i], format);
+            long endEpochDay = DateParser.parseEpochDay(endDates[i], format);
+            if (startEpochDay == DateParser.INVALID || endEpochDay == DateParser.INVALID) {
+                result.fail(i);
+                continue;
+            }
+            result.set(i, EpochCalendar.daysBetween(startEpochDay, endEpochDay));
+        }
+    }
+
+    /**
+     * Mark every element of a result as failed, for batches whose shared arguments are invalid.
+     *
+     * @param result The result to fill.
+     * @return The same result.
+     */
+    static BatchResult failAll(BatchResult result) {
+        for (int i = 0; i < result.size(); i++) {
+            result.fail(i);
+        }
+        return result;
+    }
+}
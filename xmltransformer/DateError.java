@@ -0,0 +1,22 @@
+package xmltransformer;
+
+/**
+ * Why a DateResult call failed.
+ */
+public enum DateError {
+
+    /** The call succeeded. */
+    NONE,
+
+    /** A pattern is invalid, or cannot format the value the call produces. */
+    BAD_PATTERN,
+
+    /** An input value does not match its pattern, or is out of the accepted range. */
+    BAD_VALUE,
+
+    /** A timezone ID is invalid or unknown. */
+    BAD_ZONE,
+
+    /** The result lies outside the range of the java.time types. */
+    OVERFLOW
+}
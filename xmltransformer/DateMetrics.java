@@ -0,0 +1,273 @@
+package xmltransformer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Opt-in call, failure and latency counters for the DateTransformation methods, per method and
+ * per input pattern.
+ *
+ * Metrics are enabled with {@code -Dxmltransformer.metrics=true}. The flag is a static final, and
+ * callers test it around each recording call, so when it is off the JIT folds away the call and
+ * the failure check that feeds it. When it is on, counters are LongAdders
+ * and latencies go into power-of-two buckets. The counters are exposed through {@link #snapshot()} and
+ * the {@code xmltransformer:type=DateMetrics} MXBean. Calls slower than
+ * {@code xmltransformer.metrics.slowNanos} (default 100,000) are sampled, one in
+ * {@code xmltransformer.metrics.slowSampleInterval} (default 8), into JFR SlowCallEvents.
+ *
+ * A batch call counts as one call per element, each with the mean latency of the batch.
+ *
+ * At most 256 patterns are tracked; calls with further patterns are counted under "(other)".
+ * Pattern counters, like method counters, are zeroed by {@link #reset()} but stay registered.
+ */
+public final class DateMetrics {
+
+    /** True if metrics are recorded. */
+    public static final boolean ENABLED = Boolean.getBoolean("xmltransformer.metrics");
+
+    private static final long SLOW_NANOS = Long.getLong("xmltransformer.metrics.slowNanos", 100_000);
+    private static final int SLOW_SAMPLE_INTERVAL = Math.max(1, Integer.getInteger("xmltransformer.metrics.slowSampleInterval", 8));
+
+    private static final int BUCKETS = 48;
+    private static final int MAX_PATTERNS = 256;
+    private static final String OTHER_PATTERNS = "(other)";
+
+    private static final Map<String, Stats> METHODS = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> PATTERNS = new ConcurrentHashMap<>();
+    private static final Stats OTHER = new Stats(OTHER_PATTERNS);
+
+    /** The number of patterns registered, reserved before a pattern is added so the cap holds under races. */
+    private static final AtomicInteger PATTERN_COUNT = new AtomicInteger();
+    private static final AtomicLong SLOW_CALLS = new AtomicLong();
+
+    static {
+        PATTERNS.put(OTHER_PATTERNS, OTHER);
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName("xmltransformer:type=DateMetrics"));
+            } catch (JMException e) {
+                // Already registered by another class loader; the counters still work
+            }
+        }
+    }
+
+    private DateMetrics() {
+    }
+
+    /**
+     * Get the counters of a method, registering it on first use.
+     *
+     * @param method The method name.
+     * @return The counters.
+     */
+    static Stats method(String method) {
+        return METHODS.computeIfAbsent(method, Stats::new);
+    }
+
+    /**
+     * @return The start time of a call, or 0 if metrics are disabled.
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a finished call.
+     *
+     * @param method  The counters of the method.
+     * @param pattern The input pattern of the call.
+     * @param start   The start time from {@link #start()}.
+     * @param failed  True if the call returned an invalid-input result.
+     */
+    static void record(Stats method, String pattern, long start, boolean failed) {
+        if (!ENABLED) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        method.record(nanos, 1, failed ? 1 : 0);
+        patternStats(pattern).record(nanos, 1, failed ? 1 : 0);
+        if (nanos >= SLOW_NANOS) {
+            sampleSlowCall(method, pattern, nanos, failed);
+        }
+    }
+
+    /**
+     * Record a finished batch call as one call per element.
+     *
+     * @param method   The counters of the method.
+     * @param pattern  The input pattern of the call.
+     * @param start    The start time from {@link #start()}.
+     * @param size     The number of elements.
+     * @param failures The number of elements with an invalid-input result.
+     */
+    static void recordBatch(Stats method, String pattern, long start, int size, int failures) {
+        if (!ENABLED || size == 0) {
+            return;
+        }
+        long nanos = (System.nanoTime() - start) / size;
+        method.record(nanos, size, failures);
+        patternStats(pattern).record(nanos, size, failures);
+        if (nanos >= SLOW_NANOS) {
+            sampleSlowCall(method, pattern, nanos, failures > 0);
+        }
+    }
+
+    private static void sampleSlowCall(Stats method, String pattern, long nanos, boolean failed) {
+        if (SLOW_CALLS.incrementAndGet() % SLOW_SAMPLE_INTERVAL == 0) {
+            SlowCallEvent event = new SlowCallEvent();
+            if (event.shouldCommit()) {
+                event.method = method.name;
+                event.pattern = pattern;
+                event.callNanos = nanos;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Take a snapshot of every counter.
+     *
+     * @return The snapshot, with empty method and pattern maps if metrics are disabled.
+     */
+    public static MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(snapshot(METHODS), snapshot(PATTERNS), FormatterCache.stats(), ZoneTransitionIndex.stats());
+    }
+
+    /**
+     * Reset every call, failure and latency counter. Cache statistics are not affected.
+     */
+    public static void reset() {
+        METHODS.values().forEach(Stats::reset);
+        PATTERNS.values().forEach(Stats::reset);
+        SLOW_CALLS.set(0);
+    }
+
+    private static Stats patternStats(String pattern) {
+        String key = pattern == null ? "null" : pattern;
+        Stats stats = PATTERNS.get(key);
+        if (stats == null) {
+            // Runs at most once per key; a full registry stores nothing and the call goes to OTHER
+            stats = PATTERNS.computeIfAbsent(key, name ->
+                    PATTERN_COUNT.getAndUpdate(count -> Math.min(count + 1, MAX_PATTERNS)) < MAX_PATTERNS ? new Stats(name) : null);
+            if (stats == null) {
+                stats = OTHER;
+            }
+        }
+        return stats;
+    }
+
+    private static Map<String, LatencySnapshot> snapshot(Map<String, Stats> stats) {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        for (Stats entry : stats.values()) {
+            if (entry.calls.sum() > 0) {
+                snapshots.put(entry.name, entry.snapshot());
+            }
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * The counters of one method or pattern.
+     */
+    static final class Stats {
+        final String name;
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        Stats(String name) {
+            this.name = name;
+            for (int b = 0; b < BUCKETS; b++) {
+                buckets[b] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, int count, int failed) {
+            calls.add(count);
+            if (failed > 0) {
+                failures.add(failed);
+            }
+            totalNanos.add(nanos * count);
+            int bucket = nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+            buckets[Math.min(bucket, BUCKETS - 1)].add(count);
+        }
+
+        LatencySnapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b] = buckets[b].sum();
+            }
+            return new LatencySnapshot(name, calls.sum(), failures.sum(), totalNanos.sum(), counts);
+        }
+
+        void reset() {
+            calls.reset();
+            failures.reset();
+            totalNanos.reset();
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+        }
+    }
+
+    private static final class Bean implements DateMetricsMXBean {
+
+        @Override
+        public Map<String, Long> getCallsByMethod() {
+            return collect(METHODS, LatencySnapshot::calls);
+        }
+
+        @Override
+        public Map<String, Long> getFailuresByMethod() {
+            return collect(METHODS, LatencySnapshot::failures);
+        }
+
+        @Override
+        public Map<String, Long> getP99NanosByMethod() {
+            return collect(METHODS, snapshot -> snapshot.percentileNanos(99));
+        }
+
+        @Override
+        public Map<String, Long> getCallsByPattern() {
+            return collect(PATTERNS, LatencySnapshot::calls);
+        }
+
+        @Override
+        public Map<String, Long> getFailuresByPattern() {
+            return collect(PATTERNS, LatencySnapshot::failures);
+        }
+
+        @Override
+        public double getFormatterCacheHitRatio() {
+            return FormatterCache.stats().hitRatio();
+        }
+
+        @Override
+        public int getFormatterCacheSize() {
+            return FormatterCache.stats().size();
+        }
+
+        @Override
+        public void reset() {
+            DateMetrics.reset();
+        }
+
+        private static Map<String, Long> collect(Map<String, Stats> stats, ToLongFunction<LatencySnapshot> value) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            snapshot(stats).forEach((name, snapshot) -> values.put(name, value.applyAsLong(snapshot)));
+            return values;
+        }
+    }
+}
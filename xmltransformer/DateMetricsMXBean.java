@@ -0,0 +1,49 @@
+package xmltransformer;
+
+import java.util.Map;
+
+/**
+ * The JMX view of DateMetrics, registered as {@code xmltransformer:type=DateMetrics} when metrics are enabled.
+ */
+public interface DateMetricsMXBean {
+
+    /**
+     * @return The number of calls per method.
+     */
+    Map<String, Long> getCallsByMethod();
+
+    /**
+     * @return The number of invalid-input results per method.
+     */
+    Map<String, Long> getFailuresByMethod();
+
+    /**
+     * @return The upper bound of the 99th percentile latency per method, in nanoseconds.
+     */
+    Map<String, Long> getP99NanosByMethod();
+
+    /**
+     * @return The number of calls per input pattern.
+     */
+    Map<String, Long> getCallsByPattern();
+
+    /**
+     * @return The number of invalid-input results per input pattern.
+     */
+    Map<String, Long> getFailuresByPattern();
+
+    /**
+     * @return The hit ratio of FormatterCache.
+     */
+    double getFormatterCacheHitRatio();
+
+    /**
+     * @return The number of patterns in FormatterCache.
+     */
+    int getFormatterCacheSize();
+
+    /**
+     * Reset every call, failure and latency counter.
+     */
+    void reset();
+}
@@ -0,0 +1,333 @@
+package xmltransformer;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+
+/**
+ * Parse-once entry points used by DateTransformation.
+ *
+ * Input is parsed with DateTimeFormatter.parseUnresolved, which reports syntax errors through
+ * the ParsePosition instead of throwing. The fields of simple patterns are then resolved here
+ * with the same rules as java.time's SMART resolver, so invalid input never allocates an
+ * exception. Fixed-width numeric patterns skip even the syntax pass and are read digit by digit
+ * by FixedWidthPattern. Every method returns null on failure.
+ */
+final class DateParser {
+
+    /** The input is not a valid value. */
+    static final long INVALID = Long.MIN_VALUE;
+
+    /** The fields need java.time's full resolver. */
+    static final long UNRESOLVED = Long.MIN_VALUE + 1;
+
+    /** The input has no value for the requested part. */
+    static final long ABSENT = Long.MIN_VALUE + 2;
+
+    private static final long MAX_YEAR = Year.MAX_VALUE;
+    private static final long MIN_YEAR = Year.MIN_VALUE;
+
+    private DateParser() {
+    }
+
+    /**
+     * Parse a date.
+     *
+     * @param text    The text to parse.
+     * @param pattern The compiled pattern.
+     * @return The date, or null if the text is not a valid date in the pattern.
+     */
+    static LocalDate parseDate(CharSequence text, DatePattern pattern) {
+        long epochDay = parseEpochDay(text, pattern);
+        return epochDay == INVALID ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Parse a date to an epoch day. No objects are allocated for fixed-width patterns.
+     *
+     * @param text    The text to parse.
+     * @param pattern The compiled pattern.
+     * @return The epoch day, or INVALID if the text is not a valid date in the pattern.
+     */
+    static long parseEpochDay(CharSequence text, DatePattern pattern) {
+        if (!pattern.canProduce(TemporalKind.DATE)) {
+            return INVALID;
+        }
+        FixedWidthPattern fixedWidth = pattern.fixedWidth();
+        if (fixedWidth != null) {
+            long value = fixedWidth.parse(text);
+            if (value == INVALID) {
+                return INVALID;
+            }
+            if (value != UNRESOLVED) {
+                return Math.floorDiv(value, EpochCalendar.SECONDS_PER_DAY);
+            }
+        }
+        TemporalAccessor parsed = parseUnresolved(text, pattern.formatter());
+        if (parsed == null) {
+            return INVALID;
+        }
+        if (pattern.isSimple()) {
+            long epochDay = resolveEpochDay(parsed);
+            long nanoOfDay = resolveNanoOfDay(parsed);
+            if (epochDay == INVALID || epochDay == ABSENT || nanoOfDay == INVALID) {
+                return INVALID;
+            }
+            if (epochDay != UNRESOLVED && nanoOfDay != UNRESOLVED) {
+                return epochDay;
+            }
+        }
+        LocalDate date = resolveFully(text, pattern.formatter(), LocalDate::from);
+        return date == null ? INVALID : date.toEpochDay();
+    }
+
+    /**
+     * Parse a time of day. A date in the text, if any, is validated and then ignored.
+     *
+     * @param text    The text to parse.
+     * @param pattern The compiled pattern.
+     * @return The time, or null if the text is not a valid time in the pattern.
+     */
+    static LocalTime parseTime(CharSequence text, DatePattern pattern) {
+        if (!pattern.canProduce(TemporalKind.TIME)) {
+            return null;
+        }
+        FixedWidthPattern fixedWidth = pattern.fixedWidth();
+        if (fixedWidth != null) {
+            long value = fixedWidth.parse(text);
+            if (value == INVALID) {
+                return null;
+            }
+            if (value != UNRESOLVED) {
+                return LocalTime.ofSecondOfDay(Math.floorMod(value, EpochCalendar.SECONDS_PER_DAY));
+            }
+        }
+        TemporalAccessor parsed = parseUnresolved(text, pattern.formatter());
+        if (parsed == null) {
+            return null;
+        }
+        if (pattern.isSimple()) {
+            long epochDay = resolveEpochDay(parsed);
+            long nanoOfDay = resolveNanoOfDay(parsed);
+            if (epochDay == INVALID || nanoOfDay == INVALID || nanoOfDay == ABSENT) {
+                return null;
+            }
+            if (epochDay != UNRESOLVED && nanoOfDay != UNRESOLVED) {
+                return LocalTime.ofNanoOfDay(nanoOfDay);
+            }
+        }
+        return resolveFully(text, pattern.formatter(), LocalTime::from);
+    }
+
+    /**
+     * Parse a date with a time of day.
+     *
+     * @param text    The text to parse.
+     * @param pattern The compiled pattern.
+     * @return The date-time, or null if the text is not a valid date-time in the pattern.
+     */
+    static LocalDateTime parseDateTime(CharSequence text, DatePattern pattern) {
+        if (!pattern.canProduce(TemporalKind.DATE_TIME)) {
+            return null;
+        }
+        FixedWidthPattern fixedWidth = pattern.fixedWidth();
+        if (fixedWidth != null) {
+            long value = fixedWidth.parse(text);
+            if (value == INVALID) {
+                return null;
+            }
+            if (value != UNRESOLVED) {
+                return LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+            }
+        }
+        TemporalAccessor parsed = parseUnresolved(text, pattern.formatter());
+        if (parsed == null) {
+            return null;
+        }
+        if (pattern.isSimple()) {
+            long epochDay = resolveEpochDay(parsed);
+            long nanoOfDay = resolveNanoOfDay(parsed);
+            if (epochDay == INVALID || epochDay == ABSENT || nanoOfDay == INVALID || nanoOfDay == ABSENT) {
+                return null;
+            }
+            if (epochDay != UNRESOLVED && nanoOfDay != UNRESOLVED) {
+                return LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.ofNanoOfDay(nanoOfDay));
+            }
+        }
+        return resolveFully(text, pattern.formatter(), LocalDateTime::from);
+    }
+
+    /**
+     * Parse a date-time with a zone or offset. Zone fields are never simple, so the
+     * syntax pass rejects malformed text and java.time resolves the rest.
+     *
+     * @param text    The text to parse.
+     * @param pattern The compiled pattern.
+     * @return The zoned date-time, or null if the text is not valid in the pattern.
+     */
+    static ZonedDateTime parseZoned(CharSequence text, DatePattern pattern) {
+        if (!pattern.canProduce(TemporalKind.ZONED_DATE_TIME)
+                || parseUnresolved(text, pattern.formatter()) == null) {
+            return null;
+        }
+        return resolveFully(text, pattern.formatter(), ZonedDateTime::from);
+    }
+
+    /**
+     * Parse a value of the given kind.
+     *
+     * @param text    The text to parse.
+     * @param pattern The compiled pattern.
+     * @param kind    The kind of value wanted.
+     * @return A LocalDate, LocalTime, LocalDateTime or ZonedDateTime, or null on failure.
+     */
+    static Temporal parse(CharSequence text, DatePattern pattern, TemporalKind kind) {
+        switch (kind) {
+            case DATE:
+                return parseDate(text, pattern);
+            case TIME:
+                return parseTime(text, pattern);
+            case DATE_TIME:
+                return parseDateTime(text, pattern);
+            default:
+                return parseZoned(text, pattern);
+        }
+    }
+
+    /**
+     * Run the syntax pass of the formatter over the whole text.
+     *
+     * @param text      The text to parse.
+     * @param formatter The formatter.
+     * @return The unresolved fields, or null if the text does not match the pattern.
+     */
+    static TemporalAccessor parseUnresolved(CharSequence text, DateTimeFormatter formatter) {
+        if (text == null) {
+            return null;
+        }
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed;
+        try {
+            parsed = formatter.parseUnresolved(text, position);
+        } catch (DateTimeException e) {
+            // Offset parsers range-check while reading; no other printer-parser throws here
+            return null;
+        }
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+            return null;
+        }
+        return parsed;
+    }
+
+    /**
+     * Resolve the date fields of a simple pattern to an epoch day.
+     *
+     * @param parsed The unresolved fields.
+     * @return The epoch day, or INVALID, UNRESOLVED or ABSENT.
+     */
+    static long resolveEpochDay(TemporalAccessor parsed) {
+        boolean hasYearOfEra = parsed.isSupported(ChronoField.YEAR_OF_ERA);
+        boolean hasYear = parsed.isSupported(ChronoField.YEAR);
+        boolean hasMonth = parsed.isSupported(ChronoField.MONTH_OF_YEAR);
+        boolean hasDay = parsed.isSupported(ChronoField.DAY_OF_MONTH);
+        if (hasYearOfEra && hasYear) {
+            return UNRESOLVED;
+        }
+        if (!(hasYearOfEra || hasYear) || !hasMonth || !hasDay) {
+            return hasYearOfEra || hasYear || hasMonth || hasDay ? UNRESOLVED : ABSENT;
+        }
+
+        long year;
+        if (hasYearOfEra) {
+            year = parsed.getLong(ChronoField.YEAR_OF_ERA);
+            if (year < 1 || year > MAX_YEAR) {
+                return UNRESOLVED;
+            }
+        } else {
+            year = parsed.getLong(ChronoField.YEAR);
+            if (year < MIN_YEAR || year > MAX_YEAR) {
+                return UNRESOLVED;
+            }
+        }
+        long month = parsed.getLong(ChronoField.MONTH_OF_YEAR);
+        long day = parsed.getLong(ChronoField.DAY_OF_MONTH);
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return INVALID;
+        }
+
+        // SMART resolution clamps the day to the last valid day of the month
+        int length = EpochCalendar.lengthOfMonth(year, (int) month);
+        if (day > length) {
+            day = length;
+        }
+        long epochDay = EpochCalendar.epochDay((int) year, (int) month, (int) day);
+
+        if (parsed.isSupported(ChronoField.DAY_OF_WEEK)) {
+            long dayOfWeek = parsed.getLong(ChronoField.DAY_OF_WEEK);
+            if (dayOfWeek != EpochCalendar.dayOfWeekOf(epochDay)) {
+                return INVALID;
+            }
+        }
+        return epochDay;
+    }
+
+    /**
+     * Resolve the time fields of a simple pattern to a nano of day.
+     *
+     * @param parsed The unresolved fields.
+     * @return The nano of day, or INVALID, UNRESOLVED or ABSENT.
+     */
+    static long resolveNanoOfDay(TemporalAccessor parsed) {
+        boolean hasHour = parsed.isSupported(ChronoField.HOUR_OF_DAY);
+        boolean hasMinute = parsed.isSupported(ChronoField.MINUTE_OF_HOUR);
+        boolean hasSecond = parsed.isSupported(ChronoField.SECOND_OF_MINUTE);
+        boolean hasNano = parsed.isSupported(ChronoField.NANO_OF_SECOND);
+        if (!hasHour) {
+            return hasMinute || hasSecond || hasNano ? UNRESOLVED : ABSENT;
+        }
+        if ((hasSecond && !hasMinute) || (hasNano && !hasSecond)) {
+            return UNRESOLVED;
+        }
+
+        long hour = parsed.getLong(ChronoField.HOUR_OF_DAY);
+        long minute = hasMinute ? parsed.getLong(ChronoField.MINUTE_OF_HOUR) : 0;
+        long second = hasSecond ? parsed.getLong(ChronoField.SECOND_OF_MINUTE) : 0;
+        long nano = hasNano ? parsed.getLong(ChronoField.NANO_OF_SECOND) : 0;
+        if (hour == 24 && minute == 0 && second == 0 && nano == 0) {
+            // SMART resolution rolls 24:00 over into the next day
+            return UNRESOLVED;
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || nano < 0 || nano > 999_999_999L) {
+            return INVALID;
+        }
+        return ((hour * 60 + minute) * 60 + second) * 1_000_000_000L + nano;
+    }
+
+    /**
+     * Parse with java.time's full resolver, for patterns this class does not resolve itself.
+     *
+     * @param text      The text to parse.
+     * @param formatter The formatter.
+     * @param query     The query producing the result type.
+     * @param <T>       The result type.
+     * @return The result, or null if the text cannot be resolved.
+     */
+    static <T> T resolveFully(CharSequence text, DateTimeFormatter formatter, TemporalQuery<T> query) {
+        try {
+            return formatter.parse(text, query);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
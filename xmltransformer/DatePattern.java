@@ -0,0 +1,159 @@
+package xmltransformer;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A compiled date/time pattern: the formatter plus what the parser needs to know about it.
+ *
+ * Instances are immutable and cached by FormatterCache, so the pattern string is only
+ * inspected once: which kinds of value it can produce is decided here, not per parse.
+ */
+final class DatePattern {
+
+    /**
+     * Pattern letters whose parsed fields DateParser can resolve itself.
+     */
+    private static final String SIMPLE_LETTERS = "yuMLdHmsSnE";
+
+    private static final String DATE_LETTERS = "GyuYQqMLwWdDFEecg";
+    private static final String TIME_LETTERS = "ahKkHmsSAnNB";
+    private static final String ZONE_LETTERS = "VvzOXxZ";
+
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    private final boolean simple;
+    private final boolean hasDate;
+    private final boolean hasTime;
+    private final boolean hasZone;
+    private final TemporalKind kind;
+    private final FixedWidthPattern fixedWidth;
+
+    DatePattern(String pattern) {
+        this.pattern = pattern;
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+        this.simple = containsOnly(pattern, SIMPLE_LETTERS);
+        this.hasDate = containsAny(pattern, DATE_LETTERS);
+        this.hasTime = containsAny(pattern, TIME_LETTERS);
+        this.hasZone = containsAny(pattern, ZONE_LETTERS);
+        if (hasDate && hasTime) {
+            this.kind = hasZone ? TemporalKind.ZONED_DATE_TIME : TemporalKind.DATE_TIME;
+        } else if (hasDate) {
+            this.kind = TemporalKind.DATE;
+        } else if (hasTime) {
+            this.kind = TemporalKind.TIME;
+        } else {
+            this.kind = null;
+        }
+        this.fixedWidth = FixedWidthPattern.compile(pattern);
+    }
+
+    /**
+     * @return The pattern string.
+     */
+    String pattern() {
+        return pattern;
+    }
+
+    /**
+     * @return The compiled formatter.
+     */
+    DateTimeFormatter formatter() {
+        return formatter;
+    }
+
+    /**
+     * @return True if every field of the pattern can be resolved without java.time's resolver.
+     */
+    boolean isSimple() {
+        return simple;
+    }
+
+    /**
+     * @return The allocation-free codec for the pattern, or null if it is not fixed-width.
+     */
+    FixedWidthPattern fixedWidth() {
+        return fixedWidth;
+    }
+
+    /**
+     * @return True if the pattern has zone or offset fields.
+     */
+    boolean hasZone() {
+        return hasZone;
+    }
+
+    /**
+     * @return The most specific kind of value the pattern produces, or null if it has no fields.
+     */
+    TemporalKind kind() {
+        return kind;
+    }
+
+    /**
+     * Check whether this pattern can format the given kind of value, i.e. it uses no field the value lacks.
+     *
+     * @param source The kind of value to format.
+     * @return False if formatting is certain to fail, true otherwise.
+     */
+    boolean canFormat(TemporalKind source) {
+        switch (source) {
+            case DATE:
+                return !hasTime && !hasZone;
+            case TIME:
+                return !hasDate && !hasZone;
+            case DATE_TIME:
+                return !hasZone;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Check whether text in this pattern can ever resolve to the given kind of value.
+     *
+     * @param target The kind of value wanted.
+     * @return False if parsing is certain to fail, true otherwise.
+     */
+    boolean canProduce(TemporalKind target) {
+        switch (target) {
+            case DATE:
+                return hasDate;
+            case TIME:
+                return hasTime;
+            case DATE_TIME:
+                return hasDate && hasTime;
+            default:
+                return hasDate && hasTime && hasZone;
+        }
+    }
+
+    private static boolean containsOnly(String pattern, String letters) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && isLetter(c) && letters.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAny(String pattern, String letters) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && isLetter(c) && letters.indexOf(c) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
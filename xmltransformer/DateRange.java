@@ -0,0 +1,399 @@
+package xmltransformer;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A series of dates from a start to an inclusive end in steps of days, weeks, months or years,
+ * for calendar dimension tables and schedule expansions.
+ *
+ * Every element is computed from the start and its index in pure epoch-day arithmetic, so the
+ * series is never parsed or formatted step by step, any element is reached in constant time and
+ * the streams split evenly for parallel use. Month and year steps are counted from the start and
+ * clamp to the end of shorter months as addMonths does: Jan 31 monthly gives Feb 28, Mar 31,
+ * Apr 30. Instances are immutable.
+ */
+public final class DateRange {
+
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    private final long startEpochDay;
+    private final long step;
+    private final ChronoUnit unit;
+    private final long size;
+
+    /** For month and year steps, the start as year * 12 + month - 1, and its day of month. */
+    private final long startMonth;
+    private final int startDay;
+
+    private DateRange(long startEpochDay, long endEpochDay, long step, ChronoUnit unit) {
+        if (step < 1) {
+            throw new IllegalArgumentException("Step must be at least 1: " + step);
+        }
+        if (startEpochDay < MIN_EPOCH_DAY || startEpochDay > MAX_EPOCH_DAY
+                || endEpochDay < MIN_EPOCH_DAY || endEpochDay > MAX_EPOCH_DAY) {
+            throw new IllegalArgumentException("Epoch day outside the range of LocalDate");
+        }
+        this.startEpochDay = startEpochDay;
+        this.unit = unit;
+        long civil = EpochCalendar.civil(startEpochDay);
+        this.startMonth = (civil >> 9) * 12 + ((civil >>> 5) & 0xF) - 1;
+        this.startDay = (int) civil & 0x1F;
+
+        switch (unit) {
+            case DAYS:
+                this.step = step;
+                break;
+            case WEEKS:
+                this.step = Math.multiplyExact(step, 7);
+                break;
+            case MONTHS:
+                this.step = step;
+                break;
+            case YEARS:
+                this.step = Math.multiplyExact(step, 12);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported step unit: " + unit);
+        }
+
+        if (endEpochDay < startEpochDay) {
+            this.size = 0;
+        } else if (unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS) {
+            this.size = (endEpochDay - startEpochDay) / this.step + 1;
+        } else {
+            long end = EpochCalendar.civil(endEpochDay);
+            long endMonth = (end >> 9) * 12 + ((end >>> 5) & 0xF) - 1;
+            long last = (endMonth - startMonth) / this.step;
+            // The last step lands in the month of the end, but possibly on a later day
+            if (epochDayAt(last) > endEpochDay) {
+                last--;
+            }
+            this.size = last + 1;
+        }
+    }
+
+    /**
+     * Create a range of dates.
+     *
+     * @param startDateString The first date.
+     * @param endDateString   The last date, included if a step lands on it.
+     * @param formatStr       The format of the date strings.
+     * @param step            The number of units between elements, at least 1.
+     * @param unit            DAYS, WEEKS, MONTHS or YEARS.
+     * @return The range, or null if the input format is invalid.
+     * @throws IllegalArgumentException if the step or unit is not supported.
+     */
+    public static DateRange of(String startDateString, String endDateString, String formatStr, long step, ChronoUnit unit) {
+        DatePattern format = FormatterCache.pattern(formatStr);
+        long start = DateParser.parseEpochDay(startDateString, format);
+        long end = DateParser.parseEpochDay(endDateString, format);
+        if (start == DateParser.INVALID || end == DateParser.INVALID) {
+            return null; // Error: Invalid date format
+        }
+        return new DateRange(start, end, step, unit);
+    }
+
+    /**
+     * Create a range of epoch days.
+     *
+     * @param startEpochDay The first epoch day.
+     * @param endEpochDay   The last epoch day, included if a step lands on it.
+     * @param step          The number of units between elements, at least 1.
+     * @param unit          DAYS, WEEKS, MONTHS or YEARS.
+     * @return The range.
+     * @throws IllegalArgumentException if the step or unit is not supported, or a day is outside the range of LocalDate.
+     */
+    public static DateRange ofEpochDays(long startEpochDay, long endEpochDay, long step, ChronoUnit unit) {
+        return new DateRange(startEpochDay, endEpochDay, step, unit);
+    }
+
+    /**
+     * @return The number of dates in the range.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Get the epoch day of an element.
+     *
+     * @param index The index, from 0 to size() - 1.
+     * @return The epoch day.
+     */
+    public long epochDayAt(long index) {
+        if (unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS) {
+            return startEpochDay + index * step;
+        }
+        long month = startMonth + index * step;
+        long year = Math.floorDiv(month, 12);
+        int monthOfYear = Math.floorMod(month, 12) + 1;
+        int day = Math.min(startDay, EpochCalendar.lengthOfMonth(year, monthOfYear));
+        return EpochCalendar.epochDay((int) year, monthOfYear, day);
+    }
+
+    /**
+     * Write consecutive elements into an array, for filling large tables in chunks.
+     *
+     * @param fromIndex The index of the first element to write.
+     * @param out       The array to write to.
+     * @param offset    The index in the array of the first element.
+     * @param length    The most elements to write.
+     * @return The number of elements written, fewer than length at the end of the range.
+     */
+    public int fill(long fromIndex, long[] out, int offset, int length) {
+        if (fromIndex < 0 || offset < 0 || length < 0 || length > out.length - offset) {
+            throw new IndexOutOfBoundsException("fromIndex " + fromIndex + ", offset " + offset + ", length " + length);
+        }
+        int count = (int) Math.max(0, Math.min(length, size - fromIndex));
+        if (unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS) {
+            long epochDay = startEpochDay + fromIndex * step;
+            for (int i = 0; i < count; i++) {
+                out[offset + i] = epochDay;
+                epochDay += step;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                out[offset + i] = epochDayAt(fromIndex + i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get every element as an array.
+     *
+     * @return The epoch days.
+     * @throws IllegalStateException if the range has more elements than an array can hold; use fill instead.
+     */
+    public long[] toEpochDays() {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Range too large for an array: " + size);
+        }
+        long[] epochDays = new long[(int) size];
+        fill(0, epochDays, 0, epochDays.length);
+        return epochDays;
+    }
+
+    /**
+     * Stream the elements as epoch days.
+     *
+     * @return A sized, ordered stream that splits evenly when run in parallel.
+     */
+    public LongStream epochDays() {
+        return StreamSupport.longStream(new EpochDaySpliterator(0, size), false);
+    }
+
+    /**
+     * Stream the elements as formatted dates.
+     *
+     * @param desiredFormatStr The desired output format.
+     * @return A sized, ordered stream that splits evenly when run in parallel.
+     * @throws IllegalArgumentException if the format is invalid or contains time or zone fields.
+     */
+    public Stream<String> format(String desiredFormatStr) {
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+        if (!desiredFormat.canFormat(TemporalKind.DATE)) {
+            throw new IllegalArgumentException("Pattern cannot format a date: " + desiredFormatStr);
+        }
+        return StreamSupport.stream(new FormattedSpliterator(0, size, desiredFormat), false);
+    }
+
+    /**
+     * Get the Monday-starting weeks that the range touches, as getStartOfWeek defines them.
+     *
+     * @return The range of the first day of each week, one week apart.
+     */
+    public DateRange weeks() {
+        if (size == 0) {
+            return this;
+        }
+        long first = CalendarTable.startOfWeek(startEpochDay);
+        long last = CalendarTable.startOfWeek(epochDayAt(size - 1));
+        return new DateRange(Math.max(first, MIN_EPOCH_DAY), last, 1, ChronoUnit.WEEKS);
+    }
+
+    /**
+     * Replace each epoch day with the Monday starting its week, as getStartOfWeek does.
+     *
+     * @param epochDays The epoch days.
+     * @param from      The first index, inclusive.
+     * @param to        The last index, exclusive.
+     * @param out       The array to write to, which may be epochDays itself.
+     */
+    public static void startOfWeek(long[] epochDays, int from, int to, long[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = CalendarTable.startOfWeek(epochDays[i]);
+        }
+    }
+
+    /**
+     * Replace each epoch day with the Sunday ending its week, as getEndOfWeek does.
+     *
+     * @param epochDays The epoch days.
+     * @param from      The first index, inclusive.
+     * @param to        The last index, exclusive.
+     * @param out       The array to write to, which may be epochDays itself.
+     */
+    public static void endOfWeek(long[] epochDays, int from, int to, long[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = CalendarTable.endOfWeek(epochDays[i]);
+        }
+    }
+
+    /**
+     * Count epoch days per Monday-starting week, for bucketing facts into weekly rows.
+     *
+     * @param epochDays The epoch days.
+     * @param from      The first index, inclusive.
+     * @param to        The last index, exclusive.
+     * @param firstWeek The epoch day of the Monday of the first bucket.
+     * @param counts    The count per week, added to; days outside the buckets are not counted.
+     * @return The number of days that fell outside the buckets.
+     */
+    public static int countByWeek(long[] epochDays, int from, int to, long firstWeek, long[] counts) {
+        int outside = 0;
+        for (int i = from; i < to; i++) {
+            long week = Math.floorDiv(CalendarTable.startOfWeek(epochDays[i]) - firstWeek, 7);
+            if (week < 0 || week >= counts.length) {
+                outside++;
+            } else {
+                counts[(int) week]++;
+            }
+        }
+        return outside;
+    }
+
+    @Override
+    public String toString() {
+        return "DateRange{" + LocalDate.ofEpochDay(startEpochDay) + ", size=" + size + ", step=" + step + " " + unit + "}";
+    }
+
+    /**
+     * Splits an index range in halves, as every element is computed from its index alone.
+     */
+    private abstract class IndexSpliterator {
+        long index;
+        final long end;
+
+        IndexSpliterator(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        long splitPoint() {
+            long remaining = end - index;
+            return remaining < 2 ? -1 : index + remaining / 2;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+    }
+
+    private final class EpochDaySpliterator extends IndexSpliterator implements Spliterator.OfLong {
+
+        EpochDaySpliterator(long index, long end) {
+            super(index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(epochDayAt(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            if (unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS) {
+                long epochDay = startEpochDay + index * step;
+                for (; index < end; index++) {
+                    action.accept(epochDay);
+                    epochDay += step;
+                }
+            } else {
+                for (; index < end; index++) {
+                    action.accept(epochDayAt(index));
+                }
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long mid = splitPoint();
+            if (mid < 0) {
+                return null;
+            }
+            Spliterator.OfLong prefix = new EpochDaySpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+    }
+
+    private final class FormattedSpliterator extends IndexSpliterator implements Spliterator<String> {
+        final DatePattern desiredFormat;
+        final FixedWidthPattern fixedOutput;
+
+        FormattedSpliterator(long index, long end, DatePattern desiredFormat) {
+            super(index, end);
+            this.desiredFormat = desiredFormat;
+            this.fixedOutput = desiredFormat.fixedWidth();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(format(epochDayAt(index++)));
+            return true;
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            long mid = splitPoint();
+            if (mid < 0) {
+                return null;
+            }
+            Spliterator<String> prefix = new FormattedSpliterator(index, mid, desiredFormat);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        private String format(long epochDay) {
+            if (fixedOutput != null) {
+                String formatted = fixedOutput.format(epochDay * EpochCalendar.SECONDS_PER_DAY);
+                if (formatted != null) {
+                    return formatted;
+                }
+            }
+            return LocalDate.ofEpochDay(epochDay).format(desiredFormat.formatter());
+        }
+    }
+}
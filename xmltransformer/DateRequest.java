@@ -0,0 +1,53 @@
+package xmltransformer;
+
+/**
+ * One transformDate call, as submitted to an AsyncDateService.
+ */
+public final class DateRequest {
+
+    private final String value;
+    private final String originalFormat;
+    private final String desiredFormat;
+
+    /**
+     * Create a request.
+     *
+     * @param value          The original date string.
+     * @param originalFormat The format of the original date string.
+     * @param desiredFormat  The desired output format for the transformed date.
+     */
+    public DateRequest(String value, String originalFormat, String desiredFormat) {
+        if (value == null || originalFormat == null || desiredFormat == null) {
+            throw new NullPointerException("value and formats must not be null");
+        }
+        this.value = value;
+        this.originalFormat = originalFormat;
+        this.desiredFormat = desiredFormat;
+    }
+
+    /**
+     * @return The original date string.
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * @return The format of the original date string.
+     */
+    public String originalFormat() {
+        return originalFormat;
+    }
+
+    /**
+     * @return The desired output format.
+     */
+    public String desiredFormat() {
+        return desiredFormat;
+    }
+
+    @Override
+    public String toString() {
+        return "DateRequest[" + value + ", " + originalFormat + " -> " + desiredFormat + "]";
+    }
+}
@@ -0,0 +1,82 @@
+package xmltransformer;
+
+/**
+ * A reusable, mutable holder for the outcome of one DateTransformation call: either a text or a
+ * numeric value, or a typed error code.
+ *
+ * The overloads taking a DateResult never throw and never compare sentinel strings, so callers
+ * check {@link #isError()} instead of {@code equals("Invalid date format")}, and -1 remains a
+ * valid day difference. A holder is not thread-safe; keep one per thread and reuse it.
+ */
+public final class DateResult {
+
+    private String text;
+    private long value;
+    private DateError error = DateError.NONE;
+
+    /**
+     * @return The text of the last successful call, or null if it failed or produced a number.
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return The numeric value of the last successful call, or 0 if it failed or produced text.
+     */
+    public long value() {
+        return value;
+    }
+
+    /**
+     * @return The error of the last call, or NONE if it succeeded.
+     */
+    public DateError error() {
+        return error;
+    }
+
+    /**
+     * @return True if the last call failed.
+     */
+    public boolean isError() {
+        return error != DateError.NONE;
+    }
+
+    /**
+     * Reset the holder to an empty success.
+     */
+    public void clear() {
+        text = null;
+        value = 0;
+        error = DateError.NONE;
+    }
+
+    boolean succeed(String newText) {
+        text = newText;
+        value = 0;
+        error = DateError.NONE;
+        return true;
+    }
+
+    boolean succeed(long newValue) {
+        text = null;
+        value = newValue;
+        error = DateError.NONE;
+        return true;
+    }
+
+    boolean fail(DateError newError) {
+        text = null;
+        value = 0;
+        error = newError;
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (isError()) {
+            return "DateResult[" + error + "]";
+        }
+        return "DateResult[" + (text != null ? text : Long.toString(value)) + "]";
+    }
+}
@@ -1,15 +1,95 @@
 package xmltransformer;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.time. * ;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneRulesException;
+import java.util.List;
 
 /**
  * A class for transforming dates, manipulating dates and times, and handling errors.
  */
 public class DateTransformation {
 
+    private static final long CLOCK_RESOLUTION_MILLIS = Long.getLong("xmltransformer.clock.resolutionMillis", 1);
+
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
+    private static final DateMetrics.Stats TRANSFORM_DATE_METRICS = DateMetrics.method("transformDate");
+    private static final DateMetrics.Stats TRANSFORM_UNIX_METRICS = DateMetrics.method("transformUnix");
+    private static final DateMetrics.Stats ADD_DAYS_METRICS = DateMetrics.method("addDays");
+    private static final DateMetrics.Stats ADD_HOURS_METRICS = DateMetrics.method("addHours");
+    private static final DateMetrics.Stats ADD_MINUTES_METRICS = DateMetrics.method("addMinutes");
+    private static final DateMetrics.Stats ADD_SECONDS_METRICS = DateMetrics.method("addSeconds");
+    private static final DateMetrics.Stats ADD_MONTHS_METRICS = DateMetrics.method("addMonths");
+    private static final DateMetrics.Stats ADD_YEARS_METRICS = DateMetrics.method("addYears");
+    private static final DateMetrics.Stats GET_WEEK_NUMBER_METRICS = DateMetrics.method("getWeekNumber");
+    private static final DateMetrics.Stats GET_DAYS_REMAINING_IN_MONTH_METRICS = DateMetrics.method("getDaysRemainingInMonth");
+    private static final DateMetrics.Stats GET_AGE_METRICS = DateMetrics.method("getAge");
+    private static final DateMetrics.Stats GET_DAYS_UNTIL_FUTURE_DATE_METRICS = DateMetrics.method("getDaysUntilFutureDate");
+    private static final DateMetrics.Stats CALCULATE_DAYS_DIFFERENCE_METRICS = DateMetrics.method("calculateDaysDifference");
+    private static final DateMetrics.Stats GET_QUARTER_OF_YEAR_METRICS = DateMetrics.method("getQuarterOfYear");
+    private static final DateMetrics.Stats GET_DAY_OF_WEEK_METRICS = DateMetrics.method("getDayOfWeek");
+    private static final DateMetrics.Stats GET_DAYS_BETWEEN_METRICS = DateMetrics.method("getDaysBetween");
+    private static final DateMetrics.Stats GET_MONTHS_BETWEEN_METRICS = DateMetrics.method("getMonthsBetween");
+    private static final DateMetrics.Stats GET_YEARS_BETWEEN_METRICS = DateMetrics.method("getYearsBetween");
+    private static final DateMetrics.Stats CONVERT_TIME_ZONE_METRICS = DateMetrics.method("convertTimeZone");
+    private static final DateMetrics.Stats GET_START_OF_WEEK_METRICS = DateMetrics.method("getStartOfWeek");
+    private static final DateMetrics.Stats GET_END_OF_WEEK_METRICS = DateMetrics.method("getEndOfWeek");
+    private static final DateMetrics.Stats ADD_TIME_OFFSET_METRICS = DateMetrics.method("addTimeOffset");
+    private static final DateMetrics.Stats IS_SAME_DATE_METRICS = DateMetrics.method("isSameDate");
+    private static final DateMetrics.Stats GET_CURRENT_DATE_METRICS = DateMetrics.method("getCurrentDate");
+    private static final DateMetrics.Stats GET_CURRENT_TIME_METRICS = DateMetrics.method("getCurrentTime");
+    private static final DateMetrics.Stats GET_CURRENT_DATE_TIME_METRICS = DateMetrics.method("getCurrentDateTime");
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    // Follows the default time zone, as the original LocalDate.now() calls did
+    private static volatile CachedClock clock = CachedClock.systemDefaultZone(Duration.ofMillis(CLOCK_RESOLUTION_MILLIS));
+
+    /**
+     * Set the clock read by getCurrentDate, getCurrentTime, getCurrentDateTime, getAge and getDaysUntilFutureDate.
+     * A clock other than a CachedClock is wrapped in one with the default resolution, set with
+     * {@code -Dxmltransformer.clock.resolutionMillis=<n>} (default 1). The refresh thread of the
+     * replaced clock, if started, is stopped.
+     *
+     * @param newClock The clock to use, for example Clock.fixed in tests.
+     */
+    public static void setClock(Clock newClock) {
+        replaceClock(newClock instanceof CachedClock
+                ? (CachedClock) newClock
+                : new CachedClock(newClock, Duration.ofMillis(CLOCK_RESOLUTION_MILLIS)));
+    }
+
+    /**
+     * Go back to the default clock: the system clock in the current default time zone, with the default resolution.
+     */
+    public static void resetClock() {
+        replaceClock(CachedClock.systemDefaultZone(Duration.ofMillis(CLOCK_RESOLUTION_MILLIS)));
+    }
+
+    private static synchronized void replaceClock(CachedClock newClock) {
+        CachedClock previous = clock;
+        clock = newClock;
+        if (previous != newClock) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Get the clock read by the current-date methods.
+     *
+     * @return The current clock.
+     */
+    public static CachedClock getClock() {
+        return clock;
+    }
+
     /**
      * Transform date from one format to another.
      *
@@ -19,14 +99,37 @@ public class DateTransformation {
      * @return The transformed date string in the desired format, or "Invalid date format" if the input format is invalid.
      */
     public static String transformDate(String originalDateString, String originalFormatStr, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doTransformDate(originalDateString, originalFormatStr, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(TRANSFORM_DATE_METRICS, originalFormatStr, start, result.equals("Invalid date format"));
+        }
+        return result;
+    }
 
-        if (!isValidFormat(originalDateString, originalFormatStr)) {
+    private static String doTransformDate(String originalDateString, String originalFormatStr, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredPattern = FormatterCache.pattern(desiredFormatStr);
+
+        FixedWidthPattern fixedInput = originalFormat.fixedWidth();
+        FixedWidthPattern fixedOutput = desiredPattern.fixedWidth();
+        if (fixedInput != null && fixedOutput != null && fixedInput.hasDate() && !fixedOutput.hasTime()) {
+            long value = fixedInput.parse(originalDateString);
+            if (value == DateParser.INVALID) {
+                return "Invalid date format";
+            }
+            String formatted = value == DateParser.UNRESOLVED ? null : fixedOutput.format(value);
+            if (formatted != null) {
+                return formatted;
+            }
+        }
+
+        DateTimeFormatter desiredFormat = desiredPattern.formatter();
+        LocalDate originalDate = DateParser.parseDate(originalDateString, originalFormat);
+        if (originalDate == null) {
             return "Invalid date format";
         }
 
-        LocalDate originalDate = LocalDate.parse(originalDateString, originalFormat);
         return originalDate.format(desiredFormat);
     }
 
@@ -38,14 +141,33 @@ public class DateTransformation {
      * @return The transformed Unix timestamp string in the desired format, or "Invalid Unix timestamp" if the timestamp is invalid.
      */
     public static String transformUnix(long unixTimestamp, String desiredFormatStr) {
+        long start = DateMetrics.start();
+        String result = doTransformUnix(unixTimestamp, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(TRANSFORM_UNIX_METRICS, desiredFormatStr, start, result.equals("Invalid Unix timestamp"));
+        }
+        return result;
+    }
+
+    private static String doTransformUnix(long unixTimestamp, String desiredFormatStr) {
         if (unixTimestamp < 0) {
             return "Invalid Unix timestamp";
         }
 
+        DatePattern desiredPattern = FormatterCache.pattern(desiredFormatStr);
+        ZoneId zoneId = ZoneId.systemDefault();
         Instant instant = Instant.ofEpochSecond(unixTimestamp);
-        LocalDateTime dateTime = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(desiredFormatStr);
-        return dateTime.format(formatter);
+
+        FixedWidthPattern fixedOutput = desiredPattern.fixedWidth();
+        if (fixedOutput != null) {
+            String formatted = fixedOutput.format(ZoneTransitionIndex.of(zoneId).toLocalEpochSecond(unixTimestamp));
+            if (formatted != null) {
+                return formatted;
+            }
+        }
+
+        LocalDateTime dateTime = LocalDateTime.ofInstant(instant, zoneId);
+        return dateTime.format(desiredPattern.formatter());
     }
 
     /**
@@ -58,14 +180,23 @@ public class DateTransformation {
      * @return The modified date string after adding days, or "Invalid date format" if the input format is invalid.
      */
     public static String addDays(String originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doAddDays(originalDateString, originalFormatStr, daysToAdd, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_DAYS_METRICS, originalFormatStr, start, result.equals("Invalid date format"));
+        }
+        return result;
+    }
 
-        if (!isValidFormat(originalDateString, originalFormatStr)) {
+    private static String doAddDays(String originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DateTimeFormatter desiredFormat = FormatterCache.get(desiredFormatStr);
+
+        LocalDate originalDate = DateParser.parseDate(originalDateString, originalFormat);
+        if (originalDate == null) {
             return "Invalid date format";
         }
 
-        LocalDate originalDate = LocalDate.parse(originalDateString, originalFormat);
         LocalDate modifiedDate = originalDate.plusDays(daysToAdd);
         return modifiedDate.format(desiredFormat);
     }
@@ -80,14 +211,27 @@ public class DateTransformation {
      * @return The modified time string after adding hours, or "Invalid time format" if the input format is invalid.
      */
     public static String addHours(String originalTimeString, String originalFormatStr, long hoursToAdd, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doAddHours(originalTimeString, originalFormatStr, hoursToAdd, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_HOURS_METRICS, originalFormatStr, start, result.equals("Invalid time format"));
+        }
+        return result;
+    }
+
+    private static String doAddHours(String originalTimeString, String originalFormatStr, long hoursToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredPattern = FormatterCache.pattern(desiredFormatStr);
+        if (!desiredPattern.canFormat(TemporalKind.TIME)) {
+            return "Invalid time format"; // A time has no date or zone fields to print
+        }
+        DateTimeFormatter desiredFormat = desiredPattern.formatter();
 
-        if (!isValidFormat(originalTimeString, originalFormatStr)) {
+        LocalTime originalTime = DateParser.parseTime(originalTimeString, originalFormat);
+        if (originalTime == null) {
             return "Invalid time format";
         }
 
-        LocalTime originalTime = LocalTime.parse(originalTimeString, originalFormat);
         LocalTime modifiedTime = originalTime.plusHours(hoursToAdd);
         return modifiedTime.format(desiredFormat);
     }
@@ -102,14 +246,27 @@ public class DateTransformation {
      * @return The modified time string after adding minutes, or "Invalid time format" if the input format is invalid.
      */
     public static String addMinutes(String originalTimeString, String originalFormatStr, long minutesToAdd, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doAddMinutes(originalTimeString, originalFormatStr, minutesToAdd, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_MINUTES_METRICS, originalFormatStr, start, result.equals("Invalid time format"));
+        }
+        return result;
+    }
+
+    private static String doAddMinutes(String originalTimeString, String originalFormatStr, long minutesToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredPattern = FormatterCache.pattern(desiredFormatStr);
+        if (!desiredPattern.canFormat(TemporalKind.TIME)) {
+            return "Invalid time format"; // A time has no date or zone fields to print
+        }
+        DateTimeFormatter desiredFormat = desiredPattern.formatter();
 
-        if (!isValidFormat(originalTimeString, originalFormatStr)) {
+        LocalTime originalTime = DateParser.parseTime(originalTimeString, originalFormat);
+        if (originalTime == null) {
             return "Invalid time format";
         }
 
-        LocalTime originalTime = LocalTime.parse(originalTimeString, originalFormat);
         LocalTime modifiedTime = originalTime.plusMinutes(minutesToAdd);
         return modifiedTime.format(desiredFormat);
     }
@@ -124,14 +281,27 @@ public class DateTransformation {
      * @return The modified time string after adding seconds, or "Invalid time format" if the input format is invalid.
      */
     public static String addSeconds(String originalTimeString, String originalFormatStr, long secondsToAdd, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doAddSeconds(originalTimeString, originalFormatStr, secondsToAdd, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_SECONDS_METRICS, originalFormatStr, start, result.equals("Invalid time format"));
+        }
+        return result;
+    }
+
+    private static String doAddSeconds(String originalTimeString, String originalFormatStr, long secondsToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredPattern = FormatterCache.pattern(desiredFormatStr);
+        if (!desiredPattern.canFormat(TemporalKind.TIME)) {
+            return "Invalid time format"; // A time has no date or zone fields to print
+        }
+        DateTimeFormatter desiredFormat = desiredPattern.formatter();
 
-        if (!isValidFormat(originalTimeString, originalFormatStr)) {
+        LocalTime originalTime = DateParser.parseTime(originalTimeString, originalFormat);
+        if (originalTime == null) {
             return "Invalid time format";
         }
 
-        LocalTime originalTime = LocalTime.parse(originalTimeString, originalFormat);
         LocalTime modifiedTime = originalTime.plusSeconds(secondsToAdd);
         return modifiedTime.format(desiredFormat);
     }
@@ -146,14 +316,23 @@ public class DateTransformation {
      * @return The modified date string after adding months, or "Invalid date format" if the input format is invalid.
      */
     public static String addMonths(String originalDateString, String originalFormatStr, long monthsToAdd, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doAddMonths(originalDateString, originalFormatStr, monthsToAdd, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_MONTHS_METRICS, originalFormatStr, start, result.equals("Invalid date format"));
+        }
+        return result;
+    }
+
+    private static String doAddMonths(String originalDateString, String originalFormatStr, long monthsToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DateTimeFormatter desiredFormat = FormatterCache.get(desiredFormatStr);
 
-        if (!isValidFormat(originalDateString, originalFormatStr)) {
+        LocalDate originalDate = DateParser.parseDate(originalDateString, originalFormat);
+        if (originalDate == null) {
             return "Invalid date format";
         }
 
-        LocalDate originalDate = LocalDate.parse(originalDateString, originalFormat);
         LocalDate modifiedDate = originalDate.plusMonths(monthsToAdd);
         return modifiedDate.format(desiredFormat);
     }
@@ -168,14 +347,23 @@ public class DateTransformation {
      * @return The modified date string after adding years, or "Invalid date format" if the input format is invalid.
      */
     public static String addYears(String originalDateString, String originalFormatStr, long yearsToAdd, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doAddYears(originalDateString, originalFormatStr, yearsToAdd, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_YEARS_METRICS, originalFormatStr, start, result.equals("Invalid date format"));
+        }
+        return result;
+    }
 
-        if (!isValidFormat(originalDateString, originalFormatStr)) {
+    private static String doAddYears(String originalDateString, String originalFormatStr, long yearsToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DateTimeFormatter desiredFormat = FormatterCache.get(desiredFormatStr);
+
+        LocalDate originalDate = DateParser.parseDate(originalDateString, originalFormat);
+        if (originalDate == null) {
             return "Invalid date format";
         }
 
-        LocalDate originalDate = LocalDate.parse(originalDateString, originalFormat);
         LocalDate modifiedDate = originalDate.plusYears(yearsToAdd);
         return modifiedDate.format(desiredFormat);
     }
@@ -187,7 +375,7 @@ public class DateTransformation {
      * @return True if the year is a leap year, false otherwise.
      */
     public static boolean isLeapYear(int year) {
-        return Year.of(year).isLeap();
+        return CalendarTable.isLeapYear(year);
     }
 
     /**
@@ -198,14 +386,21 @@ public class DateTransformation {
      * @return The week number of the year as an integer, or -1 if the input format is invalid.
      */
     public static int getWeekNumber(String dateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetWeekNumber(dateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_WEEK_NUMBER_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : (int) result;
+    }
 
-        if (!isValidFormat(dateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetWeekNumber(String dateString, String formatStr) {
+        long epochDay = DateParser.parseEpochDay(dateString, FormatterCache.pattern(formatStr));
+        if (epochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate date = LocalDate.parse(dateString, formatter);
-        return date.get(WeekFields.ISO.weekOfWeekBasedYear());
+        return CalendarTable.isoWeekOf(epochDay);
     }
 
     /**
@@ -216,7 +411,7 @@ public class DateTransformation {
      * @return The number of days in the specified month and year.
      */
     public static int getDaysInMonth(int year, int month) {
-        return YearMonth.of(year, month).lengthOfMonth();
+        return CalendarTable.lengthOfMonth(year, month);
     }
 
     /**
@@ -227,15 +422,21 @@ public class DateTransformation {
      * @return The number of days remaining in the current month, or -1 if the input format is invalid.
      */
     public static int getDaysRemainingInMonth(String dateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetDaysRemainingInMonth(dateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAYS_REMAINING_IN_MONTH_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : (int) result;
+    }
 
-        if (!isValidFormat(dateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetDaysRemainingInMonth(String dateString, String formatStr) {
+        long epochDay = DateParser.parseEpochDay(dateString, FormatterCache.pattern(formatStr));
+        if (epochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate date = LocalDate.parse(dateString, formatter);
-        YearMonth yearMonth = YearMonth.from(date);
-        return yearMonth.lengthOfMonth() - date.getDayOfMonth();
+        return CalendarTable.daysRemainingInMonth(epochDay);
     }
 
     /**
@@ -246,14 +447,21 @@ public class DateTransformation {
      * @return The age in years, or -1 if the input format is invalid.
      */
     public static int getAge(String birthDateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetAge(birthDateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_AGE_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : (int) result;
+    }
 
-        if (!isValidFormat(birthDateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetAge(String birthDateString, String formatStr) {
+        LocalDate birthDate = DateParser.parseDate(birthDateString, FormatterCache.pattern(formatStr));
+        if (birthDate == null) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate birthDate = LocalDate.parse(birthDateString, formatter);
-        LocalDate currentDate = LocalDate.now();
+        LocalDate currentDate = clock.date();
         return Period.between(birthDate, currentDate).getYears();
     }
 
@@ -265,15 +473,21 @@ public class DateTransformation {
      * @return The number of days between the current date and the future date, or -1 if the input format is invalid.
      */
     public static long getDaysUntilFutureDate(String futureDateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetDaysUntilFutureDate(futureDateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAYS_UNTIL_FUTURE_DATE_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : result;
+    }
 
-        if (!isValidFormat(futureDateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetDaysUntilFutureDate(String futureDateString, String formatStr) {
+        long futureEpochDay = DateParser.parseEpochDay(futureDateString, FormatterCache.pattern(formatStr));
+        if (futureEpochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate futureDate = LocalDate.parse(futureDateString, formatter);
-        LocalDate currentDate = LocalDate.now();
-        return ChronoUnit.DAYS.between(currentDate, futureDate);
+        return EpochCalendar.daysBetween(clock.epochDay(), futureEpochDay);
     }
 
     /**
@@ -285,14 +499,23 @@ public class DateTransformation {
      * @return The number of days between the start and end dates, or -1 if the input format is invalid.
      */
     public static long calculateDaysDifference(String startDateString, String endDateString, String formatStr) {
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
-            LocalDate startDate = LocalDate.parse(startDateString, formatter);
-            LocalDate endDate = LocalDate.parse(endDateString, formatter);
-            return ChronoUnit.DAYS.between(startDate, endDate);
-        } catch (DateTimeParseException e) {
-            return -1; // Error: Invalid date format
+        long start = DateMetrics.start();
+        long result = doCalculateDaysDifference(startDateString, endDateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(CALCULATE_DAYS_DIFFERENCE_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : result;
+    }
+
+    private static long doCalculateDaysDifference(String startDateString, String endDateString, String formatStr) {
+        DatePattern format = FormatterCache.pattern(formatStr);
+        long startEpochDay = DateParser.parseEpochDay(startDateString, format);
+        long endEpochDay = DateParser.parseEpochDay(endDateString, format);
+        if (startEpochDay == DateParser.INVALID || endEpochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
+
+        return EpochCalendar.daysBetween(startEpochDay, endEpochDay);
     }
 
     /**
@@ -303,15 +526,21 @@ public class DateTransformation {
      * @return The quarter of the year as an integer (1, 2, 3, or 4), or -1 if the input format is invalid.
      */
     public static int getQuarterOfYear(String dateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetQuarterOfYear(dateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_QUARTER_OF_YEAR_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : (int) result;
+    }
 
-        if (!isValidFormat(dateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetQuarterOfYear(String dateString, String formatStr) {
+        long epochDay = DateParser.parseEpochDay(dateString, FormatterCache.pattern(formatStr));
+        if (epochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate date = LocalDate.parse(dateString, formatter);
-        int monthValue = date.getMonthValue();
-        return (monthValue - 1) / 3 + 1;
+        return CalendarTable.quarterOf(epochDay);
     }
 
     /**
@@ -321,9 +550,12 @@ public class DateTransformation {
      * @return The current date string in the specified format.
      */
     public static String getCurrentDate(String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
-        LocalDate currentDate = LocalDate.now();
-        return currentDate.format(formatter);
+        long start = DateMetrics.start();
+        String result = clock.formatDate(formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_CURRENT_DATE_METRICS, formatStr, start, false);
+        }
+        return result;
     }
 
     /**
@@ -333,9 +565,12 @@ public class DateTransformation {
      * @return The current time string in the specified format.
      */
     public static String getCurrentTime(String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
-        LocalTime currentTime = LocalTime.now();
-        return currentTime.format(formatter);
+        long start = DateMetrics.start();
+        String result = clock.formatTime(formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_CURRENT_TIME_METRICS, formatStr, start, false);
+        }
+        return result;
     }
 
     /**
@@ -345,9 +580,12 @@ public class DateTransformation {
      * @return The current date and time string in the specified format.
      */
     public static String getCurrentDateTime(String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
-        LocalDateTime currentDateTime = LocalDateTime.now();
-        return currentDateTime.format(formatter);
+        long start = DateMetrics.start();
+        String result = clock.formatDateTime(formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_CURRENT_DATE_TIME_METRICS, formatStr, start, false);
+        }
+        return result;
     }
 
     /**
@@ -358,14 +596,21 @@ public class DateTransformation {
      * @return The day of the week as a string (e.g., "Monday"), or "Invalid date format" if the input format is invalid.
      */
     public static String getDayOfWeek(String dateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        String result = doGetDayOfWeek(dateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAY_OF_WEEK_METRICS, formatStr, start, result.equals("Invalid date format"));
+        }
+        return result;
+    }
 
-        if (!isValidFormat(dateString, formatStr)) {
+    private static String doGetDayOfWeek(String dateString, String formatStr) {
+        long epochDay = DateParser.parseEpochDay(dateString, FormatterCache.pattern(formatStr));
+        if (epochDay == DateParser.INVALID) {
             return "Invalid date format";
         }
 
-        LocalDate date = LocalDate.parse(dateString, formatter);
-        return date.getDayOfWeek().toString();
+        return DayOfWeek.of(CalendarTable.dayOfWeekOf(epochDay)).toString();
     }
 
     /**
@@ -377,15 +622,23 @@ public class DateTransformation {
      * @return The number of days between the two dates, or -1 if the input format is invalid.
      */
     public static long getDaysBetween(String startDateString, String endDateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetDaysBetween(startDateString, endDateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAYS_BETWEEN_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : result;
+    }
 
-        if (!isValidFormat(startDateString, formatStr) || !isValidFormat(endDateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetDaysBetween(String startDateString, String endDateString, String formatStr) {
+        DatePattern format = FormatterCache.pattern(formatStr);
+        long startEpochDay = DateParser.parseEpochDay(startDateString, format);
+        long endEpochDay = DateParser.parseEpochDay(endDateString, format);
+        if (startEpochDay == DateParser.INVALID || endEpochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate startDate = LocalDate.parse(startDateString, formatter);
-        LocalDate endDate = LocalDate.parse(endDateString, formatter);
-        return ChronoUnit.DAYS.between(startDate, endDate);
+        return EpochCalendar.daysBetween(startEpochDay, endEpochDay);
     }
 
     /**
@@ -397,15 +650,23 @@ public class DateTransformation {
      * @return The number of months between the two dates, or -1 if the input format is invalid.
      */
     public static long getMonthsBetween(String startDateString, String endDateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetMonthsBetween(startDateString, endDateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_MONTHS_BETWEEN_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : result;
+    }
 
-        if (!isValidFormat(startDateString, formatStr) || !isValidFormat(endDateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetMonthsBetween(String startDateString, String endDateString, String formatStr) {
+        DatePattern format = FormatterCache.pattern(formatStr);
+        long startEpochDay = DateParser.parseEpochDay(startDateString, format);
+        long endEpochDay = DateParser.parseEpochDay(endDateString, format);
+        if (startEpochDay == DateParser.INVALID || endEpochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate startDate = LocalDate.parse(startDateString, formatter);
-        LocalDate endDate = LocalDate.parse(endDateString, formatter);
-        return ChronoUnit.MONTHS.between(startDate, endDate);
+        return EpochCalendar.monthsBetween(startEpochDay, endEpochDay);
     }
 
     /**
@@ -417,15 +678,23 @@ public class DateTransformation {
      * @return The number of years between the two dates, or -1 if the input format is invalid.
      */
     public static long getYearsBetween(String startDateString, String endDateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        long result = doGetYearsBetween(startDateString, endDateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_YEARS_BETWEEN_METRICS, formatStr, start, result == DateParser.INVALID);
+        }
+        return result == DateParser.INVALID ? -1 : result;
+    }
 
-        if (!isValidFormat(startDateString, formatStr) || !isValidFormat(endDateString, formatStr)) {
-            return -1; // Error: Invalid date format
+    private static long doGetYearsBetween(String startDateString, String endDateString, String formatStr) {
+        DatePattern format = FormatterCache.pattern(formatStr);
+        long startEpochDay = DateParser.parseEpochDay(startDateString, format);
+        long endEpochDay = DateParser.parseEpochDay(endDateString, format);
+        if (startEpochDay == DateParser.INVALID || endEpochDay == DateParser.INVALID) {
+            return DateParser.INVALID; // Error: Invalid date format
         }
 
-        LocalDate startDate = LocalDate.parse(startDateString, formatter);
-        LocalDate endDate = LocalDate.parse(endDateString, formatter);
-        return ChronoUnit.YEARS.between(startDate, endDate);
+        return EpochCalendar.yearsBetween(startEpochDay, endEpochDay);
     }
 
     /**
@@ -439,15 +708,26 @@ public class DateTransformation {
      * @return The transformed date string in the desired timezone and format, or "Invalid date format" if the input format is invalid.
      */
     public static String convertTimeZone(String originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr) {
+        long start = DateMetrics.start();
+        String result = doConvertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(CONVERT_TIME_ZONE_METRICS, originalFormatStr, start, result.equals("Invalid date format or timezone"));
+        }
+        return result;
+    }
+
+    private static String doConvertTimeZone(String originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr) {
         try {
-            ZoneId originalZoneId = ZoneId.of(originalZoneIdStr);
-            ZoneId desiredZoneId = ZoneId.of(desiredZoneIdStr);
-            DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-            DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
-            ZonedDateTime originalDateTime = ZonedDateTime.of(LocalDateTime.parse(originalDateString, originalFormat), originalZoneId);
-            ZonedDateTime desiredDateTime = originalDateTime.withZoneSameInstant(desiredZoneId);
-            return desiredDateTime.format(desiredFormat);
-        } catch (DateTimeParseException | ZoneRulesException e) {
+            ZoneTransitionIndex originalZone = ZoneTransitionIndex.of(originalZoneIdStr);
+            ZoneTransitionIndex desiredZone = ZoneTransitionIndex.of(desiredZoneIdStr);
+            DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+            DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+            StringBuilder converted = new StringBuilder(32);
+            if (!DateBatch.convertTimeZone(originalDateString, originalZone, desiredZone, originalFormat, desiredFormat, converted)) {
+                return "Invalid date format or timezone";
+            }
+            return converted.toString();
+        } catch (ZoneRulesException e) {
             return "Invalid date format or timezone";
         }
     }
@@ -460,14 +740,21 @@ public class DateTransformation {
      * @return The start of the week as a LocalDate object, or null if the input format is invalid.
      */
     public static LocalDate getStartOfWeek(String dateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        LocalDate result = doGetStartOfWeek(dateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_START_OF_WEEK_METRICS, formatStr, start, result == null);
+        }
+        return result;
+    }
 
-        if (!isValidFormat(dateString, formatStr)) {
+    private static LocalDate doGetStartOfWeek(String dateString, String formatStr) {
+        long epochDay = DateParser.parseEpochDay(dateString, FormatterCache.pattern(formatStr));
+        if (epochDay == DateParser.INVALID) {
             return null; // Error: Invalid date format
         }
 
-        LocalDate date = LocalDate.parse(dateString, formatter);
-        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return LocalDate.ofEpochDay(CalendarTable.startOfWeek(epochDay));
     }
 
     /**
@@ -478,14 +765,21 @@ public class DateTransformation {
      * @return The end of the week as a LocalDate object, or null if the input format is invalid.
      */
     public static LocalDate getEndOfWeek(String dateString, String formatStr) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
+        long start = DateMetrics.start();
+        LocalDate result = doGetEndOfWeek(dateString, formatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_END_OF_WEEK_METRICS, formatStr, start, result == null);
+        }
+        return result;
+    }
 
-        if (!isValidFormat(dateString, formatStr)) {
+    private static LocalDate doGetEndOfWeek(String dateString, String formatStr) {
+        long epochDay = DateParser.parseEpochDay(dateString, FormatterCache.pattern(formatStr));
+        if (epochDay == DateParser.INVALID) {
             return null; // Error: Invalid date format
         }
 
-        LocalDate date = LocalDate.parse(dateString, formatter);
-        return date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        return LocalDate.ofEpochDay(CalendarTable.endOfWeek(epochDay));
     }
 
     /**
@@ -498,16 +792,15 @@ public class DateTransformation {
      * @return True if the dates are the same, false otherwise.
      */
     public static boolean isSameDate(String dateString1, String formatStr1, String dateString2, String formatStr2) {
-        DateTimeFormatter formatter1 = DateTimeFormatter.ofPattern(formatStr1);
-        DateTimeFormatter formatter2 = DateTimeFormatter.ofPattern(formatStr2);
-
-        if (!isValidFormat(dateString1, formatStr1) || !isValidFormat(dateString2, formatStr2)) {
-            return false; // Error: Invalid date format
+        long start = DateMetrics.start();
+        long epochDay1 = DateParser.parseEpochDay(dateString1, FormatterCache.pattern(formatStr1));
+        long epochDay2 = DateParser.parseEpochDay(dateString2, FormatterCache.pattern(formatStr2));
+        boolean invalid = epochDay1 == DateParser.INVALID || epochDay2 == DateParser.INVALID; // Error: Invalid date format
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(IS_SAME_DATE_METRICS, formatStr1, start, invalid);
         }
 
-        LocalDate date1 = LocalDate.parse(dateString1, formatter1);
-        LocalDate date2 = LocalDate.parse(dateString2, formatter2);
-        return date1.isEqual(date2);
+        return !invalid && epochDay1 == epochDay2;
     }
 
     /**
@@ -520,32 +813,1219 @@ public class DateTransformation {
      * @return The modified time string after adding the offset, or "Invalid time format" if the input format is invalid.
      */
     public static String addTimeOffset(String originalTimeString, String originalFormatStr, long offsetToAdd, String desiredFormatStr) {
-        DateTimeFormatter originalFormat = DateTimeFormatter.ofPattern(originalFormatStr);
-        DateTimeFormatter desiredFormat = DateTimeFormatter.ofPattern(desiredFormatStr);
+        long start = DateMetrics.start();
+        String result = doAddTimeOffset(originalTimeString, originalFormatStr, offsetToAdd, desiredFormatStr);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_TIME_OFFSET_METRICS, originalFormatStr, start, result.equals("Invalid time format"));
+        }
+        return result;
+    }
+
+    private static String doAddTimeOffset(String originalTimeString, String originalFormatStr, long offsetToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredPattern = FormatterCache.pattern(desiredFormatStr);
+        if (!desiredPattern.canFormat(TemporalKind.TIME)) {
+            return "Invalid time format"; // A time has no date or zone fields to print
+        }
+        DateTimeFormatter desiredFormat = desiredPattern.formatter();
 
-        if (!isValidFormat(originalTimeString, originalFormatStr)) {
+        LocalTime originalTime = DateParser.parseTime(originalTimeString, originalFormat);
+        if (originalTime == null) {
             return "Invalid time format";
         }
 
-        LocalTime originalTime = LocalTime.parse(originalTimeString, originalFormat);
         LocalTime modifiedTime = originalTime.plusSeconds(offsetToAdd);
         return modifiedTime.format(desiredFormat);
     }
 
     /**
-     * Check if a given string is in a valid format.
+     * Transform a batch of dates from one format to another.
+     *
+     * @param originalDateStrings The original date strings.
+     * @param originalFormatStr   The format of the original date strings.
+     * @param desiredFormatStr    The desired output format for the transformed dates.
+     * @return The transformed dates, with invalid inputs marked in the error bitmap.
+     */
+    public static BatchResult transformDate(String[] originalDateStrings, String originalFormatStr, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+
+        long start = DateMetrics.start();
+        BatchResult result = new BatchResult(originalDateStrings.length);
+        DateBatch.transformDate(originalDateStrings, originalFormat, desiredFormat, result, 0, originalDateStrings.length);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.recordBatch(TRANSFORM_DATE_METRICS, originalFormatStr, start, result.size(), result.errorCount());
+        }
+        return result;
+    }
+
+    /**
+     * Transform a list of dates from one format to another.
+     *
+     * @param originalDateStrings The original date strings.
+     * @param originalFormatStr   The format of the original date strings.
+     * @param desiredFormatStr    The desired output format for the transformed dates.
+     * @return The transformed dates, with invalid inputs marked in the error bitmap.
+     */
+    public static BatchResult transformDate(List<String> originalDateStrings, String originalFormatStr, String desiredFormatStr) {
+        return transformDate(originalDateStrings.toArray(new String[0]), originalFormatStr, desiredFormatStr);
+    }
+
+    /**
+     * Add days to a batch of dates.
+     *
+     * @param originalDateStrings The original date strings.
+     * @param originalFormatStr   The format of the original date strings.
+     * @param daysToAdd           The number of days to add.
+     * @param desiredFormatStr    The desired output format.
+     * @return The modified dates, with invalid inputs marked in the error bitmap.
+     */
+    public static BatchResult addDays(String[] originalDateStrings, String originalFormatStr, long daysToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DateTimeFormatter desiredFormat = FormatterCache.get(desiredFormatStr);
+
+        long start = DateMetrics.start();
+        BatchResult result = new BatchResult(originalDateStrings.length);
+        DateBatch.addDays(originalDateStrings, originalFormat, daysToAdd, desiredFormat, result, 0, originalDateStrings.length);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.recordBatch(ADD_DAYS_METRICS, originalFormatStr, start, result.size(), result.errorCount());
+        }
+        return result;
+    }
+
+    /**
+     * Convert a batch of date strings from one timezone to another.
      *
-     * @param dateString  The date or time string to check.
-     * @param formatStr   The expected format of the date or time string.
-     * @return True if the string is in the expected format, false otherwise.
+     * @param originalDateStrings The original date strings.
+     * @param originalZoneIdStr   The timezone of the original dates.
+     * @param desiredZoneIdStr    The desired timezone for the output.
+     * @param originalFormatStr   The format of the original date strings.
+     * @param desiredFormatStr    The desired output format.
+     * @return The converted dates, with invalid inputs marked in the error bitmap. If a timezone is invalid, every element is marked.
      */
-    private static boolean isValidFormat(String dateString, String formatStr) {
+    public static BatchResult convertTimeZone(String[] originalDateStrings, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+
+        long start = DateMetrics.start();
+        BatchResult result = new BatchResult(originalDateStrings.length);
+        ZoneTransitionIndex originalZone = null;
+        ZoneTransitionIndex desiredZone = null;
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(formatStr);
-            LocalDate.parse(dateString, formatter);
+            originalZone = ZoneTransitionIndex.of(originalZoneIdStr);
+            desiredZone = ZoneTransitionIndex.of(desiredZoneIdStr);
+        } catch (ZoneRulesException e) {
+            DateBatch.failAll(result);
+        }
+
+        if (desiredZone != null) {
+            DateBatch.convertTimeZone(originalDateStrings, originalZone, desiredZone, originalFormat, desiredFormat, result, 0, originalDateStrings.length);
+        }
+        if (DateMetrics.ENABLED) {
+            DateMetrics.recordBatch(CONVERT_TIME_ZONE_METRICS, originalFormatStr, start, result.size(), result.errorCount());
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of days between pairs of dates.
+     *
+     * @param startDateStrings The start date strings.
+     * @param endDateStrings   The end date strings, paired with the start dates by index.
+     * @param formatStr        The format of the date strings.
+     * @return The number of days between each pair, with invalid pairs marked in the error bitmap.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public static LongBatchResult getDaysBetween(String[] startDateStrings, String[] endDateStrings, String formatStr) {
+        if (startDateStrings.length != endDateStrings.length) {
+            throw new IllegalArgumentException("Start and end arrays differ in length: " + startDateStrings.length + " != " + endDateStrings.length);
+        }
+        DatePattern format = FormatterCache.pattern(formatStr);
+
+        long start = DateMetrics.start();
+        LongBatchResult result = new LongBatchResult(startDateStrings.length);
+        DateBatch.getDaysBetween(startDateStrings, endDateStrings, format, result, 0, startDateStrings.length);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.recordBatch(GET_DAYS_BETWEEN_METRICS, formatStr, start, result.size(), result.errorCount());
+        }
+        return result;
+    }
+
+    /**
+     * Transform date from one format to another, appending the result to a caller-supplied builder.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format for the transformed date.
+     * @param out                The builder to append the transformed date to.
+     * @return False if the input format is invalid, in which case nothing is appended.
+     */
+    public static boolean transformDate(CharSequence originalDateString, String originalFormatStr, String desiredFormatStr, StringBuilder out) {
+        long start = DateMetrics.start();
+        boolean succeeded = doTransformDate(originalDateString, originalFormatStr, desiredFormatStr, out);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(TRANSFORM_DATE_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doTransformDate(CharSequence originalDateString, String originalFormatStr, String desiredFormatStr, StringBuilder out) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+
+        FixedWidthPattern fixedInput = originalFormat.fixedWidth();
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        if (fixedInput != null && fixedOutput != null && fixedInput.hasDate() && !fixedOutput.hasTime()) {
+            long value = fixedInput.parse(originalDateString);
+            if (value == DateParser.INVALID) {
+                return false;
+            }
+            if (value != DateParser.UNRESOLVED && fixedOutput.formatTo(value, out)) {
+                return true;
+            }
+        }
+
+        LocalDate originalDate = DateParser.parseDate(originalDateString, originalFormat);
+        if (originalDate == null) {
+            return false;
+        }
+        formatTo(originalDate, desiredFormat, out);
+        return true;
+    }
+
+    /**
+     * Transform Unix timestamp to a given format, appending the result to a caller-supplied builder.
+     *
+     * @param unixTimestamp    The Unix timestamp.
+     * @param desiredFormatStr The desired output format.
+     * @param out              The builder to append the formatted timestamp to.
+     * @return False if the timestamp is negative, in which case nothing is appended.
+     */
+    public static boolean transformUnix(long unixTimestamp, String desiredFormatStr, StringBuilder out) {
+        long start = DateMetrics.start();
+        boolean succeeded = doTransformUnix(unixTimestamp, desiredFormatStr, out);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(TRANSFORM_UNIX_METRICS, desiredFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doTransformUnix(long unixTimestamp, String desiredFormatStr, StringBuilder out) {
+        if (unixTimestamp < 0) {
+            return false;
+        }
+
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+        ZoneId zoneId = ZoneId.systemDefault();
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        if (fixedOutput != null && fixedOutput.formatTo(ZoneTransitionIndex.of(zoneId).toLocalEpochSecond(unixTimestamp), out)) {
+            return true;
+        }
+
+        formatTo(LocalDateTime.ofInstant(Instant.ofEpochSecond(unixTimestamp), zoneId), desiredFormat, out);
+        return true;
+    }
+
+    /**
+     * Add days to a given date, appending the result to a caller-supplied builder.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param daysToAdd          The number of days to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param out                The builder to append the modified date to.
+     * @return False if the input format is invalid, in which case nothing is appended.
+     * @throws DateTimeException if the modified date is outside the range of LocalDate.
+     */
+    public static boolean addDays(CharSequence originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr, StringBuilder out) {
+        long start = DateMetrics.start();
+        boolean succeeded = doAddDays(originalDateString, originalFormatStr, daysToAdd, desiredFormatStr, out);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_DAYS_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doAddDays(CharSequence originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr, StringBuilder out) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+
+        long epochDay = DateParser.parseEpochDay(originalDateString, originalFormat);
+        if (epochDay == DateParser.INVALID) {
+            return false;
+        }
+        // Both differences are within range, as epochDay is
+        if (daysToAdd > MAX_EPOCH_DAY - epochDay || daysToAdd < MIN_EPOCH_DAY - epochDay) {
+            throw new DateTimeException("Adding " + daysToAdd + " days to " + originalDateString + " is outside the range of LocalDate");
+        }
+        long modifiedEpochDay = epochDay + daysToAdd;
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        if (fixedOutput != null && !fixedOutput.hasTime()
+                && fixedOutput.formatTo(modifiedEpochDay * EpochCalendar.SECONDS_PER_DAY, out)) {
             return true;
-        } catch (DateTimeParseException e) {
+        }
+
+        formatTo(LocalDate.ofEpochDay(modifiedEpochDay), desiredFormat, out);
+        return true;
+    }
+
+    /**
+     * Convert a date string from one timezone to another, appending the result to a caller-supplied builder.
+     *
+     * @param originalDateString The original date string.
+     * @param originalZoneIdStr  The timezone of the original date.
+     * @param desiredZoneIdStr   The desired timezone for the output.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format.
+     * @param out                The builder to append the converted date to.
+     * @return False if the input format or a timezone is invalid, in which case nothing is appended.
+     */
+    public static boolean convertTimeZone(CharSequence originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr, StringBuilder out) {
+        long start = DateMetrics.start();
+        boolean succeeded = doConvertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr, out);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(CONVERT_TIME_ZONE_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doConvertTimeZone(CharSequence originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr, StringBuilder out) {
+        ZoneTransitionIndex originalZone;
+        ZoneTransitionIndex desiredZone;
+        try {
+            originalZone = ZoneTransitionIndex.of(originalZoneIdStr);
+            desiredZone = ZoneTransitionIndex.of(desiredZoneIdStr);
+        } catch (ZoneRulesException e) {
+            return false;
+        }
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+
+        int mark = out.length();
+        try {
+            return DateBatch.convertTimeZone(originalDateString, originalZone, desiredZone, originalFormat, desiredFormat, out);
+        } catch (RuntimeException e) {
+            out.setLength(mark);
+            throw e;
+        }
+    }
+
+    /**
+     * Transform date from one format to another, appending the result to a caller-supplied sink.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format for the transformed date.
+     * @param out                The sink to append the transformed date to.
+     * @return False if the input format is invalid, in which case nothing is appended.
+     * @throws IOException if the sink fails.
+     */
+    public static boolean transformDate(CharSequence originalDateString, String originalFormatStr, String desiredFormatStr, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return transformDate(originalDateString, originalFormatStr, desiredFormatStr, (StringBuilder) out);
+        }
+        StringBuilder scratch = scratch();
+        if (!transformDate(originalDateString, originalFormatStr, desiredFormatStr, scratch)) {
+            return false;
+        }
+        out.append(scratch);
+        return true;
+    }
+
+    /**
+     * Transform date from one format to another, writing the result into a caller-supplied buffer.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format for the transformed date.
+     * @param buffer             The buffer to write the transformed date to.
+     * @param offset             The index of the first char to write.
+     * @return The number of chars written, or -1 if the input format is invalid.
+     * @throws IndexOutOfBoundsException if the buffer is too small.
+     */
+    public static int transformDate(CharSequence originalDateString, String originalFormatStr, String desiredFormatStr, char[] buffer, int offset) {
+        StringBuilder scratch = scratch();
+        if (!transformDate(originalDateString, originalFormatStr, desiredFormatStr, scratch)) {
+            return -1;
+        }
+        return copy(scratch, buffer, offset);
+    }
+
+    /**
+     * Transform date from one format to another, writing the result as ASCII into a caller-supplied buffer. Non-ASCII chars are written as '?'.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format for the transformed date.
+     * @param out                The buffer to write the transformed date to, as ASCII.
+     * @return False if the input format is invalid, in which case nothing is written.
+     * @throws java.nio.BufferOverflowException if the buffer has too little room; nothing is written.
+     */
+    public static boolean transformDate(CharSequence originalDateString, String originalFormatStr, String desiredFormatStr, ByteBuffer out) {
+        StringBuilder scratch = scratch();
+        if (!transformDate(originalDateString, originalFormatStr, desiredFormatStr, scratch)) {
+            return false;
+        }
+        copy(scratch, out);
+        return true;
+    }
+
+    /**
+     * Transform Unix timestamp to a given format, appending the result to a caller-supplied sink.
+     *
+     * @param unixTimestamp    The Unix timestamp.
+     * @param desiredFormatStr The desired output format.
+     * @param out              The sink to append the formatted timestamp to.
+     * @return False if the timestamp is negative, in which case nothing is appended.
+     * @throws IOException if the sink fails.
+     */
+    public static boolean transformUnix(long unixTimestamp, String desiredFormatStr, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return transformUnix(unixTimestamp, desiredFormatStr, (StringBuilder) out);
+        }
+        StringBuilder scratch = scratch();
+        if (!transformUnix(unixTimestamp, desiredFormatStr, scratch)) {
+            return false;
+        }
+        out.append(scratch);
+        return true;
+    }
+
+    /**
+     * Transform Unix timestamp to a given format, writing the result into a caller-supplied buffer.
+     *
+     * @param unixTimestamp    The Unix timestamp.
+     * @param desiredFormatStr The desired output format.
+     * @param buffer           The buffer to write the formatted timestamp to.
+     * @param offset           The index of the first char to write.
+     * @return The number of chars written, or -1 if the timestamp is negative.
+     * @throws IndexOutOfBoundsException if the buffer is too small.
+     */
+    public static int transformUnix(long unixTimestamp, String desiredFormatStr, char[] buffer, int offset) {
+        StringBuilder scratch = scratch();
+        if (!transformUnix(unixTimestamp, desiredFormatStr, scratch)) {
+            return -1;
+        }
+        return copy(scratch, buffer, offset);
+    }
+
+    /**
+     * Transform Unix timestamp to a given format, writing the result as ASCII into a caller-supplied buffer. Non-ASCII chars are written as '?'.
+     *
+     * @param unixTimestamp    The Unix timestamp.
+     * @param desiredFormatStr The desired output format.
+     * @param out              The buffer to write the formatted timestamp to, as ASCII.
+     * @return False if the timestamp is negative, in which case nothing is written.
+     * @throws java.nio.BufferOverflowException if the buffer has too little room; nothing is written.
+     */
+    public static boolean transformUnix(long unixTimestamp, String desiredFormatStr, ByteBuffer out) {
+        StringBuilder scratch = scratch();
+        if (!transformUnix(unixTimestamp, desiredFormatStr, scratch)) {
+            return false;
+        }
+        copy(scratch, out);
+        return true;
+    }
+
+    /**
+     * Add days to a given date, appending the result to a caller-supplied sink.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param daysToAdd          The number of days to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param out                The sink to append the modified date to.
+     * @return False if the input format is invalid, in which case nothing is appended.
+     * @throws IOException if the sink fails.
+     * @throws DateTimeException if the modified date is outside the range of LocalDate.
+     */
+    public static boolean addDays(CharSequence originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return addDays(originalDateString, originalFormatStr, daysToAdd, desiredFormatStr, (StringBuilder) out);
+        }
+        StringBuilder scratch = scratch();
+        if (!addDays(originalDateString, originalFormatStr, daysToAdd, desiredFormatStr, scratch)) {
             return false;
         }
+        out.append(scratch);
+        return true;
+    }
+
+    /**
+     * Add days to a given date, writing the result into a caller-supplied buffer.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param daysToAdd          The number of days to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param buffer             The buffer to write the modified date to.
+     * @param offset             The index of the first char to write.
+     * @return The number of chars written, or -1 if the input format is invalid.
+     * @throws IndexOutOfBoundsException if the buffer is too small.
+     * @throws DateTimeException if the modified date is outside the range of LocalDate.
+     */
+    public static int addDays(CharSequence originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr, char[] buffer, int offset) {
+        StringBuilder scratch = scratch();
+        if (!addDays(originalDateString, originalFormatStr, daysToAdd, desiredFormatStr, scratch)) {
+            return -1;
+        }
+        return copy(scratch, buffer, offset);
+    }
+
+    /**
+     * Add days to a given date, writing the result as ASCII into a caller-supplied buffer. Non-ASCII chars are written as '?'.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param daysToAdd          The number of days to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param out                The buffer to write the modified date to, as ASCII.
+     * @return False if the input format is invalid, in which case nothing is written.
+     * @throws java.nio.BufferOverflowException if the buffer has too little room; nothing is written.
+     * @throws DateTimeException if the modified date is outside the range of LocalDate.
+     */
+    public static boolean addDays(CharSequence originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr, ByteBuffer out) {
+        StringBuilder scratch = scratch();
+        if (!addDays(originalDateString, originalFormatStr, daysToAdd, desiredFormatStr, scratch)) {
+            return false;
+        }
+        copy(scratch, out);
+        return true;
+    }
+
+    /**
+     * Convert a date string from one timezone to another, appending the result to a caller-supplied sink.
+     *
+     * @param originalDateString The original date string.
+     * @param originalZoneIdStr  The timezone of the original date.
+     * @param desiredZoneIdStr   The desired timezone for the output.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format.
+     * @param out                The sink to append the converted date to.
+     * @return False if the input format or a timezone is invalid, in which case nothing is appended.
+     * @throws IOException if the sink fails.
+     */
+    public static boolean convertTimeZone(CharSequence originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return convertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr, (StringBuilder) out);
+        }
+        StringBuilder scratch = scratch();
+        if (!convertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr, scratch)) {
+            return false;
+        }
+        out.append(scratch);
+        return true;
+    }
+
+    /**
+     * Convert a date string from one timezone to another, writing the result into a caller-supplied buffer.
+     *
+     * @param originalDateString The original date string.
+     * @param originalZoneIdStr  The timezone of the original date.
+     * @param desiredZoneIdStr   The desired timezone for the output.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format.
+     * @param buffer             The buffer to write the converted date to.
+     * @param offset             The index of the first char to write.
+     * @return The number of chars written, or -1 if the input format or a timezone is invalid.
+     * @throws IndexOutOfBoundsException if the buffer is too small.
+     */
+    public static int convertTimeZone(CharSequence originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr, char[] buffer, int offset) {
+        StringBuilder scratch = scratch();
+        if (!convertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr, scratch)) {
+            return -1;
+        }
+        return copy(scratch, buffer, offset);
+    }
+
+    /**
+     * Convert a date string from one timezone to another, writing the result as ASCII into a caller-supplied buffer. Non-ASCII chars are written as '?'.
+     *
+     * @param originalDateString The original date string.
+     * @param originalZoneIdStr  The timezone of the original date.
+     * @param desiredZoneIdStr   The desired timezone for the output.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format.
+     * @param out                The buffer to write the converted date to, as ASCII.
+     * @return False if the input format or a timezone is invalid, in which case nothing is written.
+     * @throws java.nio.BufferOverflowException if the buffer has too little room; nothing is written.
+     */
+    public static boolean convertTimeZone(CharSequence originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr, ByteBuffer out) {
+        StringBuilder scratch = scratch();
+        if (!convertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr, scratch)) {
+            return false;
+        }
+        copy(scratch, out);
+        return true;
+    }
+
+    /**
+     * Transform date from one format to another, without throwing.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format for the transformed date.
+     * @param result             The holder to receive the transformed date string or the error.
+     * @return True if the date was transformed, false if the result holds an error.
+     */
+    public static boolean transformDate(String originalDateString, String originalFormatStr, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doTransformDate(originalDateString, originalFormatStr, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(TRANSFORM_DATE_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doTransformDate(String originalDateString, String originalFormatStr, String desiredFormatStr, DateResult result) {
+        DatePattern originalFormat = FormatterCache.tryPattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.tryPattern(desiredFormatStr);
+        if (originalFormat == null || desiredFormat == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        long epochDay = originalDateString == null ? DateParser.INVALID : DateParser.parseEpochDay(originalDateString, originalFormat);
+        if (epochDay == DateParser.INVALID) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+
+        return formatEpochDay(epochDay, desiredFormat, result);
+    }
+
+    /**
+     * Transform Unix timestamp to a given format, without throwing.
+     *
+     * @param unixTimestamp    The Unix timestamp.
+     * @param desiredFormatStr The desired output format.
+     * @param result           The holder to receive the formatted timestamp or the error.
+     * @return True if the timestamp was transformed, false if the result holds an error.
+     */
+    public static boolean transformUnix(long unixTimestamp, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doTransformUnix(unixTimestamp, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(TRANSFORM_UNIX_METRICS, desiredFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doTransformUnix(long unixTimestamp, String desiredFormatStr, DateResult result) {
+        DatePattern desiredFormat = FormatterCache.tryPattern(desiredFormatStr);
+        if (desiredFormat == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        if (unixTimestamp < 0) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+        if (unixTimestamp > MAX_EPOCH_SECOND) {
+            return result.fail(DateError.OVERFLOW);
+        }
+
+        long local = ZoneTransitionIndex.of(ZoneId.systemDefault()).toLocalEpochSecond(unixTimestamp);
+        if (local > MAX_EPOCH_SECOND) {
+            return result.fail(DateError.OVERFLOW);
+        }
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        if (fixedOutput != null) {
+            String formatted = fixedOutput.format(local);
+            if (formatted != null) {
+                return result.succeed(formatted);
+            }
+        }
+        return format(LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC), TemporalKind.DATE_TIME, desiredFormat, result);
+    }
+
+    /**
+     * Add days to a given date, without throwing.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param daysToAdd          The number of days to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the modified date string or the error.
+     * @return True if the days were added, false if the result holds an error.
+     */
+    public static boolean addDays(String originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doAddDays(originalDateString, originalFormatStr, daysToAdd, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_DAYS_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doAddDays(String originalDateString, String originalFormatStr, long daysToAdd, String desiredFormatStr, DateResult result) {
+        DatePattern originalFormat = FormatterCache.tryPattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.tryPattern(desiredFormatStr);
+        if (originalFormat == null || desiredFormat == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        long epochDay = originalDateString == null ? DateParser.INVALID : DateParser.parseEpochDay(originalDateString, originalFormat);
+        if (epochDay == DateParser.INVALID) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+        // Both differences are within range, as epochDay is
+        if (daysToAdd > MAX_EPOCH_DAY - epochDay || daysToAdd < MIN_EPOCH_DAY - epochDay) {
+            return result.fail(DateError.OVERFLOW);
+        }
+
+        return formatEpochDay(epochDay + daysToAdd, desiredFormat, result);
+    }
+
+    /**
+     * Add months to a given date, without throwing.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param monthsToAdd        The number of months to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the modified date string or the error.
+     * @return True if the months were added, false if the result holds an error.
+     */
+    public static boolean addMonths(String originalDateString, String originalFormatStr, long monthsToAdd, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doAddMonths(originalDateString, originalFormatStr, monthsToAdd, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_MONTHS_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doAddMonths(String originalDateString, String originalFormatStr, long monthsToAdd, String desiredFormatStr, DateResult result) {
+        DatePattern originalFormat = FormatterCache.tryPattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.tryPattern(desiredFormatStr);
+        if (originalFormat == null || desiredFormat == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        LocalDate originalDate = originalDateString == null ? null : DateParser.parseDate(originalDateString, originalFormat);
+        if (originalDate == null) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+        long month = originalDate.getYear() * 12L + originalDate.getMonthValue() - 1;
+        if (monthsToAdd > Year.MAX_VALUE * 12L + 11 - month || monthsToAdd < Year.MIN_VALUE * 12L - month) {
+            return result.fail(DateError.OVERFLOW);
+        }
+
+        return format(originalDate.plusMonths(monthsToAdd), TemporalKind.DATE, desiredFormat, result);
+    }
+
+    /**
+     * Add years to a given date, without throwing.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param yearsToAdd         The number of years to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the modified date string or the error.
+     * @return True if the years were added, false if the result holds an error.
+     */
+    public static boolean addYears(String originalDateString, String originalFormatStr, long yearsToAdd, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doAddYears(originalDateString, originalFormatStr, yearsToAdd, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_YEARS_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doAddYears(String originalDateString, String originalFormatStr, long yearsToAdd, String desiredFormatStr, DateResult result) {
+        DatePattern originalFormat = FormatterCache.tryPattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.tryPattern(desiredFormatStr);
+        if (originalFormat == null || desiredFormat == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        LocalDate originalDate = originalDateString == null ? null : DateParser.parseDate(originalDateString, originalFormat);
+        if (originalDate == null) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+        if (yearsToAdd > Year.MAX_VALUE - originalDate.getYear() || yearsToAdd < Year.MIN_VALUE - originalDate.getYear()) {
+            return result.fail(DateError.OVERFLOW);
+        }
+
+        return format(originalDate.plusYears(yearsToAdd), TemporalKind.DATE, desiredFormat, result);
+    }
+
+    /**
+     * Add hours to a given time, without throwing.
+     *
+     * @param originalTimeString The original time string.
+     * @param originalFormatStr  The format of the original time string.
+     * @param hoursToAdd         The number of hours to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the modified time string or the error.
+     * @return True if the hours were added, false if the result holds an error.
+     */
+    public static boolean addHours(String originalTimeString, String originalFormatStr, long hoursToAdd, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = addTime(originalTimeString, originalFormatStr, Math.floorMod(hoursToAdd, 24) * 3600L, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_HOURS_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Add minutes to a given time, without throwing.
+     *
+     * @param originalTimeString The original time string.
+     * @param originalFormatStr  The format of the original time string.
+     * @param minutesToAdd       The number of minutes to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the modified time string or the error.
+     * @return True if the minutes were added, false if the result holds an error.
+     */
+    public static boolean addMinutes(String originalTimeString, String originalFormatStr, long minutesToAdd, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = addTime(originalTimeString, originalFormatStr, Math.floorMod(minutesToAdd, 1440) * 60L, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_MINUTES_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Add seconds to a given time, without throwing.
+     *
+     * @param originalTimeString The original time string.
+     * @param originalFormatStr  The format of the original time string.
+     * @param secondsToAdd       The number of seconds to add.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the modified time string or the error.
+     * @return True if the seconds were added, false if the result holds an error.
+     */
+    public static boolean addSeconds(String originalTimeString, String originalFormatStr, long secondsToAdd, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = addTime(originalTimeString, originalFormatStr, secondsToAdd, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_SECONDS_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Convert a date string from one timezone to another, without throwing.
+     *
+     * @param originalDateString The original date string.
+     * @param originalZoneIdStr  The timezone of the original date.
+     * @param desiredZoneIdStr   The desired timezone for the output.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the converted date string or the error.
+     * @return True if the date was converted, false if the result holds an error.
+     */
+    public static boolean convertTimeZone(String originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doConvertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(CONVERT_TIME_ZONE_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doConvertTimeZone(String originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr, DateResult result) {
+        DatePattern originalFormat = FormatterCache.tryPattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.tryPattern(desiredFormatStr);
+        if (originalFormat == null || desiredFormat == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        ZoneTransitionIndex originalZone = ZoneTransitionIndex.tryOf(originalZoneIdStr);
+        ZoneTransitionIndex desiredZone = ZoneTransitionIndex.tryOf(desiredZoneIdStr);
+        if (originalZone == null || desiredZone == null) {
+            return result.fail(DateError.BAD_ZONE);
+        }
+        if (originalDateString == null) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+
+        StringBuilder converted = new StringBuilder(32);
+        try {
+            if (!DateBatch.convertTimeZone(originalDateString, originalZone, desiredZone, originalFormat, desiredFormat, converted)) {
+                return result.fail(DateError.BAD_VALUE);
+            }
+        } catch (DateTimeException e) {
+            // Only reached at the limits of the java.time range
+            return result.fail(DateError.OVERFLOW);
+        }
+        return result.succeed(converted.toString());
+    }
+
+    /**
+     * Get the day of the week for a given date, without throwing.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @param result     The holder to receive the day of the week (e.g., "MONDAY") or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getDayOfWeek(String dateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doGetDayOfWeek(dateString, formatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAY_OF_WEEK_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doGetDayOfWeek(String dateString, String formatStr, DateResult result) {
+        if (!parseEpochDay(dateString, formatStr, result)) {
+            return false;
+        }
+        return result.succeed(DayOfWeek.of(CalendarTable.dayOfWeekOf(result.value())).toString());
+    }
+
+    /**
+     * Get the week number of the year for a given date, without throwing.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @param result     The holder to receive the ISO week number or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getWeekNumber(String dateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(dateString, formatStr, result) && result.succeed(CalendarTable.isoWeekOf(result.value()));
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_WEEK_NUMBER_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Get the quarter of the year for a given date, without throwing.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @param result     The holder to receive the quarter (1, 2, 3, or 4) or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getQuarterOfYear(String dateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(dateString, formatStr, result) && result.succeed(CalendarTable.quarterOf(result.value()));
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_QUARTER_OF_YEAR_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Get the number of days between two dates, without throwing.
+     *
+     * @param startDateString The start date string.
+     * @param endDateString   The end date string.
+     * @param formatStr       The format of the date strings.
+     * @param result          The holder to receive the number of days, possibly negative, or the error.
+     * @return True if both dates were valid, false if the result holds an error.
+     */
+    public static boolean getDaysBetween(String startDateString, String endDateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doGetDaysBetween(startDateString, endDateString, formatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAYS_BETWEEN_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doGetDaysBetween(String startDateString, String endDateString, String formatStr, DateResult result) {
+        if (!parseEpochDay(startDateString, formatStr, result)) {
+            return false;
+        }
+        long startEpochDay = result.value();
+        return parseEpochDay(endDateString, formatStr, result)
+                && result.succeed(EpochCalendar.daysBetween(startEpochDay, result.value()));
+    }
+
+    /**
+     * Get the number of months between two dates, without throwing.
+     *
+     * @param startDateString The start date string.
+     * @param endDateString   The end date string.
+     * @param formatStr       The format of the date strings.
+     * @param result          The holder to receive the number of months, possibly negative, or the error.
+     * @return True if both dates were valid, false if the result holds an error.
+     */
+    public static boolean getMonthsBetween(String startDateString, String endDateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doGetMonthsBetween(startDateString, endDateString, formatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_MONTHS_BETWEEN_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doGetMonthsBetween(String startDateString, String endDateString, String formatStr, DateResult result) {
+        if (!parseEpochDay(startDateString, formatStr, result)) {
+            return false;
+        }
+        long startEpochDay = result.value();
+        return parseEpochDay(endDateString, formatStr, result)
+                && result.succeed(EpochCalendar.monthsBetween(startEpochDay, result.value()));
+    }
+
+    /**
+     * Get the number of years between two dates, without throwing.
+     *
+     * @param startDateString The start date string.
+     * @param endDateString   The end date string.
+     * @param formatStr       The format of the date strings.
+     * @param result          The holder to receive the number of years, possibly negative, or the error.
+     * @return True if both dates were valid, false if the result holds an error.
+     */
+    public static boolean getYearsBetween(String startDateString, String endDateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = doGetYearsBetween(startDateString, endDateString, formatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_YEARS_BETWEEN_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static boolean doGetYearsBetween(String startDateString, String endDateString, String formatStr, DateResult result) {
+        if (!parseEpochDay(startDateString, formatStr, result)) {
+            return false;
+        }
+        long startEpochDay = result.value();
+        return parseEpochDay(endDateString, formatStr, result)
+                && result.succeed(EpochCalendar.yearsBetween(startEpochDay, result.value()));
+    }
+
+    /**
+     * Get the number of days remaining in the month of a given date, without throwing.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @param result     The holder to receive the number of days remaining, or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getDaysRemainingInMonth(String dateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(dateString, formatStr, result)
+                && result.succeed(CalendarTable.daysRemainingInMonth(result.value()));
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAYS_REMAINING_IN_MONTH_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Get the age in years based on the given date of birth and the current date, without throwing.
+     *
+     * @param birthDateString The date of birth string.
+     * @param formatStr       The format of the date string.
+     * @param result          The holder to receive the age in years, negative for a future date, or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getAge(String birthDateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(birthDateString, formatStr, result)
+                && result.succeed(EpochCalendar.yearsBetween(result.value(), clock.epochDay()));
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_AGE_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Get the number of days between the current date and a specified future date, without throwing.
+     *
+     * @param futureDateString The future date string.
+     * @param formatStr        The format of the date string.
+     * @param result           The holder to receive the number of days, negative for a past date, or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getDaysUntilFutureDate(String futureDateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(futureDateString, formatStr, result)
+                && result.succeed(EpochCalendar.daysBetween(clock.epochDay(), result.value()));
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_DAYS_UNTIL_FUTURE_DATE_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Calculate the number of days between two dates, without throwing.
+     *
+     * @param startDateString The start date string.
+     * @param endDateString   The end date string.
+     * @param formatStr       The format of the date strings.
+     * @param result          The holder to receive the number of days, possibly negative, or the error.
+     * @return True if both dates were valid, false if the result holds an error.
+     */
+    public static boolean calculateDaysDifference(String startDateString, String endDateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(startDateString, formatStr, result);
+        if (succeeded) {
+            long startEpochDay = result.value();
+            succeeded = parseEpochDay(endDateString, formatStr, result)
+                    && result.succeed(EpochCalendar.daysBetween(startEpochDay, result.value()));
+        }
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(CALCULATE_DAYS_DIFFERENCE_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Get the start of the week for a given date, without throwing.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @param result     The holder to receive the Monday of the week as an epoch day (see LocalDate.ofEpochDay), or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getStartOfWeek(String dateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(dateString, formatStr, result)
+                && result.succeed(CalendarTable.startOfWeek(result.value()));
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_START_OF_WEEK_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Get the end of the week for a given date, without throwing.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @param result     The holder to receive the Sunday of the week as an epoch day (see LocalDate.ofEpochDay), or the error.
+     * @return True if the date was valid, false if the result holds an error.
+     */
+    public static boolean getEndOfWeek(String dateString, String formatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(dateString, formatStr, result)
+                && result.succeed(CalendarTable.endOfWeek(result.value()));
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(GET_END_OF_WEEK_METRICS, formatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Check if two date strings represent the same date, without throwing.
+     *
+     * @param dateString1 The first date string.
+     * @param formatStr1  The format of the first date string.
+     * @param dateString2 The second date string.
+     * @param formatStr2  The format of the second date string.
+     * @param result      The holder to receive 1 if the dates are the same and 0 if not, or the error.
+     * @return True if both dates were valid, false if the result holds an error.
+     */
+    public static boolean isSameDate(String dateString1, String formatStr1, String dateString2, String formatStr2, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = parseEpochDay(dateString1, formatStr1, result);
+        if (succeeded) {
+            long epochDay1 = result.value();
+            succeeded = parseEpochDay(dateString2, formatStr2, result)
+                    && result.succeed(epochDay1 == result.value() ? 1 : 0);
+        }
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(IS_SAME_DATE_METRICS, formatStr1, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Add a specified time offset to a given time, without throwing.
+     *
+     * @param originalTimeString The original time string.
+     * @param originalFormatStr  The format of the original time string.
+     * @param offsetToAdd        The time offset to add, in seconds.
+     * @param desiredFormatStr   The desired output format.
+     * @param result             The holder to receive the modified time string or the error.
+     * @return True if the offset was added, false if the result holds an error.
+     */
+    public static boolean addTimeOffset(String originalTimeString, String originalFormatStr, long offsetToAdd, String desiredFormatStr, DateResult result) {
+        long start = DateMetrics.start();
+        boolean succeeded = addTime(originalTimeString, originalFormatStr, offsetToAdd, desiredFormatStr, result);
+        if (DateMetrics.ENABLED) {
+            DateMetrics.record(ADD_TIME_OFFSET_METRICS, originalFormatStr, start, !succeeded);
+        }
+        return succeeded;
+    }
+
+    private static StringBuilder scratch() {
+        StringBuilder scratch = SCRATCH.get();
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    private static void formatTo(TemporalAccessor value, DatePattern desiredFormat, StringBuilder out) {
+        int mark = out.length();
+        try {
+            desiredFormat.formatter().formatTo(value, out);
+        } catch (RuntimeException e) {
+            // Leave the builder as it was, as for the other failures
+            out.setLength(mark);
+            throw e;
+        }
+    }
+
+    private static int copy(StringBuilder formatted, char[] buffer, int offset) {
+        int length = formatted.length();
+        if (offset < 0 || length > buffer.length - offset) {
+            throw new IndexOutOfBoundsException("Need " + length + " chars at offset " + offset + " of " + buffer.length);
+        }
+        formatted.getChars(0, length, buffer, offset);
+        return length;
+    }
+
+    private static void copy(StringBuilder formatted, ByteBuffer out) {
+        int length = formatted.length();
+        if (out.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            char c = formatted.charAt(i);
+            out.put(c > 0x7F ? (byte) '?' : (byte) c);
+        }
+    }
+
+    private static boolean addTime(String originalTimeString, String originalFormatStr, long secondsToAdd, String desiredFormatStr, DateResult result) {
+        DatePattern originalFormat = FormatterCache.tryPattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.tryPattern(desiredFormatStr);
+        if (originalFormat == null || desiredFormat == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        LocalTime originalTime = originalTimeString == null ? null : DateParser.parseTime(originalTimeString, originalFormat);
+        if (originalTime == null) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+
+        return format(originalTime.plusSeconds(secondsToAdd), TemporalKind.TIME, desiredFormat, result);
+    }
+
+    private static boolean parseEpochDay(String dateString, String formatStr, DateResult result) {
+        DatePattern format = FormatterCache.tryPattern(formatStr);
+        if (format == null) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        long epochDay = dateString == null ? DateParser.INVALID : DateParser.parseEpochDay(dateString, format);
+        if (epochDay == DateParser.INVALID) {
+            return result.fail(DateError.BAD_VALUE);
+        }
+        return result.succeed(epochDay);
+    }
+
+    private static boolean formatEpochDay(long epochDay, DatePattern desiredFormat, DateResult result) {
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        if (fixedOutput != null && !fixedOutput.hasTime()) {
+            String formatted = fixedOutput.format(epochDay * EpochCalendar.SECONDS_PER_DAY);
+            if (formatted != null) {
+                return result.succeed(formatted);
+            }
+        }
+        return format(LocalDate.ofEpochDay(epochDay), TemporalKind.DATE, desiredFormat, result);
+    }
+
+    private static boolean format(TemporalAccessor value, TemporalKind kind, DatePattern desiredFormat, DateResult result) {
+        if (!desiredFormat.canFormat(kind)) {
+            return result.fail(DateError.BAD_PATTERN);
+        }
+        try {
+            return result.succeed(desiredFormat.formatter().format(value));
+        } catch (DateTimeException e) {
+            // A guard only: the letter check above rules out the usual mismatches
+            return result.fail(DateError.BAD_PATTERN);
+        }
     }
 }
@@ -0,0 +1,360 @@
+package xmltransformer;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+/**
+ * A compiled chain of date steps, for example parse {@code dd/MM/yyyy}, add one day, convert
+ * from UTC to Asia/Tokyo and format as ISO.
+ *
+ * Patterns, zones and step dispatch are all resolved when the transformer is built, so
+ * {@link #apply(CharSequence)} does no lookups. The value is carried between steps as a local
+ * epoch second plus nanos. Instances are immutable and can be shared between threads.
+ *
+ * <pre>{@code
+ * DateTransformer transformer = DateTransformer.builder()
+ *         .parse("dd/MM/yyyy HH:mm")
+ *         .addDays(1)
+ *         .convertZone("UTC", "Asia/Tokyo")
+ *         .format("yyyy-MM-dd'T'HH:mm:ss")
+ *         .build();
+ * String result = transformer.apply("02/04/2024 10:00");
+ * }</pre>
+ */
+public final class DateTransformer {
+
+    private static final int ADD_SECONDS = 0;
+    private static final int ADD_MONTHS = 1;
+    private static final int CONVERT_ZONE = 2;
+
+    private static final long NO_OFFSET = Long.MIN_VALUE;
+
+    private static final long MIN_LOCAL_SECOND = LocalDate.MIN.toEpochDay() * EpochCalendar.SECONDS_PER_DAY;
+    private static final long MAX_LOCAL_SECOND = (LocalDate.MAX.toEpochDay() + 1) * EpochCalendar.SECONDS_PER_DAY - 1;
+    private static final long MAX_MONTHS = 12L * (LocalDate.MAX.getYear() - (long) LocalDate.MIN.getYear() + 1);
+
+    private final DatePattern input;
+    private final DatePattern output;
+    private final int[] opcodes;
+    private final long[] operands;
+    private final ZoneTransitionIndex[] sourceZones;
+    private final ZoneTransitionIndex[] targetZones;
+    private final ZoneTransitionIndex outputZone;
+
+    private DateTransformer(Builder builder) {
+        this.input = builder.input;
+        this.output = builder.output;
+        this.opcodes = Arrays.copyOf(builder.opcodes, builder.count);
+        this.operands = Arrays.copyOf(builder.operands, builder.count);
+        this.sourceZones = Arrays.copyOf(builder.sourceZones, builder.count);
+        this.targetZones = Arrays.copyOf(builder.targetZones, builder.count);
+        this.outputZone = builder.zone;
+    }
+
+    /**
+     * Start building a transformer.
+     *
+     * @return A new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Run the transformation.
+     *
+     * @param text The input string.
+     * @return The transformed string, or "Invalid date format" if the input is invalid.
+     */
+    public String apply(CharSequence text) {
+        StringBuilder out = new StringBuilder(32);
+        return applyTo(text, out) ? out.toString() : "Invalid date format";
+    }
+
+    /**
+     * Run the transformation, appending the result to a builder.
+     *
+     * @param text The input string.
+     * @param out  The builder to append to. Nothing is appended on failure.
+     * @return False if the input is invalid or the result is outside the supported date range.
+     */
+    public boolean applyTo(CharSequence text, StringBuilder out) {
+        long local;
+        int nano = 0;
+        FixedWidthPattern fixedInput = input.fixedWidth();
+        long fixed = fixedInput != null ? fixedInput.parse(text) : DateParser.UNRESOLVED;
+        if (fixed == DateParser.INVALID) {
+            return false;
+        } else if (fixed != DateParser.UNRESOLVED) {
+            local = fixed;
+        } else if (input.canProduce(TemporalKind.DATE_TIME)) {
+            LocalDateTime dateTime = DateParser.parseDateTime(text, input);
+            if (dateTime == null) {
+                return false;
+            }
+            local = dateTime.toLocalDate().toEpochDay() * EpochCalendar.SECONDS_PER_DAY + dateTime.toLocalTime().toSecondOfDay();
+            nano = dateTime.getNano();
+        } else {
+            long epochDay = DateParser.parseEpochDay(text, input);
+            if (epochDay == DateParser.INVALID) {
+                return false;
+            }
+            local = epochDay * EpochCalendar.SECONDS_PER_DAY;
+        }
+
+        // The offset from the last zone conversion, kept so overlaps resolve as ZonedDateTime does
+        long offset = NO_OFFSET;
+        ZoneTransitionIndex offsetZone = null;
+        for (int i = 0; i < opcodes.length; i++) {
+            switch (opcodes[i]) {
+                case ADD_SECONDS:
+                    local += operands[i];
+                    break;
+                case ADD_MONTHS:
+                    local = plusMonths(local, operands[i]);
+                    break;
+                default:
+                    long epochSecond = toEpochSecond(sourceZones[i], local, sourceZones[i] == offsetZone ? offset : NO_OFFSET);
+                    offsetZone = targetZones[i];
+                    offset = offsetZone.offsetAt(epochSecond);
+                    local = epochSecond + offset;
+                    break;
+            }
+            if (local < MIN_LOCAL_SECOND || local > MAX_LOCAL_SECOND) {
+                return false;
+            }
+        }
+
+        FixedWidthPattern fixedOutput = output.fixedWidth();
+        if (fixedOutput != null && fixedOutput.formatTo(local, out)) {
+            return true;
+        }
+        try {
+            if (output.hasZone()) {
+                Instant instant = Instant.ofEpochSecond(toEpochSecond(outputZone, local, outputZone == offsetZone ? offset : NO_OFFSET), nano);
+                output.formatter().formatTo(ZonedDateTime.ofInstant(instant, outputZone.zone()), out);
+            } else {
+                output.formatter().formatTo(LocalDateTime.ofEpochSecond(local, nano, ZoneOffset.UTC), out);
+            }
+        } catch (DateTimeException e) {
+            // The zone conversion moved the value past the supported range
+            return false;
+        }
+        return true;
+    }
+
+    private static long toEpochSecond(ZoneTransitionIndex zone, long local, long preferredOffset) {
+        if (preferredOffset != NO_OFFSET && zone.offsetAt(local - preferredOffset) == preferredOffset) {
+            return local - preferredOffset;
+        }
+        return zone.toEpochSecond(local);
+    }
+
+    private static long plusMonths(long local, long months) {
+        long epochDay = Math.floorDiv(local, EpochCalendar.SECONDS_PER_DAY);
+        long secondOfDay = local - epochDay * EpochCalendar.SECONDS_PER_DAY;
+        long civil = EpochCalendar.civil(epochDay);
+        long monthIndex = (civil >> 9) * 12 + ((civil >>> 5) & 0xF) - 1 + months;
+        long year = Math.floorDiv(monthIndex, 12);
+        if (year < LocalDate.MIN.getYear() || year > LocalDate.MAX.getYear()) {
+            return Long.MIN_VALUE;
+        }
+        int month = Math.floorMod(monthIndex, 12) + 1;
+        int day = Math.min((int) civil & 0x1F, EpochCalendar.lengthOfMonth(year, month));
+        return EpochCalendar.epochDay((int) year, month, day) * EpochCalendar.SECONDS_PER_DAY + secondOfDay;
+    }
+
+    /**
+     * Builds a DateTransformer. Steps run in the order they are added; parse and format are required.
+     */
+    public static final class Builder {
+
+        private DatePattern input;
+        private DatePattern output;
+        private ZoneTransitionIndex zone;
+        private int[] opcodes = new int[4];
+        private long[] operands = new long[4];
+        private ZoneTransitionIndex[] sourceZones = new ZoneTransitionIndex[4];
+        private ZoneTransitionIndex[] targetZones = new ZoneTransitionIndex[4];
+        private int count;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the input pattern. A pattern without time fields parses to midnight.
+         *
+         * @param pattern The format of the input strings.
+         * @return This builder.
+         * @throws IllegalArgumentException if the pattern is invalid or has no date fields.
+         */
+        public Builder parse(String pattern) {
+            DatePattern compiled = FormatterCache.pattern(pattern);
+            if (!compiled.canProduce(TemporalKind.DATE)) {
+                throw new IllegalArgumentException("Input pattern has no date fields: " + pattern);
+            }
+            this.input = compiled;
+            return this;
+        }
+
+        /**
+         * Declare the zone of the value without converting it, for output patterns with zone fields.
+         *
+         * @param zoneId The zone ID.
+         * @return This builder.
+         */
+        public Builder zone(String zoneId) {
+            this.zone = ZoneTransitionIndex.of(zoneId);
+            return this;
+        }
+
+        /**
+         * Add days.
+         *
+         * @param days The number of days to add.
+         * @return This builder.
+         */
+        public Builder addDays(long days) {
+            return addSeconds(days, EpochCalendar.SECONDS_PER_DAY);
+        }
+
+        /**
+         * Add hours.
+         *
+         * @param hours The number of hours to add.
+         * @return This builder.
+         */
+        public Builder addHours(long hours) {
+            return addSeconds(hours, 3600);
+        }
+
+        /**
+         * Add minutes.
+         *
+         * @param minutes The number of minutes to add.
+         * @return This builder.
+         */
+        public Builder addMinutes(long minutes) {
+            return addSeconds(minutes, 60);
+        }
+
+        /**
+         * Add seconds.
+         *
+         * @param seconds The number of seconds to add.
+         * @return This builder.
+         */
+        public Builder addSeconds(long seconds) {
+            return addSeconds(seconds, 1);
+        }
+
+        /**
+         * Add months, clamping the day to the end of the month as LocalDate.plusMonths does.
+         *
+         * @param months The number of months to add.
+         * @return This builder.
+         */
+        public Builder addMonths(long months) {
+            if (months < -MAX_MONTHS || months > MAX_MONTHS) {
+                throw new IllegalArgumentException("Months out of range: " + months);
+            }
+            return step(ADD_MONTHS, months, null, null);
+        }
+
+        /**
+         * Add years, clamping February 29 as LocalDate.plusYears does.
+         *
+         * @param years The number of years to add.
+         * @return This builder.
+         */
+        public Builder addYears(long years) {
+            if (years < -MAX_MONTHS / 12 || years > MAX_MONTHS / 12) {
+                throw new IllegalArgumentException("Years out of range: " + years);
+            }
+            return step(ADD_MONTHS, years * 12, null, null);
+        }
+
+        /**
+         * Convert the value from one zone to another.
+         *
+         * @param fromZoneId The zone of the value.
+         * @param toZoneId   The zone to convert to.
+         * @return This builder.
+         */
+        public Builder convertZone(String fromZoneId, String toZoneId) {
+            ZoneTransitionIndex from = ZoneTransitionIndex.of(fromZoneId);
+            ZoneTransitionIndex to = ZoneTransitionIndex.of(toZoneId);
+            this.zone = to;
+            return step(CONVERT_ZONE, 0, from, to);
+        }
+
+        /**
+         * Convert the value from the zone declared by {@link #zone(String)} or a previous conversion.
+         *
+         * @param toZoneId The zone to convert to.
+         * @return This builder.
+         * @throws IllegalStateException if no zone has been declared.
+         */
+        public Builder convertZone(String toZoneId) {
+            if (zone == null) {
+                throw new IllegalStateException("No zone declared before convertZone(" + toZoneId + ")");
+            }
+            return convertZone(zone.zone().getId(), toZoneId);
+        }
+
+        /**
+         * Set the output pattern.
+         *
+         * @param pattern The desired output format.
+         * @return This builder.
+         */
+        public Builder format(String pattern) {
+            this.output = FormatterCache.pattern(pattern);
+            return this;
+        }
+
+        /**
+         * Compile the steps.
+         *
+         * @return The transformer.
+         * @throws IllegalStateException if parse or format is missing, or the output has zone fields but no zone is known.
+         */
+        public DateTransformer build() {
+            if (input == null || output == null) {
+                throw new IllegalStateException("Both parse(...) and format(...) are required");
+            }
+            if (output.hasZone() && zone == null) {
+                throw new IllegalStateException("Output pattern has zone fields but no zone is declared: " + output.pattern());
+            }
+            return new DateTransformer(this);
+        }
+
+        private Builder addSeconds(long amount, long unitSeconds) {
+            long limit = (MAX_LOCAL_SECOND - MIN_LOCAL_SECOND) / unitSeconds;
+            if (amount < -limit || amount > limit) {
+                throw new IllegalArgumentException("Amount out of range: " + amount);
+            }
+            return step(ADD_SECONDS, amount * unitSeconds, null, null);
+        }
+
+        private Builder step(int opcode, long operand, ZoneTransitionIndex from, ZoneTransitionIndex to) {
+            if (count == opcodes.length) {
+                opcodes = Arrays.copyOf(opcodes, count * 2);
+                operands = Arrays.copyOf(operands, count * 2);
+                sourceZones = Arrays.copyOf(sourceZones, count * 2);
+                targetZones = Arrays.copyOf(targetZones, count * 2);
+            }
+            opcodes[count] = opcode;
+            operands[count] = operand;
+            sourceZones[count] = from;
+            targetZones[count] = to;
+            count++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package xmltransformer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Moves the one-time costs of DateTransformation from the first records to startup, for
+ * short-lived workers that need a predictable time to first throughput.
+ *
+ * preinitialize compiles the declared patterns, builds the transition indexes of the declared
+ * zones (which also initializes the zone rules provider) and builds the calendar table. warmup
+ * then calls the hot methods with a fixed sequence of dates, so the JIT sees the same profile on
+ * every start. Both throw on an invalid pattern or zone, so a bad declaration fails at startup.
+ * warmup ends with {@link DateMetrics#reset()}, so its calls do not show in the workload's metrics.
+ *
+ * For class loading, dumpClassList records the classes loaded while preinitializing and warming
+ * up, through the jdk.ClassLoad JFR event, in the format of -XX:SharedClassListFile. Run it once
+ * in a fresh training JVM, build an archive with
+ * {@code java -Xshare:dump -XX:SharedClassListFile=<list> -XX:SharedArchiveFile=<jsa> -cp <app>}
+ * and start workers with {@code -XX:SharedArchiveFile=<jsa>}. Where no archive can be used,
+ * loadClassList loads the listed classes up front instead.
+ */
+public final class DateWarmup {
+
+    /** The default number of warmup rounds, above the invocation count at which C2 compiles. */
+    public static final int DEFAULT_ITERATIONS = 20000;
+
+    /** Warmup dates cycle through the years 2000 to 2099. */
+    private static final long FIRST_EPOCH_DAY = EpochCalendar.epochDay(2000, 1, 1);
+    private static final int DAYS = 36525;
+
+    /** Keeps warmup results reachable so the JIT cannot discard the calls. */
+    private static volatile long sink;
+
+    private DateWarmup() {
+    }
+
+    /**
+     * Compile patterns and build zone indexes ahead of the first call.
+     *
+     * @param patterns The patterns the workload uses.
+     * @param zones    The zone IDs the workload uses.
+     * @return The number of patterns and zones prepared.
+     * @throws IllegalArgumentException if a pattern is invalid.
+     * @throws java.time.DateTimeException if a zone ID is invalid or unknown.
+     */
+    public static int preinitialize(Collection<String> patterns, Collection<String> zones) {
+        ZonedDateTime sample = ZonedDateTime.of(2024, 1, 15, 13, 45, 30, 0, ZoneOffset.UTC);
+        long checksum = CalendarTable.dayOfWeekOf(sample.toLocalDate().toEpochDay()) + CalendarTable.lengthOfMonth(2024, 2);
+        for (String pattern : patterns) {
+            DatePattern compiled = FormatterCache.pattern(pattern);
+            if (compiled.kind() != null) {
+                // The first format and parse load the printer-parsers and locale data
+                String text = sample.format(compiled.formatter());
+                checksum += DateParser.parse(text, compiled, compiled.kind()) == null ? 0 : 1;
+            }
+        }
+        for (String zone : zones) {
+            checksum += ZoneTransitionIndex.of(zone).offsetAt(sample.toEpochSecond());
+        }
+        sink = checksum;
+        return patterns.size() + zones.size();
+    }
+
+    /**
+     * Call the hot methods with a fixed sequence of dates in every pattern and zone, after preinitializing them.
+     * DateMetrics counters are reset afterwards, including those of calls made by other threads meanwhile.
+     *
+     * @param patterns   The patterns the workload uses.
+     * @param zones      The zone IDs the workload uses.
+     * @param iterations The number of rounds, e.g. DEFAULT_ITERATIONS.
+     * @return The number of calls made.
+     * @throws IllegalArgumentException if a pattern is invalid.
+     * @throws java.time.DateTimeException if a zone ID is invalid or unknown.
+     */
+    public static long warmup(Collection<String> patterns, Collection<String> zones, int iterations) {
+        preinitialize(patterns, zones);
+        List<DatePattern> compiled = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            DatePattern datePattern = FormatterCache.pattern(pattern);
+            if (datePattern.kind() != null) {
+                compiled.add(datePattern);
+            }
+        }
+        String[] zoneIds = zones.toArray(new String[0]);
+
+        long calls = 0;
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            // A fixed stride through the century, so every run sees the same dates
+            long epochDay = FIRST_EPOCH_DAY + (i * 7919L) % DAYS;
+            long epochSecond = epochDay * EpochCalendar.SECONDS_PER_DAY + (i * 1543L) % EpochCalendar.SECONDS_PER_DAY;
+            ZonedDateTime value = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+            for (DatePattern pattern : compiled) {
+                String format = pattern.pattern();
+                String text = value.format(pattern.formatter());
+                if (pattern.canFormat(TemporalKind.DATE_TIME)) {
+                    checksum += DateTransformation.transformUnix(epochSecond, format).length();
+                    calls++;
+                }
+                if (pattern.kind() == TemporalKind.TIME) {
+                    checksum += DateTransformation.addHours(text, format, 1, format).length();
+                    calls++;
+                    continue;
+                }
+                if (pattern.kind() == TemporalKind.DATE) {
+                    checksum += DateTransformation.transformDate(text, format, format).length();
+                    checksum += DateTransformation.addDays(text, format, 1, format).length();
+                    calls += 2;
+                }
+                checksum += DateTransformation.getDayOfWeek(text, format).length();
+                checksum += DateTransformation.getWeekNumber(text, format);
+                calls += 2;
+                if (pattern.kind() == TemporalKind.DATE_TIME && zoneIds.length > 0) {
+                    String from = zoneIds[i % zoneIds.length];
+                    String to = zoneIds[(i + 1) % zoneIds.length];
+                    checksum += DateTransformation.convertTimeZone(text, from, to, format, format).length();
+                    calls++;
+                }
+            }
+        }
+        sink = checksum;
+        DateMetrics.reset();
+        return calls;
+    }
+
+    /**
+     * Record the classes loaded while preinitializing and warming up, and write them as a CDS class list.
+     * Classes loaded before the call are not seen, so run it first thing in a fresh JVM.
+     *
+     * @param patterns   The patterns the workload uses.
+     * @param zones      The zone IDs the workload uses.
+     * @param iterations The number of warmup rounds.
+     * @param classList  The file to write, one class name per line as -XX:SharedClassListFile reads it.
+     * @return The number of classes written.
+     * @throws IOException if the recording or the class list cannot be written.
+     */
+    public static int dumpClassList(Collection<String> patterns, Collection<String> zones, int iterations, Path classList) throws IOException {
+        Set<String> classes = new TreeSet<>();
+        Path events = Files.createTempFile("xmltransformer-classload", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("jdk.ClassLoad").withoutThreshold();
+                recording.start();
+                warmup(patterns, zones, iterations);
+                recording.stop();
+                recording.dump(events);
+            }
+            for (RecordedEvent event : RecordingFile.readAllEvents(events)) {
+                RecordedClass loaded = event.getValue("loadedClass");
+                if (loaded != null && isArchivable(loaded.getName())) {
+                    classes.add(loaded.getName().replace('.', '/'));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(events);
+        }
+        Files.write(classList, classes, StandardCharsets.UTF_8);
+        return classes.size();
+    }
+
+    /**
+     * Load the classes of a class list without initializing them, where no CDS archive is in use.
+     * Classes that cannot be found are skipped.
+     *
+     * @param classList The class list, as written by dumpClassList.
+     * @return The number of classes loaded.
+     * @throws IOException if the class list cannot be read.
+     */
+    public static int loadClassList(Path classList) throws IOException {
+        ClassLoader loader = DateWarmup.class.getClassLoader();
+        int loaded = 0;
+        for (String line : Files.readAllLines(classList, StandardCharsets.UTF_8)) {
+            String name = line.trim();
+            if (name.isEmpty() || name.startsWith("#") || name.startsWith("@")) {
+                continue;
+            }
+            // A JVM-written list may add " id: <n>" and further attributes after the name
+            int end = name.indexOf(' ');
+            if (end > 0) {
+                name = name.substring(0, end);
+            }
+            try {
+                Class.forName(name.replace('/', '.'), false, loader);
+                loaded++;
+            } catch (ClassNotFoundException | LinkageError e) {
+                // Skipped: the list may come from another version of the application
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Hidden classes such as lambdas and arrays cannot be named in a class list, and the
+     * classes of the recording itself are not needed by the workload.
+     */
+    private static boolean isArchivable(String name) {
+        return !name.startsWith("[") && !name.contains("+0x") && !name.contains("$$Lambda")
+                && !name.startsWith("jdk.jfr.") && !name.startsWith("jdk.internal.jfr.");
+    }
+}
@@ -0,0 +1,283 @@
+package xmltransformer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Converts a column of Unix timestamps in a delimited (CSV, TSV, ...) file to formatted dates,
+ * as DateTransformation.transformUnix does for each row.
+ *
+ * The input is memory-mapped and split into chunks at line boundaries. Chunks are converted in
+ * parallel: delimiters are found by scanning bytes, epoch digits are read straight from the
+ * mapped buffer, and fixed-width output patterns are written as ASCII into a direct ByteBuffer.
+ * Chunk outputs are written in input order, a wave of chunks at a time. Each position in a wave
+ * keeps its output buffer for the whole file, cleared for every chunk and grown only when a chunk
+ * expands beyond it, so memory stays bounded by the parallelism times the chunk size.
+ *
+ * Every other byte of the file is copied unchanged. Negative or malformed timestamps are replaced
+ * with "Invalid Unix timestamp"; lines with too few columns are copied as they are.
+ */
+public final class DelimitedEpochConverter {
+
+    /** The default chunk size, 64 MiB. */
+    public static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+    private static final byte[] INVALID = "Invalid Unix timestamp".getBytes(StandardCharsets.US_ASCII);
+
+    private final int column;
+    private final byte delimiter;
+    private final boolean header;
+    private final DatePattern output;
+    private final FixedWidthPattern fixedOutput;
+    private final ZoneTransitionIndex zone;
+    private final int chunkSize;
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * Create a converter for the system default zone, with the default chunk size on the common pool.
+     *
+     * @param column        The zero-based index of the timestamp column.
+     * @param delimiter     The column delimiter, an ASCII character.
+     * @param header        True if the first line is a header to copy unchanged.
+     * @param outputPattern The desired output format.
+     */
+    public DelimitedEpochConverter(int column, char delimiter, boolean header, String outputPattern) {
+        this(column, delimiter, header, outputPattern, ZoneId.systemDefault(), DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a converter.
+     *
+     * @param column        The zero-based index of the timestamp column.
+     * @param delimiter     The column delimiter, an ASCII character.
+     * @param header        True if the first line is a header to copy unchanged.
+     * @param outputPattern The desired output format.
+     * @param zoneId        The zone to format the timestamps in.
+     * @param chunkSize     The approximate number of input bytes per parallel chunk.
+     * @param pool          The pool to convert chunks on.
+     */
+    public DelimitedEpochConverter(int column, char delimiter, boolean header, String outputPattern,
+                                   ZoneId zoneId, int chunkSize, ForkJoinPool pool) {
+        if (column < 0) {
+            throw new IllegalArgumentException("Column must not be negative: " + column);
+        }
+        if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character other than a line break");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.column = column;
+        this.delimiter = (byte) delimiter;
+        this.header = header;
+        this.output = FormatterCache.pattern(outputPattern);
+        FixedWidthPattern fixed = output.fixedWidth();
+        this.fixedOutput = fixed != null && fixed.isAscii() ? fixed : null;
+        this.zone = ZoneTransitionIndex.of(zoneId);
+        this.chunkSize = chunkSize;
+        this.executor = pool;
+        this.parallelism = pool.getParallelism();
+    }
+
+    /**
+     * Convert a file.
+     *
+     * @param input  The input file.
+     * @param output The output file, created or truncated.
+     * @return The number of timestamps converted, not counting invalid ones.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public long convert(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            if (header && size > 0) {
+                long headerEnd = nextLineStart(in, 0, size);
+                transferFully(in, 0, headerEnd, out);
+                position = headerEnd;
+            }
+
+            long converted = 0;
+            List<CompletableFuture<Chunk>> wave = new ArrayList<>(parallelism);
+            ByteBuffer[] buffers = new ByteBuffer[parallelism];
+            while (position < size) {
+                wave.clear();
+                for (int i = 0; i < parallelism && position < size; i++) {
+                    long end = position + chunkSize >= size ? size : nextLineStart(in, position + chunkSize, size);
+                    MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, position, end - position);
+                    ByteBuffer buffer = buffers[i];
+                    wave.add(CompletableFuture.supplyAsync(() -> convertChunk(mapped, buffer), executor));
+                    position = end;
+                }
+                for (int i = 0; i < wave.size(); i++) {
+                    Chunk chunk;
+                    try {
+                        chunk = wave.get(i).join();
+                    } catch (CompletionException e) {
+                        throw new IOException("Conversion failed", e.getCause());
+                    }
+                    // Keep the buffer, grown or not, for the chunk in this position of the next wave
+                    buffers[i] = chunk.buffer;
+                    chunk.buffer.flip();
+                    while (chunk.buffer.hasRemaining()) {
+                        out.write(chunk.buffer);
+                    }
+                    converted += chunk.converted;
+                }
+            }
+            return converted;
+        }
+    }
+
+    /**
+     * Convert one chunk into the buffer of its wave position, or into a new buffer on the first wave.
+     */
+    private Chunk convertChunk(ByteBuffer in, ByteBuffer buffer) {
+        int expected = in.remaining() + in.remaining() / 2 + 64;
+        Chunk chunk = new Chunk(buffer == null ? ByteBuffer.allocateDirect(expected) : buffer.clear());
+        char[] scratch = new char[64];
+        int limit = in.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && in.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && in.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            int next = lineEnd < limit ? lineEnd + 1 : limit;
+
+            int fieldStart = lineStart;
+            for (int c = 0; c < column && fieldStart <= contentEnd; c++) {
+                while (fieldStart < contentEnd && in.get(fieldStart) != delimiter) {
+                    fieldStart++;
+                }
+                fieldStart++;
+            }
+            if (fieldStart > contentEnd || lineStart == contentEnd) {
+                chunk.copy(in, lineStart, next);
+            } else {
+                int fieldEnd = fieldStart;
+                while (fieldEnd < contentEnd && in.get(fieldEnd) != delimiter) {
+                    fieldEnd++;
+                }
+                chunk.copy(in, lineStart, fieldStart);
+                if (writeTimestamp(in, fieldStart, fieldEnd, chunk, scratch)) {
+                    chunk.converted++;
+                } else {
+                    chunk.put(INVALID);
+                }
+                chunk.copy(in, fieldEnd, next);
+            }
+            lineStart = next;
+        }
+        return chunk;
+    }
+
+    private boolean writeTimestamp(ByteBuffer in, int start, int end, Chunk chunk, char[] scratch) {
+        // A long has at most 19 digits; 18 can never overflow
+        if (start == end || end - start > 18) {
+            return false;
+        }
+        long epochSecond = 0;
+        for (int i = start; i < end; i++) {
+            int digit = in.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            epochSecond = epochSecond * 10 + digit;
+        }
+
+        try {
+            if (fixedOutput != null) {
+                int length = fixedOutput.format(zone.toLocalEpochSecond(epochSecond), scratch, 0);
+                if (length >= 0) {
+                    chunk.ensure(length);
+                    for (int i = 0; i < length; i++) {
+                        chunk.buffer.put((byte) scratch[i]);
+                    }
+                    return true;
+                }
+            }
+            LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone.zone());
+            chunk.put(output.formatter().format(dateTime).getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (DateTimeException e) {
+            // Beyond the range of Instant
+            return false;
+        }
+    }
+
+    private static long nextLineStart(FileChannel in, long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            window.clear();
+            int read = in.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void transferFully(FileChannel in, long from, long to, FileChannel out) throws IOException {
+        long position = from;
+        while (position < to) {
+            position += in.transferTo(position, to - position, out);
+        }
+    }
+
+    private static final class Chunk {
+        ByteBuffer buffer;
+        long converted;
+
+        Chunk(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void copy(ByteBuffer in, int from, int to) {
+            ensure(to - from);
+            ByteBuffer slice = in.duplicate();
+            slice.limit(to).position(from);
+            buffer.put(slice);
+        }
+
+        void put(byte[] bytes) {
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void ensure(int length) {
+            if (buffer.remaining() < length) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + length));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package xmltransformer;
+
+/**
+ * Allocation-free ISO calendar arithmetic on epoch days (days since 1970-01-01) and epoch seconds.
+ *
+ * Every method is pure integer arithmetic based on the civil-from-days and days-from-civil
+ * algorithms, so dates kept in primitive arrays never need to become LocalDate objects.
+ * The results match java.time for the full LocalDate range.
+ */
+public final class EpochCalendar {
+
+    /** Seconds in a day. */
+    public static final int SECONDS_PER_DAY = 86400;
+
+    private static final long DAYS_0000_TO_1970 = 719468;
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private EpochCalendar() {
+    }
+
+    /**
+     * Get the epoch day of a date. The month and day are not validated.
+     *
+     * @param year  The proleptic year.
+     * @param month The month, from 1 to 12.
+     * @param day   The day of the month, from 1 to the length of the month.
+     * @return The epoch day.
+     */
+    public static long epochDay(int year, int month, int day) {
+        // Days from civil, with March as the first month of the computational year
+        long y = month <= 2 ? (long) year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Get the epoch day of an epoch second at a UTC offset.
+     *
+     * @param epochSecond   The seconds since 1970-01-01T00:00:00Z.
+     * @param offsetSeconds The UTC offset in seconds.
+     * @return The epoch day of the local date.
+     */
+    public static long epochDayOfEpochSecond(long epochSecond, int offsetSeconds) {
+        return Math.floorDiv(epochSecond + offsetSeconds, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Get the date of an epoch day packed as year (bits 9 and up), month (bits 5-8) and day (bits 0-4).
+     *
+     * @param epochDay The epoch day.
+     * @return The packed date.
+     */
+    public static long civil(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_CYCLE);
+        long dayOfEra = z - era * DAYS_PER_CYCLE;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The proleptic year.
+     */
+    public static int yearOf(long epochDay) {
+        return (int) (civil(epochDay) >> 9);
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The month, from 1 to 12.
+     */
+    public static int monthOf(long epochDay) {
+        return (int) (civil(epochDay) >>> 5) & 0xF;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The day of the month, from 1 to 31.
+     */
+    public static int dayOfMonthOf(long epochDay) {
+        return (int) civil(epochDay) & 0x1F;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The day of the year, from 1 to 366.
+     */
+    public static int dayOfYearOf(long epochDay) {
+        return (int) (epochDay - epochDay(yearOf(epochDay), 1, 1)) + 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The ISO day of the week, from 1 (Monday) to 7 (Sunday).
+     */
+    public static int dayOfWeekOf(long epochDay) {
+        return Math.floorMod(epochDay + 3, 7) + 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The quarter of the year, from 1 to 4.
+     */
+    public static int quarterOf(long epochDay) {
+        return (monthOf(epochDay) - 1) / 3 + 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The ISO week of the week-based year, from 1 to 53.
+     */
+    public static int isoWeekOf(long epochDay) {
+        // The ISO week belongs to the year containing its Thursday
+        long thursday = epochDay + 4 - dayOfWeekOf(epochDay);
+        return (dayOfYearOf(thursday) - 1) / 7 + 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The ISO week-based year.
+     */
+    public static int isoWeekYearOf(long epochDay) {
+        return yearOf(epochDay + 4 - dayOfWeekOf(epochDay));
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The epoch day of the Monday starting the week.
+     */
+    public static long startOfWeek(long epochDay) {
+        return epochDay - dayOfWeekOf(epochDay) + 1;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The epoch day of the Sunday ending the week.
+     */
+    public static long endOfWeek(long epochDay) {
+        return epochDay + 7 - dayOfWeekOf(epochDay);
+    }
+
+    /**
+     * @param year The proleptic year.
+     * @return True if the year is a leap year.
+     */
+    public static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Get the number of days in a month. The month is not validated.
+     *
+     * @param year  The proleptic year.
+     * @param month The month, from 1 to 12.
+     * @return The number of days in the month.
+     */
+    public static int lengthOfMonth(long year, int month) {
+        if (month == 2) {
+            return isLeapYear(year) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * @param epochDay The epoch day.
+     * @return The number of days after this one in its month.
+     */
+    public static int daysRemainingInMonth(long epochDay) {
+        long civil = civil(epochDay);
+        return lengthOfMonth(civil >> 9, (int) (civil >>> 5) & 0xF) - ((int) civil & 0x1F);
+    }
+
+    /**
+     * @param startEpochDay The start epoch day.
+     * @param endEpochDay   The end epoch day.
+     * @return The number of days from start to end, negative if end is earlier.
+     */
+    public static long daysBetween(long startEpochDay, long endEpochDay) {
+        return endEpochDay - startEpochDay;
+    }
+
+    /**
+     * Get the number of complete months between two dates, as ChronoUnit.MONTHS does.
+     *
+     * @param startEpochDay The start epoch day.
+     * @param endEpochDay   The end epoch day.
+     * @return The number of complete months, negative if end is earlier.
+     */
+    public static long monthsBetween(long startEpochDay, long endEpochDay) {
+        long start = civil(startEpochDay);
+        long end = civil(endEpochDay);
+        long packedStart = ((start >> 9) * 12 + ((start >>> 5) & 0xF)) * 32 + (start & 0x1F);
+        long packedEnd = ((end >> 9) * 12 + ((end >>> 5) & 0xF)) * 32 + (end & 0x1F);
+        return (packedEnd - packedStart) / 32;
+    }
+
+    /**
+     * Get the number of complete years between two dates, as ChronoUnit.YEARS does.
+     *
+     * @param startEpochDay The start epoch day.
+     * @param endEpochDay   The end epoch day.
+     * @return The number of complete years, negative if end is earlier.
+     */
+    public static long yearsBetween(long startEpochDay, long endEpochDay) {
+        return monthsBetween(startEpochDay, endEpochDay) / 12;
+    }
+}
@@ -0,0 +1,64 @@
+package xmltransformer;
+
+/**
+ * A fixed-size bitmap marking which elements of a batch failed.
+ */
+public final class ErrorBitmap {
+
+    private final long[] words;
+    private final int size;
+
+    ErrorBitmap(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Mark an element as failed. Elements sharing a 64-bit word must be set from one thread.
+     *
+     * @param index The element index.
+     */
+    void set(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Check whether an element failed.
+     *
+     * @param index The element index.
+     * @return True if the element failed.
+     */
+    public boolean isSet(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return The number of failed elements.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of elements covered by the bitmap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copy the bitmap out, 64 elements per word with element 0 in the lowest bit.
+     *
+     * @return A copy of the bitmap words.
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+}
@@ -0,0 +1,315 @@
+package xmltransformer;
+
+import java.util.Arrays;
+
+/**
+ * An allocation-free parser and formatter for fixed-width numeric patterns such as
+ * {@code yyyy-MM-dd}, {@code dd/MM/yyyy}, {@code yyyyMMdd} and {@code yyyy-MM-dd'T'HH:mm:ss}.
+ *
+ * A pattern qualifies when it is made only of {@code yyyy}, {@code uuuu}, {@code MM}, {@code dd},
+ * {@code HH}, {@code mm} and {@code ss} fields plus literals. Digits are read straight from the
+ * CharSequence and validated with arithmetic, following the SMART resolver rules. Values are
+ * passed around as a local epoch second (epoch day * 86400 + second of day), see EpochCalendar.
+ *
+ * Text the fast path is not certain about (wrong length, unexpected characters, 24:00, years
+ * outside 0001-9999) is reported as DateParser.UNRESOLVED so the caller can use the general path.
+ */
+final class FixedWidthPattern {
+
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+
+    private static final int[] WIDTHS = {4, 2, 2, 2, 2, 2};
+
+    /** The epoch days of 0001-01-01 and 9999-12-31, the years a four-digit field can print. */
+    private static final long FIRST_DAY = EpochCalendar.epochDay(1, 1, 1);
+    private static final long LAST_DAY = EpochCalendar.epochDay(9999, 12, 31);
+
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[64]);
+
+    private final char[] template;
+    private final boolean[] literal;
+    private final int[] offsets;
+    private final boolean yearOfEra;
+    private final boolean hasDate;
+    private final boolean hasTime;
+
+    private FixedWidthPattern(char[] template, boolean[] literal, int[] offsets, boolean yearOfEra) {
+        this.template = template;
+        this.literal = literal;
+        this.offsets = offsets;
+        this.yearOfEra = yearOfEra;
+        this.hasDate = offsets[YEAR] >= 0;
+        this.hasTime = offsets[HOUR] >= 0;
+    }
+
+    /**
+     * Compile a pattern if it is fixed-width.
+     *
+     * @param pattern The pattern string.
+     * @return The compiled pattern, or null if the pattern does not qualify.
+     */
+    static FixedWidthPattern compile(String pattern) {
+        StringBuilder template = new StringBuilder();
+        int[] offsets = {-1, -1, -1, -1, -1, -1};
+        boolean yearOfEra = false;
+
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                if (end == i + 1) {
+                    template.append('\'');
+                } else if (pattern.indexOf("''", i + 1) == end) {
+                    return null;
+                } else {
+                    template.append(pattern, i + 1, end);
+                }
+                i = end + 1;
+                continue;
+            }
+            if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                return null;
+            }
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                template.append(c);
+                i++;
+                continue;
+            }
+
+            int run = i;
+            while (run < pattern.length() && pattern.charAt(run) == c) {
+                run++;
+            }
+            int count = run - i;
+            int field;
+            switch (c) {
+                case 'y':
+                case 'u':
+                    field = YEAR;
+                    yearOfEra = c == 'y';
+                    break;
+                case 'M':
+                    field = MONTH;
+                    break;
+                case 'd':
+                    field = DAY;
+                    break;
+                case 'H':
+                    field = HOUR;
+                    break;
+                case 'm':
+                    field = MINUTE;
+                    break;
+                case 's':
+                    field = SECOND;
+                    break;
+                default:
+                    return null;
+            }
+            if (count != WIDTHS[field] || offsets[field] >= 0) {
+                return null;
+            }
+            offsets[field] = template.length();
+            for (int k = 0; k < count; k++) {
+                template.append('0');
+            }
+            i = run;
+        }
+
+        boolean year = offsets[YEAR] >= 0;
+        if (year != (offsets[MONTH] >= 0) || year != (offsets[DAY] >= 0)) {
+            return null;
+        }
+        if ((offsets[MINUTE] >= 0 && offsets[HOUR] < 0) || (offsets[SECOND] >= 0 && offsets[MINUTE] < 0)) {
+            return null;
+        }
+        if (!year && offsets[HOUR] < 0) {
+            return null;
+        }
+
+        char[] chars = template.toString().toCharArray();
+        boolean[] literal = new boolean[chars.length];
+        Arrays.fill(literal, true);
+        for (int field = YEAR; field <= SECOND; field++) {
+            for (int k = 0; offsets[field] >= 0 && k < WIDTHS[field]; k++) {
+                literal[offsets[field] + k] = false;
+            }
+        }
+        return new FixedWidthPattern(chars, literal, offsets, yearOfEra);
+    }
+
+    /**
+     * @return True if the pattern has year, month and day fields.
+     */
+    boolean hasDate() {
+        return hasDate;
+    }
+
+    /**
+     * @return True if the pattern has an hour field.
+     */
+    boolean hasTime() {
+        return hasTime;
+    }
+
+    /**
+     * @return True if every literal of the pattern is an ASCII character.
+     */
+    boolean isAscii() {
+        for (char c : template) {
+            if (c > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The length of text in this pattern.
+     */
+    int length() {
+        return template.length;
+    }
+
+    /**
+     * Parse text to a local epoch second. Absent date fields count as epoch day 0 and absent
+     * time fields as midnight.
+     *
+     * @param text The text to parse.
+     * @return The local epoch second, DateParser.INVALID, or DateParser.UNRESOLVED.
+     */
+    long parse(CharSequence text) {
+        if (text == null || text.length() != template.length) {
+            return DateParser.UNRESOLVED;
+        }
+        for (int i = 0; i < template.length; i++) {
+            char c = text.charAt(i);
+            if (literal[i] ? c != template[i] : c < '0' || c > '9') {
+                return DateParser.UNRESOLVED;
+            }
+        }
+
+        long epochDay = 0;
+        if (hasDate) {
+            int year = digits(text, offsets[YEAR], 4);
+            int month = digits(text, offsets[MONTH], 2);
+            int day = digits(text, offsets[DAY], 2);
+            if (yearOfEra && year == 0) {
+                return DateParser.UNRESOLVED;
+            }
+            if (month < 1 || month > 12 || day < 1 || day > 31) {
+                return DateParser.INVALID;
+            }
+            // SMART resolution clamps the day to the last valid day of the month
+            int length = EpochCalendar.lengthOfMonth(year, month);
+            epochDay = EpochCalendar.epochDay(year, month, day > length ? length : day);
+        }
+
+        int secondOfDay = 0;
+        if (hasTime) {
+            int hour = digits(text, offsets[HOUR], 2);
+            int minute = offsets[MINUTE] >= 0 ? digits(text, offsets[MINUTE], 2) : 0;
+            int second = offsets[SECOND] >= 0 ? digits(text, offsets[SECOND], 2) : 0;
+            if (hour == 24 && minute == 0 && second == 0) {
+                return DateParser.UNRESOLVED;
+            }
+            if (hour > 23 || minute > 59 || second > 59) {
+                return DateParser.INVALID;
+            }
+            secondOfDay = (hour * 60 + minute) * 60 + second;
+        }
+        return epochDay * EpochCalendar.SECONDS_PER_DAY + secondOfDay;
+    }
+
+    /**
+     * Format a local epoch second into a buffer.
+     *
+     * @param localEpochSecond The value to format.
+     * @param buffer           The buffer to write to.
+     * @param offset           The index of the first char to write.
+     * @return The number of chars written, or -1 if the year is outside 0001-9999 or the buffer is too small.
+     */
+    int format(long localEpochSecond, char[] buffer, int offset) {
+        if (offset < 0 || buffer.length - offset < template.length) {
+            return -1;
+        }
+        long epochDay = Math.floorDiv(localEpochSecond, EpochCalendar.SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(localEpochSecond, EpochCalendar.SECONDS_PER_DAY);
+
+        // Checked for time-only patterns too, so a value beyond LocalDateTime still fails as java.time does
+        if (epochDay < FIRST_DAY || epochDay > LAST_DAY) {
+            return -1;
+        }
+
+        System.arraycopy(template, 0, buffer, offset, template.length);
+        if (hasDate) {
+            long civil = EpochCalendar.civil(epochDay);
+            put(buffer, offset + offsets[YEAR], (int) (civil >> 9), 4);
+            put(buffer, offset + offsets[MONTH], (int) (civil >>> 5) & 0xF, 2);
+            put(buffer, offset + offsets[DAY], (int) civil & 0x1F, 2);
+        }
+        if (hasTime) {
+            put(buffer, offset + offsets[HOUR], secondOfDay / 3600, 2);
+            if (offsets[MINUTE] >= 0) {
+                put(buffer, offset + offsets[MINUTE], secondOfDay / 60 % 60, 2);
+            }
+            if (offsets[SECOND] >= 0) {
+                put(buffer, offset + offsets[SECOND], secondOfDay % 60, 2);
+            }
+        }
+        return template.length;
+    }
+
+    /**
+     * Format a local epoch second, using a per-thread scratch buffer.
+     *
+     * @param localEpochSecond The value to format.
+     * @return The formatted text, or null if the year is outside 0001-9999.
+     */
+    String format(long localEpochSecond) {
+        char[] buffer = SCRATCH.get();
+        int length = format(localEpochSecond, buffer, 0);
+        return length < 0 ? null : new String(buffer, 0, length);
+    }
+
+    /**
+     * Format a local epoch second into a StringBuilder.
+     *
+     * @param localEpochSecond The value to format.
+     * @param out              The builder to append to.
+     * @return False if the year is outside 0001-9999 and nothing was appended.
+     */
+    boolean formatTo(long localEpochSecond, StringBuilder out) {
+        char[] buffer = SCRATCH.get();
+        int length = format(localEpochSecond, buffer, 0);
+        if (length < 0) {
+            return false;
+        }
+        out.append(buffer, 0, length);
+        return true;
+    }
+
+    private static int digits(CharSequence text, int offset, int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static void put(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
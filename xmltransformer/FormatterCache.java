@@ -0,0 +1,84 @@
+package xmltransformer;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A shared, bounded cache of compiled DateTimeFormatter patterns.
+ *
+ * DateTimeFormatter is immutable and thread-safe, so one instance per pattern string
+ * can serve every caller. The capacity is read from the system property
+ * {@code xmltransformer.formatterCache.size} (default 256).
+ */
+public final class FormatterCache {
+
+    private static final int CAPACITY = Integer.getInteger("xmltransformer.formatterCache.size", 256);
+
+    private static final BoundedCache<String, DatePattern> CACHE = new BoundedCache<>(CAPACITY);
+
+    /** Patterns that failed to compile, so the non-throwing lookups only pay for the exception once. */
+    private static final BoundedCache<String, Boolean> INVALID = new BoundedCache<>(CAPACITY);
+
+    private FormatterCache() {
+    }
+
+    /**
+     * Get the formatter for a pattern, compiling it on first use.
+     *
+     * @param pattern The pattern, as accepted by DateTimeFormatter.ofPattern.
+     * @return The compiled formatter.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public static DateTimeFormatter get(String pattern) {
+        return pattern(pattern).formatter();
+    }
+
+    /**
+     * Get the compiled pattern for a pattern string, compiling it on first use.
+     *
+     * @param pattern The pattern, as accepted by DateTimeFormatter.ofPattern.
+     * @return The compiled pattern.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    static DatePattern pattern(String pattern) {
+        return CACHE.get(pattern, DatePattern::new);
+    }
+
+    /**
+     * Get the compiled pattern for a pattern string without throwing.
+     *
+     * @param pattern The pattern, as accepted by DateTimeFormatter.ofPattern.
+     * @return The compiled pattern, or null if the pattern is null or invalid.
+     */
+    static DatePattern tryPattern(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        // Check the negative cache first, so a valid pattern is counted once as a hit or a miss
+        if (INVALID.getIfPresent(pattern) != null) {
+            return null;
+        }
+        try {
+            return pattern(pattern);
+        } catch (IllegalArgumentException e) {
+            INVALID.put(pattern, Boolean.TRUE);
+            return null;
+        }
+    }
+
+    /**
+     * Get the hit, miss and eviction counters of the cache.
+     *
+     * @return The current statistics.
+     */
+    public static CacheStats stats() {
+        return CACHE.stats();
+    }
+
+    /**
+     * Drop every cached formatter.
+     */
+    public static void clear() {
+        CACHE.clear();
+        INVALID.clear();
+    }
+}
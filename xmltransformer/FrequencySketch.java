@@ -0,0 +1,105 @@
+package xmltransformer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A count-min sketch of 4-bit counters estimating how often each key hash was seen recently,
+ * used as the TinyLFU admission filter of MemoizedDateTransformation.
+ *
+ * Each hash maps to one counter in each of four rows. The estimate is the smallest of the four.
+ * After ten increments per expected entry, every counter is halved, so old popularity fades.
+ *
+ * Each counter is updated by a compare-and-set of its word, so concurrent increments cannot
+ * carry a full counter into its neighbour. The count of additions towards the next halving is
+ * not synchronized; a lost addition only delays the halving slightly.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Create a sketch.
+     *
+     * @param expectedEntries The number of entries the cache holds.
+     */
+    FrequencySketch(int expectedEntries) {
+        int size = Integer.highestOneBit(Math.max(16, Math.min(expectedEntries, 1 << 26)) - 1) << 1;
+        this.table = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.sampleSize = 10 * Math.max(expectedEntries, 16);
+    }
+
+    /**
+     * Estimate how often a hash was seen.
+     *
+     * @param hash The key hash.
+     * @return The estimated count, from 0 to 15.
+     */
+    int frequency(int hash) {
+        int frequency = 15;
+        for (int row = 0; row < 4; row++) {
+            frequency = Math.min(frequency, counter(hash, row));
+        }
+        return frequency;
+    }
+
+    /**
+     * Count one occurrence of a hash.
+     *
+     * @param hash The key hash.
+     */
+    void increment(int hash) {
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            added |= incrementAt(index(hash, row), shift(hash, row));
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int shift) {
+        while (true) {
+            // The limit check and the new value come from the same load of the word
+            long word = table.getPlain(index);
+            if (((word >>> shift) & 0xF) == 15) {
+                return false;
+            }
+            if (table.weakCompareAndSetPlain(index, word, word + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    private int counter(int hash, int row) {
+        return (int) ((table.getPlain(index(hash, row)) >>> shift(hash, row)) & 0xF);
+    }
+
+    private int index(int hash, int row) {
+        long spread = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (spread >>> 32) & mask;
+    }
+
+    private static int shift(int hash, int row) {
+        // One of the sixteen 4-bit counters of the word, chosen by different hash bits per row
+        return ((hash >>> (row * 4)) & 0xF) << 2;
+    }
+
+    private void reset() {
+        additions = 0;
+        for (int i = 0; i < table.length(); i++) {
+            long word;
+            do {
+                word = table.getPlain(i);
+            } while (!table.weakCompareAndSetPlain(i, word, (word >>> 1) & RESET_MASK));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package xmltransformer;
+
+/**
+ * An immutable snapshot of the call, failure and latency counters of one method or pattern.
+ *
+ * Latencies are kept in power-of-two buckets: bucket b counts calls that took from 2^b to
+ * 2^(b+1)-1 nanoseconds, so percentiles are accurate to within a factor of two.
+ */
+public final class LatencySnapshot {
+
+    private final String name;
+    private final long calls;
+    private final long failures;
+    private final long totalNanos;
+    private final long[] buckets;
+
+    LatencySnapshot(String name, long calls, long failures, long totalNanos, long[] buckets) {
+        this.name = name;
+        this.calls = calls;
+        this.failures = failures;
+        this.totalNanos = totalNanos;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @return The method name or pattern.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return The number of calls.
+     */
+    public long calls() {
+        return calls;
+    }
+
+    /**
+     * @return The number of calls that returned an invalid-input result.
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return The fraction of calls that failed, or 0 if there were none.
+     */
+    public double failureRate() {
+        return calls == 0 ? 0 : (double) failures / calls;
+    }
+
+    /**
+     * @return The total time spent in calls, in nanoseconds.
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return The mean call time in nanoseconds, or 0 if there were no calls.
+     */
+    public double meanNanos() {
+        return calls == 0 ? 0 : (double) totalNanos / calls;
+    }
+
+    /**
+     * Get an upper bound for a latency percentile.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The upper bound of the bucket holding the percentile, in nanoseconds, or 0 if there were no calls.
+     */
+    public long percentileNanos(double percentile) {
+        long total = 0;
+        for (long count : buckets) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100);
+        long seen = 0;
+        for (int b = 0; b < buckets.length; b++) {
+            seen += buckets[b];
+            if (seen >= rank && buckets[b] > 0) {
+                return (2L << b) - 1;
+            }
+        }
+        return (2L << (buckets.length - 1)) - 1;
+    }
+
+    /**
+     * @return A copy of the latency buckets, indexed by the base-2 logarithm of the call time in nanoseconds.
+     */
+    public long[] buckets() {
+        return buckets.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot[" + name + ": calls=" + calls + ", failures=" + failures
+                + ", mean=" + (long) meanNanos() + "ns, p99<=" + percentileNanos(99) + "ns]";
+    }
+}
@@ -0,0 +1,71 @@
+package xmltransformer;
+
+/**
+ * The numeric results of a batch call, with failed elements marked in an error bitmap.
+ */
+public final class LongBatchResult {
+
+    private final long[] values;
+    private final ErrorBitmap errors;
+
+    LongBatchResult(int size) {
+        this.values = new long[size];
+        this.errors = new ErrorBitmap(size);
+    }
+
+    /**
+     * Get one result.
+     *
+     * @param index The element index.
+     * @return The value, or 0 if the element failed.
+     */
+    public long get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Check whether an element failed.
+     *
+     * @param index The element index.
+     * @return True if the element could not be computed.
+     */
+    public boolean isError(int index) {
+        return errors.isSet(index);
+    }
+
+    /**
+     * @return The number of elements.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return The number of failed elements.
+     */
+    public int errorCount() {
+        return errors.cardinality();
+    }
+
+    /**
+     * @return The bitmap of failed elements.
+     */
+    public ErrorBitmap errors() {
+        return errors;
+    }
+
+    /**
+     * @return A copy of the results, with 0 for failed elements.
+     */
+    public long[] toArray() {
+        return values.clone();
+    }
+
+    void set(int index, long value) {
+        values[index] = value;
+    }
+
+    void fail(int index) {
+        errors.set(index);
+    }
+}
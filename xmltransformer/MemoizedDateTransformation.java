@@ -0,0 +1,236 @@
+package xmltransformer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Memoized versions of the pure DateTransformation methods, for inputs that repeat heavily, such
+ * as the few hundred distinct dates shared by the millions of rows of a daily file.
+ *
+ * Each function has its own bounded cache keyed on its input and patterns. A repeated value is
+ * answered without parsing. New values are admitted by TinyLFU: once a cache is full, a new
+ * entry only replaces the entry the clock would evict if a count-min sketch has seen the new
+ * key more often recently. One-off values therefore cannot flush the popular ones.
+ *
+ * Only functions whose result depends on nothing but their arguments are offered. getAge,
+ * getDaysUntilFutureDate and the getCurrent methods read the clock and are deliberately absent.
+ * Exceptions, e.g. for an invalid pattern, propagate and are not cached.
+ */
+public final class MemoizedDateTransformation {
+
+    /** The default number of entries per function. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final Memo<String> transformDate;
+    private final Memo<String> dayOfWeek;
+    private final Memo<Integer> quarterOfYear;
+    private final Memo<Integer> weekNumber;
+    private final Memo<String> convertTimeZone;
+
+    /**
+     * Create a memoizer with the default capacity per function.
+     */
+    public MemoizedDateTransformation() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a memoizer.
+     *
+     * @param capacity The most entries cached per function, at least 1.
+     */
+    public MemoizedDateTransformation(int capacity) {
+        this.transformDate = new Memo<>(capacity);
+        this.dayOfWeek = new Memo<>(capacity);
+        this.quarterOfYear = new Memo<>(capacity);
+        this.weekNumber = new Memo<>(capacity);
+        this.convertTimeZone = new Memo<>(capacity);
+    }
+
+    /**
+     * Transform date from one format to another.
+     *
+     * @param originalDateString The original date string.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format for the transformed date.
+     * @return The transformed date string in the desired format, or "Invalid date format" if the input format is invalid.
+     */
+    public String transformDate(String originalDateString, String originalFormatStr, String desiredFormatStr) {
+        Key key = new Key(originalDateString, originalFormatStr, desiredFormatStr, null, null);
+        String cached = transformDate.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return transformDate.put(key, DateTransformation.transformDate(originalDateString, originalFormatStr, desiredFormatStr));
+    }
+
+    /**
+     * Get the day of the week for a given date.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @return The day of the week as a string (e.g., "Monday"), or "Invalid date format" if the input format is invalid.
+     */
+    public String getDayOfWeek(String dateString, String formatStr) {
+        Key key = new Key(dateString, formatStr, null, null, null);
+        String cached = dayOfWeek.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return dayOfWeek.put(key, DateTransformation.getDayOfWeek(dateString, formatStr));
+    }
+
+    /**
+     * Get the quarter of the year for a given date.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @return The quarter of the year as an integer (1, 2, 3, or 4), or -1 if the input format is invalid.
+     */
+    public int getQuarterOfYear(String dateString, String formatStr) {
+        Key key = new Key(dateString, formatStr, null, null, null);
+        Integer cached = quarterOfYear.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return quarterOfYear.put(key, DateTransformation.getQuarterOfYear(dateString, formatStr));
+    }
+
+    /**
+     * Get the week number of the year for a given date.
+     *
+     * @param dateString The date string.
+     * @param formatStr  The format of the date string.
+     * @return The week number of the year as an integer, or -1 if the input format is invalid.
+     */
+    public int getWeekNumber(String dateString, String formatStr) {
+        Key key = new Key(dateString, formatStr, null, null, null);
+        Integer cached = weekNumber.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return weekNumber.put(key, DateTransformation.getWeekNumber(dateString, formatStr));
+    }
+
+    /**
+     * Convert a date string from one timezone to another.
+     *
+     * @param originalDateString The original date string.
+     * @param originalZoneIdStr  The timezone of the original date.
+     * @param desiredZoneIdStr   The desired timezone for the output.
+     * @param originalFormatStr  The format of the original date string.
+     * @param desiredFormatStr   The desired output format.
+     * @return The transformed date string in the desired timezone and format, or "Invalid date format or timezone" if the input is invalid.
+     */
+    public String convertTimeZone(String originalDateString, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr) {
+        Key key = new Key(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr);
+        String cached = convertTimeZone.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return convertTimeZone.put(key, DateTransformation.convertTimeZone(originalDateString, originalZoneIdStr, desiredZoneIdStr, originalFormatStr, desiredFormatStr));
+    }
+
+    /**
+     * Get the hit, miss and eviction counters of each function.
+     *
+     * @return The statistics by function name.
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("transformDate", transformDate.cache.stats());
+        stats.put("getDayOfWeek", dayOfWeek.cache.stats());
+        stats.put("getQuarterOfYear", quarterOfYear.cache.stats());
+        stats.put("getWeekNumber", weekNumber.cache.stats());
+        stats.put("convertTimeZone", convertTimeZone.cache.stats());
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * Drop every memoized result. Counters are kept.
+     */
+    public void clear() {
+        transformDate.cache.clear();
+        dayOfWeek.cache.clear();
+        quarterOfYear.cache.clear();
+        weekNumber.cache.clear();
+        convertTimeZone.cache.clear();
+    }
+
+    /**
+     * The cache and admission sketch of one function.
+     */
+    private static final class Memo<V> {
+        final BoundedCache<Key, V> cache;
+        final FrequencySketch sketch;
+        final BiPredicate<Key, Key> admit;
+
+        Memo(int capacity) {
+            this.cache = new BoundedCache<>(capacity);
+            this.sketch = new FrequencySketch(capacity);
+            this.admit = (candidate, victim) -> sketch.frequency(candidate.hash) > sketch.frequency(victim.hash);
+        }
+
+        V get(Key key) {
+            sketch.increment(key.hash);
+            return cache.getIfPresent(key);
+        }
+
+        V put(Key key, V value) {
+            cache.putIfAdmitted(key, value, admit);
+            return value;
+        }
+    }
+
+    /**
+     * The arguments of one call, with the hash computed once.
+     */
+    private static final class Key {
+        final String a;
+        final String b;
+        final String c;
+        final String d;
+        final String e;
+        final int hash;
+
+        Key(String a, String b, String c, String d, String e) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.e = e;
+            int h = hash(a);
+            h = h * 31 + hash(b);
+            h = h * 31 + hash(c);
+            h = h * 31 + hash(d);
+            h = h * 31 + hash(e);
+            // Spread the bits, as the sketch and the map both use the low ones
+            this.hash = h ^ (h >>> 16);
+        }
+
+        private static int hash(String value) {
+            return value == null ? 0 : value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return hash == key.hash && equal(a, key.a) && equal(b, key.b) && equal(c, key.c)
+                    && equal(d, key.d) && equal(e, key.e);
+        }
+
+        private static boolean equal(String x, String y) {
+            return x == null ? y == null : x.equals(y);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
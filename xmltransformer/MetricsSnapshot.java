@@ -0,0 +1,50 @@
+package xmltransformer;
+
+import java.util.Map;
+
+/**
+ * An immutable snapshot of every DateMetrics counter and of the cache statistics.
+ */
+public final class MetricsSnapshot {
+
+    private final Map<String, LatencySnapshot> methods;
+    private final Map<String, LatencySnapshot> patterns;
+    private final CacheStats formatterCache;
+    private final CacheStats zoneIndex;
+
+    MetricsSnapshot(Map<String, LatencySnapshot> methods, Map<String, LatencySnapshot> patterns,
+                    CacheStats formatterCache, CacheStats zoneIndex) {
+        this.methods = methods;
+        this.patterns = patterns;
+        this.formatterCache = formatterCache;
+        this.zoneIndex = zoneIndex;
+    }
+
+    /**
+     * @return The counters per DateTransformation method, by method name. Empty if metrics are disabled.
+     */
+    public Map<String, LatencySnapshot> methods() {
+        return methods;
+    }
+
+    /**
+     * @return The counters per input pattern, by pattern. Empty if metrics are disabled.
+     */
+    public Map<String, LatencySnapshot> patterns() {
+        return patterns;
+    }
+
+    /**
+     * @return The statistics of FormatterCache.
+     */
+    public CacheStats formatterCache() {
+        return formatterCache;
+    }
+
+    /**
+     * @return The statistics of the interned ZoneTransitionIndex instances.
+     */
+    public CacheStats zoneIndex() {
+        return zoneIndex;
+    }
+}
@@ -0,0 +1,402 @@
+package xmltransformer;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses dates that may arrive in any of several candidate patterns, as in a feed mixing formats.
+ *
+ * A value is only parsed against candidates whose shape it fits: a fixed-width pattern needs the
+ * exact length, and an all-numeric pattern needs the same sequence of separators (e.g. "--" for
+ * yyyy-MM-dd, "//" for dd/MM/yyyy). Candidates are tried in an order learned per source: each
+ * source counts which candidate matched its recent values, and every 64 parses the candidates are
+ * re-sorted by those counts, which are then halved so the order follows recent traffic. A steady
+ * feed therefore resolves in about one parse attempt. Parsing never throws.
+ *
+ * The learned order never overrides the declared preference between candidates that may accept
+ * the same text, such as dd/MM/yyyy and MM/dd/yyyy. Candidates are grouped into shape classes,
+ * where two candidates share a class unless their lengths or separator sequences show that no
+ * text fits both, directly or through other members. Only whole classes are re-sorted; within a
+ * class the candidates keep their constructor order, so with dd/MM/yyyy declared first,
+ * "01/02/2024" stays the 1st of February however many "01/15/2024" the source has sent. Signed
+ * text, whose length a fixed-width pattern does not bound, is always tried in constructor order.
+ *
+ * Instances are thread-safe. The hit counts are updated without synchronization, so under
+ * contention some are lost, which only makes the ordering slightly less precise.
+ */
+public final class MultiPatternParser {
+
+    private static final String INVALID = "Invalid date format";
+
+    /** The number of parses of a source between re-orderings of its candidates. */
+    private static final int REORDER_INTERVAL = 64;
+
+    /** The most sources tracked separately; further sources share one ordering. */
+    private static final int MAX_SOURCES = 1024;
+
+    private final Candidate[] candidates;
+
+    /** The candidate indexes of each shape class, in constructor order; classes are ordered by first member. */
+    private final int[][] classes;
+
+    /** The shape class of each candidate. */
+    private final int[] classOf;
+
+    /** The constructor order, for signed text. */
+    private final int[] declared;
+
+    private final Map<String, SourceOrder> sources = new ConcurrentHashMap<>();
+    private final SourceOrder shared;
+
+    /**
+     * Create a parser.
+     *
+     * @param patterns The candidate patterns, in their initial order of preference.
+     * @throws IllegalArgumentException if there are no patterns or more than 256, or a pattern is invalid.
+     */
+    public MultiPatternParser(List<String> patterns) {
+        if (patterns.isEmpty() || patterns.size() > 256) {
+            throw new IllegalArgumentException("Need 1 to 256 candidate patterns: " + patterns.size());
+        }
+        this.candidates = new Candidate[patterns.size()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = new Candidate(FormatterCache.pattern(patterns.get(i)));
+        }
+        this.classOf = shapeClasses(candidates);
+        int classCount = 0;
+        for (int shapeClass : classOf) {
+            classCount = Math.max(classCount, shapeClass + 1);
+        }
+        int[] sizes = new int[classCount];
+        for (int shapeClass : classOf) {
+            sizes[shapeClass]++;
+        }
+        this.classes = new int[classCount][];
+        for (int c = 0; c < classCount; c++) {
+            classes[c] = new int[sizes[c]];
+            sizes[c] = 0;
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            classes[classOf[i]][sizes[classOf[i]]++] = i;
+        }
+        this.declared = new int[candidates.length];
+        for (int i = 0; i < declared.length; i++) {
+            declared[i] = i;
+        }
+        this.shared = new SourceOrder(candidates.length);
+    }
+
+    /**
+     * Create a parser.
+     *
+     * @param patterns The candidate patterns, in their initial order of preference.
+     * @throws IllegalArgumentException if there are no patterns or more than 256, or a pattern is invalid.
+     */
+    public MultiPatternParser(String... patterns) {
+        this(Arrays.asList(patterns));
+    }
+
+    /**
+     * Parse a date with the first candidate that accepts it.
+     *
+     * @param text   The date string.
+     * @param source The feed or partner the value came from, or null; candidates are ordered per source.
+     * @return The date, or null if no candidate accepts the text.
+     */
+    public LocalDate parseDate(CharSequence text, String source) {
+        long match = match(text, source);
+        return match == DateParser.INVALID ? null : LocalDate.ofEpochDay(match >> 8);
+    }
+
+    /**
+     * Transform a date in any candidate pattern to one format.
+     *
+     * @param text             The date string.
+     * @param source           The feed or partner the value came from, or null; candidates are ordered per source.
+     * @param desiredFormatStr The desired output format for the transformed date.
+     * @return The transformed date string in the desired format, or "Invalid date format" if no candidate accepts the text.
+     */
+    public String transformDate(CharSequence text, String source, String desiredFormatStr) {
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+        long match = match(text, source);
+        if (match == DateParser.INVALID) {
+            return INVALID;
+        }
+
+        long epochDay = match >> 8;
+        FixedWidthPattern fixedOutput = desiredFormat.fixedWidth();
+        if (fixedOutput != null && !fixedOutput.hasTime()) {
+            String formatted = fixedOutput.format(epochDay * EpochCalendar.SECONDS_PER_DAY);
+            if (formatted != null) {
+                return formatted;
+            }
+        }
+        return LocalDate.ofEpochDay(epochDay).format(desiredFormat.formatter());
+    }
+
+    /**
+     * Find which candidate accepts a date.
+     *
+     * @param text   The date string.
+     * @param source The feed or partner the value came from, or null; candidates are ordered per source.
+     * @return The matching candidate pattern, or null if no candidate accepts the text.
+     */
+    public String patternOf(CharSequence text, String source) {
+        long match = match(text, source);
+        return match == DateParser.INVALID ? null : candidates[(int) (match & 0xFF)].pattern.pattern();
+    }
+
+    /**
+     * Get the current candidate order of a source.
+     *
+     * @param source The source, or null.
+     * @return The candidate patterns, most likely first.
+     */
+    public String[] order(String source) {
+        int[] order = sourceOrder(source).order;
+        String[] patterns = new String[order.length];
+        for (int i = 0; i < order.length; i++) {
+            patterns[i] = candidates[order[i]].pattern.pattern();
+        }
+        return patterns;
+    }
+
+    /**
+     * Try the candidates in the order of the source.
+     *
+     * @return The epoch day shifted left by 8, or'ed with the index of the matching candidate; or INVALID.
+     */
+    private long match(CharSequence text, String source) {
+        if (text == null) {
+            return DateParser.INVALID;
+        }
+        SourceOrder sourceOrder = sourceOrder(source);
+        int[] order = Candidate.signed(text) ? declared : sourceOrder.order;
+        int winner = -1;
+        long epochDay = DateParser.INVALID;
+        for (int index : order) {
+            Candidate candidate = candidates[index];
+            if (!candidate.fits(text)) {
+                continue;
+            }
+            epochDay = DateParser.parseEpochDay(text, candidate.pattern);
+            if (epochDay != DateParser.INVALID) {
+                winner = index;
+                break;
+            }
+        }
+        sourceOrder.record(winner, this);
+        // An epoch day takes at most 40 bits, and there are at most 256 candidates
+        return winner < 0 ? DateParser.INVALID : epochDay << 8 | winner;
+    }
+
+    private SourceOrder sourceOrder(String source) {
+        if (source == null) {
+            return shared;
+        }
+        SourceOrder order = sources.get(source);
+        if (order == null) {
+            if (sources.size() >= MAX_SOURCES) {
+                return shared;
+            }
+            order = sources.computeIfAbsent(source, key -> new SourceOrder(candidates.length));
+        }
+        return order;
+    }
+
+    /**
+     * Number the shape classes: the connected components of the "may accept the same text" relation,
+     * in order of their first candidate.
+     */
+    private static int[] shapeClasses(Candidate[] candidates) {
+        int[] classOf = new int[candidates.length];
+        Arrays.fill(classOf, -1);
+        int next = 0;
+        int[] pending = new int[candidates.length];
+        for (int first = 0; first < candidates.length; first++) {
+            if (classOf[first] >= 0) {
+                continue;
+            }
+            classOf[first] = next;
+            int size = 0;
+            pending[size++] = first;
+            while (size > 0) {
+                Candidate member = candidates[pending[--size]];
+                for (int other = 0; other < candidates.length; other++) {
+                    if (classOf[other] < 0 && !member.disjointFrom(candidates[other])) {
+                        classOf[other] = next;
+                        pending[size++] = other;
+                    }
+                }
+            }
+            next++;
+        }
+        return classOf;
+    }
+
+    /**
+     * A candidate pattern with its shape prefilter.
+     */
+    private static final class Candidate {
+        final DatePattern pattern;
+
+        /** The exact length of a fixed-width pattern, or -1. */
+        final int length;
+
+        /** The separators of an all-numeric pattern in order, or null if the shape is not checked. */
+        final String separators;
+
+        Candidate(DatePattern pattern) {
+            this.pattern = pattern;
+            FixedWidthPattern fixed = pattern.fixedWidth();
+            this.length = fixed != null ? fixed.length() : -1;
+            this.separators = numericSeparators(pattern.pattern());
+        }
+
+        static boolean signed(CharSequence text) {
+            return text.length() > 0 && (text.charAt(0) == '+' || text.charAt(0) == '-');
+        }
+
+        /**
+         * Check that no unsigned text fits both candidates.
+         */
+        boolean disjointFrom(Candidate other) {
+            return (length >= 0 && other.length >= 0 && length != other.length)
+                    || (separators != null && other.separators != null && !separators.equals(other.separators));
+        }
+
+        boolean fits(CharSequence text) {
+            // A sign may lead a year outside 0000-9999, which is longer than the fixed width
+            int start = signed(text) ? 1 : 0;
+            if (length >= 0 && start == 0 && text.length() != length) {
+                return false;
+            }
+            if (separators == null) {
+                return true;
+            }
+            int next = 0;
+            for (int i = start; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (!Character.isLetterOrDigit(c)) {
+                    if (next == separators.length() || separators.charAt(next) != c) {
+                        return false;
+                    }
+                    next++;
+                }
+            }
+            return next == separators.length();
+        }
+
+        /**
+         * Get the separators of a pattern whose fields all print as digits, or null for any other pattern,
+         * as text fields, zones and optional sections may contain punctuation of their own.
+         */
+        private static String numericSeparators(String pattern) {
+            StringBuilder separators = new StringBuilder();
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\'') {
+                    int end = pattern.indexOf('\'', i + 1);
+                    if (end < 0) {
+                        return null;
+                    }
+                    if (end == i + 1) {
+                        separators.append('\'');
+                    }
+                    for (int j = i + 1; j < end; j++) {
+                        if (!Character.isLetterOrDigit(pattern.charAt(j))) {
+                            separators.append(pattern.charAt(j));
+                        }
+                    }
+                    i = end + 1;
+                    continue;
+                }
+                if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                    return null;
+                }
+                if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                    if (!Character.isLetterOrDigit(c)) {
+                        separators.append(c);
+                    }
+                    i++;
+                    continue;
+                }
+
+                int run = i;
+                while (run < pattern.length() && pattern.charAt(run) == c) {
+                    run++;
+                }
+                boolean numeric = "yuMLQqdDHhKkmsSnNAwWF".indexOf(c) >= 0
+                        && (run - i <= 2 || "MLQq".indexOf(c) < 0);
+                if (!numeric) {
+                    return null;
+                }
+                i = run;
+            }
+            return separators.toString();
+        }
+    }
+
+    /**
+     * The learned candidate order of one source.
+     */
+    private static final class SourceOrder {
+        volatile int[] order;
+        final int[] hits;
+        final AtomicInteger parses = new AtomicInteger();
+
+        SourceOrder(int size) {
+            int[] initial = new int[size];
+            for (int i = 0; i < size; i++) {
+                initial[i] = i;
+            }
+            this.order = initial;
+            this.hits = new int[size];
+        }
+
+        void record(int winner, MultiPatternParser parser) {
+            if (winner >= 0) {
+                hits[winner]++;
+            }
+            if (parses.incrementAndGet() % REORDER_INTERVAL == 0) {
+                reorder(parser.classes, parser.classOf);
+            }
+        }
+
+        /**
+         * Sort the shape classes by their summed hits, and lay out each class in constructor order.
+         */
+        private synchronized void reorder(int[][] classes, int[] classOf) {
+            int[] counts = new int[classes.length];
+            for (int i = 0; i < hits.length; i++) {
+                counts[classOf[i]] += hits[i];
+                hits[i] >>= 1;
+            }
+            // Classes in their current order of first appearance
+            Integer[] sorted = new Integer[classes.length];
+            boolean[] seen = new boolean[classes.length];
+            int size = 0;
+            for (int index : order) {
+                if (!seen[classOf[index]]) {
+                    seen[classOf[index]] = true;
+                    sorted[size++] = classOf[index];
+                }
+            }
+            // Stable, so ties keep their current order
+            Arrays.sort(sorted, (a, b) -> Integer.compare(counts[b], counts[a]));
+            int[] next = new int[order.length];
+            int position = 0;
+            for (int shapeClass : sorted) {
+                for (int index : classes[shapeClass]) {
+                    next[position++] = index;
+                }
+            }
+            order = next;
+        }
+    }
+}
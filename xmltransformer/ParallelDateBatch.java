@@ -0,0 +1,185 @@
+package xmltransformer;
+
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRulesException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel versions of the DateTransformation batch methods.
+ *
+ * Input arrays are split recursively across a ForkJoinPool until a slice is no longer than the
+ * threshold; smaller batches run sequentially on the calling thread. Every slice writes only its
+ * own elements, so results keep the input order. Split points are multiples of 64 so no two
+ * slices share a word of the error bitmap.
+ */
+public final class ParallelDateBatch {
+
+    /** The default slice length below which work stays on one thread. */
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private static final ParallelDateBatch COMMON = new ParallelDateBatch(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Create a parallel batch runner.
+     *
+     * @param pool      The pool to run slices on.
+     * @param threshold The slice length below which work stays sequential, at least 64.
+     */
+    public ParallelDateBatch(ForkJoinPool pool, int threshold) {
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        if (threshold < 64) {
+            throw new IllegalArgumentException("Threshold must be at least 64: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Get a runner on the common ForkJoinPool with the default threshold.
+     *
+     * @return The shared runner.
+     */
+    public static ParallelDateBatch common() {
+        return COMMON;
+    }
+
+    /**
+     * Transform a batch of dates from one format to another.
+     *
+     * @param originalDateStrings The original date strings.
+     * @param originalFormatStr   The format of the original date strings.
+     * @param desiredFormatStr    The desired output format for the transformed dates.
+     * @return The transformed dates, with invalid inputs marked in the error bitmap.
+     */
+    public BatchResult transformDate(String[] originalDateStrings, String originalFormatStr, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+
+        BatchResult result = new BatchResult(originalDateStrings.length);
+        run(originalDateStrings.length, (from, to) ->
+                DateBatch.transformDate(originalDateStrings, originalFormat, desiredFormat, result, from, to));
+        return result;
+    }
+
+    /**
+     * Add days to a batch of dates.
+     *
+     * @param originalDateStrings The original date strings.
+     * @param originalFormatStr   The format of the original date strings.
+     * @param daysToAdd           The number of days to add.
+     * @param desiredFormatStr    The desired output format.
+     * @return The modified dates, with invalid inputs marked in the error bitmap.
+     */
+    public BatchResult addDays(String[] originalDateStrings, String originalFormatStr, long daysToAdd, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DateTimeFormatter desiredFormat = FormatterCache.get(desiredFormatStr);
+
+        BatchResult result = new BatchResult(originalDateStrings.length);
+        run(originalDateStrings.length, (from, to) ->
+                DateBatch.addDays(originalDateStrings, originalFormat, daysToAdd, desiredFormat, result, from, to));
+        return result;
+    }
+
+    /**
+     * Convert a batch of date strings from one timezone to another.
+     *
+     * @param originalDateStrings The original date strings.
+     * @param originalZoneIdStr   The timezone of the original dates.
+     * @param desiredZoneIdStr    The desired timezone for the output.
+     * @param originalFormatStr   The format of the original date strings.
+     * @param desiredFormatStr    The desired output format.
+     * @return The converted dates, with invalid inputs marked in the error bitmap. If a timezone is invalid, every element is marked.
+     */
+    public BatchResult convertTimeZone(String[] originalDateStrings, String originalZoneIdStr, String desiredZoneIdStr, String originalFormatStr, String desiredFormatStr) {
+        DatePattern originalFormat = FormatterCache.pattern(originalFormatStr);
+        DatePattern desiredFormat = FormatterCache.pattern(desiredFormatStr);
+
+        BatchResult result = new BatchResult(originalDateStrings.length);
+        ZoneTransitionIndex originalZone;
+        ZoneTransitionIndex desiredZone;
+        try {
+            originalZone = ZoneTransitionIndex.of(originalZoneIdStr);
+            desiredZone = ZoneTransitionIndex.of(desiredZoneIdStr);
+        } catch (ZoneRulesException e) {
+            return DateBatch.failAll(result);
+        }
+
+        run(originalDateStrings.length, (from, to) ->
+                DateBatch.convertTimeZone(originalDateStrings, originalZone, desiredZone, originalFormat, desiredFormat, result, from, to));
+        return result;
+    }
+
+    /**
+     * Get the number of days between pairs of dates.
+     *
+     * @param startDateStrings The start date strings.
+     * @param endDateStrings   The end date strings, paired with the start dates by index.
+     * @param formatStr        The format of the date strings.
+     * @return The number of days between each pair, with invalid pairs marked in the error bitmap.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public LongBatchResult getDaysBetween(String[] startDateStrings, String[] endDateStrings, String formatStr) {
+        if (startDateStrings.length != endDateStrings.length) {
+            throw new IllegalArgumentException("Start and end arrays differ in length: " + startDateStrings.length + " != " + endDateStrings.length);
+        }
+        DatePattern format = FormatterCache.pattern(formatStr);
+
+        LongBatchResult result = new LongBatchResult(startDateStrings.length);
+        run(startDateStrings.length, (from, to) ->
+                DateBatch.getDaysBetween(startDateStrings, endDateStrings, format, result, from, to));
+        return result;
+    }
+
+    private void run(int length, RangeKernel kernel) {
+        if (length <= threshold) {
+            kernel.run(0, length);
+        } else {
+            pool.invoke(new Slice(kernel, 0, length, threshold));
+        }
+    }
+
+    /**
+     * Work on the elements [from, to) of a batch.
+     */
+    @FunctionalInterface
+    interface RangeKernel {
+        void run(int from, int to);
+    }
+
+    private static final class Slice extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeKernel kernel;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        Slice(RangeKernel kernel, int from, int to, int threshold) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                kernel.run(from, to);
+                return;
+            }
+            int middle = (from + ((to - from) >>> 1)) & ~63;
+            if (middle <= from) {
+                kernel.run(from, to);
+                return;
+            }
+            invokeAll(new Slice(kernel, from, middle, threshold), new Slice(kernel, middle, to, threshold));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package xmltransformer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A JFR event for a sampled DateTransformation call slower than the DateMetrics threshold.
+ */
+@Name("xmltransformer.SlowCall")
+@Label("Slow Date Call")
+@Category("xmltransformer")
+@Description("A sampled DateTransformation call slower than xmltransformer.metrics.slowNanos")
+final class SlowCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Pattern")
+    String pattern;
+
+    @Label("Call Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long callNanos;
+
+    @Label("Failed")
+    boolean failed;
+}
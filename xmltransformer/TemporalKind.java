@@ -0,0 +1,19 @@
+package xmltransformer;
+
+/**
+ * The kind of value a parse targets, or that a pattern can produce.
+ */
+enum TemporalKind {
+
+    /** A LocalDate. */
+    DATE,
+
+    /** A LocalTime. */
+    TIME,
+
+    /** A LocalDateTime. */
+    DATE_TIME,
+
+    /** A ZonedDateTime. */
+    ZONED_DATE_TIME
+}
@@ -0,0 +1,256 @@
+package xmltransformer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * A streaming XML stage that rewrites date values in place and copies everything else through.
+ *
+ * Rules map a path to a DateTransformer. A path names elements by local name from the root,
+ * e.g. {@code /settlement/trade/tradeDate} for element text, or ends in an attribute, e.g.
+ * {@code /settlement/trade/@valueDate}. The document is read with StAX and written as it is
+ * read, so memory depends on nesting depth, not document size. Values that do not parse are
+ * left unchanged. Whitespace around a value is ignored when parsing and kept in the output.
+ * Element text, including CDATA, is transformed only when it is the whole content of the
+ * element; text mixed with child elements, comments or processing instructions is copied as it is.
+ *
+ * The output uses the encoding declared by the input, or else the encoding detected from its
+ * first bytes, and declares it whenever it is not UTF-8.
+ *
+ * <pre>{@code
+ * Map<String, DateTransformer> rules = new HashMap<>();
+ * rules.put("/settlement/trade/tradeDate",
+ *         DateTransformer.builder().parse("dd/MM/yyyy").format("yyyy-MM-dd").build());
+ * long rewritten = new XmlDateRewriter(rules).rewrite(in, out);
+ * }</pre>
+ */
+public final class XmlDateRewriter {
+
+    private final PathNode root = new PathNode();
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory;
+
+    /**
+     * Create a rewriter.
+     *
+     * @param rules The transform for each element or attribute path.
+     * @throws IllegalArgumentException if a path is not absolute or is malformed.
+     */
+    public XmlDateRewriter(Map<String, DateTransformer> rules) {
+        for (Map.Entry<String, DateTransformer> rule : rules.entrySet()) {
+            addRule(rule.getKey(), rule.getValue());
+        }
+        this.inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.outputFactory = XMLOutputFactory.newFactory();
+    }
+
+    /**
+     * Rewrite a document.
+     *
+     * @param in  The source document.
+     * @param out The destination. It is flushed but not closed.
+     * @return The number of values rewritten.
+     * @throws XMLStreamException if the source is not well-formed or cannot be written.
+     */
+    public long rewrite(InputStream in, OutputStream out) throws XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+        // One encoding for the bytes and the declaration, so they cannot disagree
+        String encoding = reader.getCharacterEncodingScheme() != null ? reader.getCharacterEncodingScheme()
+                : reader.getEncoding() != null ? reader.getEncoding() : "UTF-8";
+        XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out, encoding);
+        try {
+            return copy(reader, writer, encoding);
+        } finally {
+            reader.close();
+            writer.flush();
+            writer.close();
+        }
+    }
+
+    private long copy(XMLStreamReader reader, XMLStreamWriter writer, String encoding) throws XMLStreamException {
+        // One entry per open element: its rule node, or null once off the rule tree
+        List<PathNode> stack = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        StringBuilder converted = new StringBuilder();
+        DateTransformer pending = null;
+        long rewritten = 0;
+
+        int event = reader.getEventType();
+        while (true) {
+            if (pending != null && (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.COMMENT
+                    || event == XMLStreamConstants.PROCESSING_INSTRUCTION || event == XMLStreamConstants.ENTITY_REFERENCE)) {
+                // Mixed content is copied, not transformed, and the text so far goes before the markup
+                writer.writeCharacters(text.toString());
+                text.setLength(0);
+                pending = null;
+            }
+            switch (event) {
+                case XMLStreamConstants.START_DOCUMENT:
+                    // Without a declaration, a reader would take anything but UTF-8 output for UTF-8
+                    if (reader.getVersion() != null || !encoding.equalsIgnoreCase("UTF-8")) {
+                        writer.writeStartDocument(encoding, reader.getVersion() != null ? reader.getVersion() : "1.0");
+                    }
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    PathNode parent = stack.isEmpty() ? root : stack.get(stack.size() - 1);
+                    PathNode node = parent == null ? null : parent.children.get(reader.getLocalName());
+                    stack.add(node);
+                    rewritten += writeStartElement(reader, writer, node, converted);
+                    if (node != null && node.text != null) {
+                        pending = node.text;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.CDATA:
+                    if (pending != null) {
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    } else if (event == XMLStreamConstants.CDATA) {
+                        writer.writeCData(reader.getText());
+                    } else {
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (pending != null) {
+                        if (transform(pending, text, converted)) {
+                            writer.writeCharacters(converted.toString());
+                            rewritten++;
+                        } else {
+                            writer.writeCharacters(text.toString());
+                        }
+                        text.setLength(0);
+                        pending = null;
+                    }
+                    stack.remove(stack.size() - 1);
+                    writer.writeEndElement();
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment(reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    writer.writeEntityRef(reader.getLocalName());
+                    break;
+                case XMLStreamConstants.DTD:
+                    writer.writeDTD(reader.getText());
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    writer.writeEndDocument();
+                    return rewritten;
+                default:
+                    break;
+            }
+            if (!reader.hasNext()) {
+                return rewritten;
+            }
+            event = reader.next();
+        }
+    }
+
+    private static int writeStartElement(XMLStreamReader reader, XMLStreamWriter writer, PathNode node,
+                                         StringBuilder converted) throws XMLStreamException {
+        String prefix = reader.getPrefix();
+        String namespace = reader.getNamespaceURI();
+        if (namespace != null && !namespace.isEmpty()) {
+            writer.writeStartElement(prefix == null ? "" : prefix, reader.getLocalName(), namespace);
+        } else {
+            writer.writeStartElement(reader.getLocalName());
+        }
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String namespacePrefix = reader.getNamespacePrefix(i);
+            if (namespacePrefix == null || namespacePrefix.isEmpty()) {
+                writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+            } else {
+                writer.writeNamespace(namespacePrefix, reader.getNamespaceURI(i));
+            }
+        }
+
+        int rewritten = 0;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String value = reader.getAttributeValue(i);
+            DateTransformer transformer = node == null ? null : node.attributes.get(reader.getAttributeLocalName(i));
+            if (transformer != null) {
+                if (transform(transformer, value, converted)) {
+                    value = converted.toString();
+                    rewritten++;
+                }
+            }
+            String attributeNamespace = reader.getAttributeNamespace(i);
+            if (attributeNamespace != null && !attributeNamespace.isEmpty()) {
+                writer.writeAttribute(reader.getAttributePrefix(i), attributeNamespace, reader.getAttributeLocalName(i), value);
+            } else {
+                writer.writeAttribute(reader.getAttributeLocalName(i), value);
+            }
+        }
+        return rewritten;
+    }
+
+    /**
+     * Transform the value inside the whitespace around it, into converted with that whitespace restored.
+     *
+     * @return False if the value does not parse.
+     */
+    private static boolean transform(DateTransformer transformer, CharSequence value, StringBuilder converted) {
+        // The whitespace of String.trim
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        converted.setLength(0);
+        converted.append(value, 0, start);
+        if (!transformer.applyTo(value.subSequence(start, end), converted)) {
+            return false;
+        }
+        converted.append(value, end, value.length());
+        return true;
+    }
+
+    private void addRule(String path, DateTransformer transformer) {
+        if (path == null || !path.startsWith("/") || path.length() < 2) {
+            throw new IllegalArgumentException("Path must be absolute: " + path);
+        }
+        String[] steps = path.substring(1).split("/", -1);
+        PathNode node = root;
+        for (int i = 0; i < steps.length; i++) {
+            String step = steps[i];
+            if (step.isEmpty()) {
+                throw new IllegalArgumentException("Empty step in path: " + path);
+            }
+            if (step.startsWith("@")) {
+                if (i != steps.length - 1 || i == 0) {
+                    throw new IllegalArgumentException("An attribute must be the last step of an element path: " + path);
+                }
+                node.attributes.put(step.substring(1), transformer);
+                return;
+            }
+            node = node.children.computeIfAbsent(step, name -> new PathNode());
+        }
+        node.text = transformer;
+    }
+
+    private static final class PathNode {
+        final Map<String, PathNode> children = new HashMap<>();
+        final Map<String, DateTransformer> attributes = new HashMap<>();
+        DateTransformer text;
+    }
+}
@@ -0,0 +1,209 @@
+package xmltransformer;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * An interned zone with its offset transitions precomputed into sorted primitive arrays.
+ *
+ * Inside the index window (by default 1900 to 2100, configurable with the system properties
+ * {@code xmltransformer.zoneIndex.fromYear} and {@code xmltransformer.zoneIndex.toYear}) an
+ * offset lookup is a binary search over a long[]. Outside it, ZoneRules is used directly.
+ * Local date-times in a gap or an overlap resolve exactly as ZonedDateTime.of does: a gap
+ * shifts the time forward by the length of the gap, an overlap takes the earlier offset.
+ */
+public final class ZoneTransitionIndex {
+
+    private static final int FROM_YEAR = Integer.getInteger("xmltransformer.zoneIndex.fromYear", 1900);
+    private static final int TO_YEAR = Integer.getInteger("xmltransformer.zoneIndex.toYear", 2100);
+
+    private static final BoundedCache<String, ZoneTransitionIndex> INDEXES = new BoundedCache<>(1024);
+
+    /** Zone IDs that failed to resolve, so the non-throwing lookup only pays for the exception once. */
+    private static final BoundedCache<String, Boolean> INVALID = new BoundedCache<>(1024);
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final long windowStart;
+    private final long windowEnd;
+    private final int initialOffset;
+    private final long[] transitions;
+    private final long[] localKeys;
+    private final int[] offsetsAfter;
+
+    private ZoneTransitionIndex(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            this.windowStart = Long.MIN_VALUE;
+            this.windowEnd = Long.MAX_VALUE;
+            this.initialOffset = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            this.transitions = new long[0];
+            this.localKeys = new long[0];
+            this.offsetsAfter = new int[0];
+            return;
+        }
+
+        Instant start = LocalDateTime.of(FROM_YEAR, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+        Instant end = LocalDateTime.of(TO_YEAR, 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+        long[] instants = new long[64];
+        long[] keys = new long[64];
+        int[] offsets = new int[64];
+        int count = 0;
+        ZoneOffsetTransition transition = rules.nextTransition(start);
+        while (transition != null && transition.getInstant().isBefore(end)) {
+            if (count == instants.length) {
+                instants = Arrays.copyOf(instants, count * 2);
+                keys = Arrays.copyOf(keys, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            long at = transition.getInstant().getEpochSecond();
+            int before = transition.getOffsetBefore().getTotalSeconds();
+            int after = transition.getOffsetAfter().getTotalSeconds();
+            instants[count] = at;
+            // Local times before the later of the two wall-clock readings resolve with the old offset
+            keys[count] = at + Math.max(before, after);
+            offsets[count] = after;
+            count++;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+
+        this.windowStart = start.getEpochSecond();
+        this.windowEnd = end.getEpochSecond();
+        this.initialOffset = rules.getOffset(start).getTotalSeconds();
+        this.transitions = Arrays.copyOf(instants, count);
+        this.localKeys = Arrays.copyOf(keys, count);
+        this.offsetsAfter = Arrays.copyOf(offsets, count);
+    }
+
+    /**
+     * Get the index for a zone ID, building it on first use.
+     *
+     * @param zoneId The zone ID, as accepted by ZoneId.of.
+     * @return The interned index.
+     * @throws java.time.DateTimeException if the zone ID is invalid or unknown.
+     */
+    public static ZoneTransitionIndex of(String zoneId) {
+        return INDEXES.get(zoneId, id -> new ZoneTransitionIndex(ZoneId.of(id)));
+    }
+
+    /**
+     * Get the index for a zone ID without throwing.
+     *
+     * @param zoneId The zone ID, as accepted by ZoneId.of.
+     * @return The interned index, or null if the zone ID is null, invalid or unknown.
+     */
+    static ZoneTransitionIndex tryOf(String zoneId) {
+        if (zoneId == null) {
+            return null;
+        }
+        // Check the negative cache first, so a valid zone is counted once as a hit or a miss
+        if (INVALID.getIfPresent(zoneId) != null) {
+            return null;
+        }
+        try {
+            return of(zoneId);
+        } catch (DateTimeException e) {
+            INVALID.put(zoneId, Boolean.TRUE);
+            return null;
+        }
+    }
+
+    /**
+     * Get the index for a zone, building it on first use.
+     *
+     * @param zoneId The zone.
+     * @return The interned index.
+     */
+    public static ZoneTransitionIndex of(ZoneId zoneId) {
+        return INDEXES.get(zoneId.getId(), id -> new ZoneTransitionIndex(zoneId));
+    }
+
+    /**
+     * Get the hit, miss and eviction counters of the interned indexes.
+     *
+     * @return The current statistics.
+     */
+    public static CacheStats stats() {
+        return INDEXES.stats();
+    }
+
+    /**
+     * @return The zone.
+     */
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * Get the UTC offset in effect at an instant.
+     *
+     * @param epochSecond The seconds since 1970-01-01T00:00:00Z.
+     * @return The offset in seconds.
+     */
+    public int offsetAt(long epochSecond) {
+        if (epochSecond < windowStart || epochSecond >= windowEnd) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        int index = Arrays.binarySearch(transitions, epochSecond);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? initialOffset : offsetsAfter[index];
+    }
+
+    /**
+     * Convert an instant to a local date-time in this zone.
+     *
+     * @param epochSecond The seconds since 1970-01-01T00:00:00Z.
+     * @return The local epoch second (epoch day * 86400 + second of day).
+     */
+    public long toLocalEpochSecond(long epochSecond) {
+        return epochSecond + offsetAt(epochSecond);
+    }
+
+    /**
+     * Convert a local date-time in this zone to an instant, resolving gaps and overlaps as
+     * ZonedDateTime.of does.
+     *
+     * @param localEpochSecond The local epoch second (epoch day * 86400 + second of day).
+     * @return The seconds since 1970-01-01T00:00:00Z.
+     */
+    public long toEpochSecond(long localEpochSecond) {
+        // Keep a day of margin so a local time near the edge never sees a missing transition
+        if (localEpochSecond < windowStart + EpochCalendar.SECONDS_PER_DAY
+                || localEpochSecond >= windowEnd - EpochCalendar.SECONDS_PER_DAY) {
+            LocalDateTime local = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+            return ZonedDateTime.of(local, zone).toEpochSecond();
+        }
+        int index = Arrays.binarySearch(localKeys, localEpochSecond);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        int offset = index < 0 ? initialOffset : offsetsAfter[index];
+        return localEpochSecond - offset;
+    }
+
+    /**
+     * Convert a local date-time in this zone to the local date-time in another zone at the same instant.
+     *
+     * @param localEpochSecond The local epoch second in this zone.
+     * @param target           The target zone.
+     * @return The local epoch second in the target zone.
+     */
+    public long convert(long localEpochSecond, ZoneTransitionIndex target) {
+        return target.toLocalEpochSecond(toEpochSecond(localEpochSecond));
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneTransitionIndex{" + zone + ", transitions=" + transitions.length + "}";
+    }
+}